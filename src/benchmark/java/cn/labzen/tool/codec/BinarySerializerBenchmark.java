@@ -0,0 +1,63 @@
+package cn.labzen.tool.codec;
+
+import cn.labzen.tool.bean.Pair;
+import cn.labzen.tool.bean.Triple;
+import cn.labzen.tool.util.Bytes;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BinarySerializer 与 Java序列化（Bytes.objectToBytes）对缓存中常见的 Pair/Triple 对象的序列化、反序列化耗时对比
+ * <p>
+ * mvn -P benchmark test-compile exec:exec -Dbenchmark.args=BinarySerializerBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@SuppressWarnings("deprecation")
+public class BinarySerializerBenchmark {
+
+  private Object value;
+  private byte[] binary;
+  private byte[] java;
+  private BinaryOutput output;
+
+  @Setup
+  public void setup() {
+    value = new Pair<>("order:20240301:1024",
+      new Triple<>(1024L, Arrays.asList("杭州", "已完成", "A-12"), 99.5));
+    binary = Bytes.serialize(value);
+    java = Bytes.objectToBytes(value);
+    output = new BinaryOutput(BinarySerializer.shared());
+  }
+
+  @Benchmark
+  public byte[] serialize() {
+    return Bytes.serialize(value);
+  }
+
+  @Benchmark
+  public int serializeReusedOutput() {
+    return BinarySerializer.shared().serialize(value, output.reset()).size();
+  }
+
+  @Benchmark
+  public Object deserialize() {
+    return Bytes.deserialize(binary);
+  }
+
+  @Benchmark
+  public byte[] javaSerialize() {
+    return Bytes.objectToBytes(value);
+  }
+
+  @Benchmark
+  public Object javaDeserialize() {
+    return Bytes.bytesToObject(java);
+  }
+}
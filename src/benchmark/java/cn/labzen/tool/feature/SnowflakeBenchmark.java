@@ -0,0 +1,62 @@
+package cn.labzen.tool.feature;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Snowflake 同步锁模式与无锁（CAS）模式在不同并发线程数下的吞吐量（IDs/sec）对比
+ * <p>
+ * mvn -P benchmark test-compile exec:exec -Dbenchmark.main=cn.labzen.tool.feature.SnowflakeBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SnowflakeBenchmark {
+
+  private static final int[] THREADS = {1, 8, 32, 128};
+
+  @Param({"false", "true"})
+  private boolean lockFree;
+
+  private Snowflake snowflake;
+
+  @Setup
+  public void setup() {
+    snowflake = new Snowflake(1, 1, lockFree);
+  }
+
+  @Benchmark
+  public long id() {
+    return snowflake.id();
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Map<Integer, Map<String, Double>> table = new TreeMap<>();
+    for (int threads : THREADS) {
+      Options options = new OptionsBuilder().include(SnowflakeBenchmark.class.getName() + ".id")
+                                            .threads(threads)
+                                            .build();
+      for (RunResult result : new Runner(options).run()) {
+        String mode = Boolean.parseBoolean(result.getParams().getParam("lockFree")) ? "lock-free" : "synchronized";
+        table.computeIfAbsent(threads, k -> new TreeMap<>()).put(mode, result.getPrimaryResult().getScore());
+      }
+    }
+
+    System.out.printf("%n%-8s %16s %16s%n", "threads", "synchronized", "lock-free");
+    table.forEach((threads, scores) -> System.out.printf("%-8d %16.0f %16.0f%n",
+                                                         threads,
+                                                         scores.getOrDefault("synchronized", 0D),
+                                                         scores.getOrDefault("lock-free", 0D)));
+  }
+}
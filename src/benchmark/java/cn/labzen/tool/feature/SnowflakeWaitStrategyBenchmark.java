@@ -0,0 +1,77 @@
+package cn.labzen.tool.feature;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 序列用尽（饱和）时，各等待策略的延迟分布与CPU占用对比。4个线程共享同一个无锁模式的 Snowflake，生成速度远超每毫秒4096个的上限，
+ * 绝大多数调用都会进入等待。id 给出延迟的分位数；idCpu 以平均耗时模式运行，附带的 cpuMicros 为各轮测量迭代中所有线程消耗的CPU时间之和（微秒）
+ * <p>
+ * mvn -P benchmark test-compile exec:exec -Dbenchmark.args=SnowflakeWaitStrategyBenchmark
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class SnowflakeWaitStrategyBenchmark {
+
+  @Param({"SPIN", "PARK", "YIELD"})
+  private String strategy;
+
+  private Snowflake snowflake;
+
+  @Setup
+  public void setup() {
+    SnowflakeWaitStrategy waitStrategy;
+    switch (strategy) {
+      case "PARK":
+        waitStrategy = SnowflakeWaitStrategy.PARK;
+        break;
+      case "YIELD":
+        waitStrategy = SnowflakeWaitStrategy.YIELD;
+        break;
+      default:
+        waitStrategy = SnowflakeWaitStrategy.SPIN;
+    }
+    snowflake = new Snowflake(1, 1, true, SnowflakeLayout.DEFAULT, SnowflakeRollbackPolicy.WAIT, waitStrategy);
+  }
+
+  @Benchmark
+  public long id() {
+    return snowflake.id();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  public long idCpu(CpuCounter counter) {
+    return snowflake.id();
+  }
+
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class CpuCounter {
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    public long cpuMicros;
+
+    private long start;
+
+    @Setup(Level.Iteration)
+    public void start() {
+      cpuMicros = 0;
+      start = THREADS.getCurrentThreadCpuTime();
+    }
+
+    @TearDown(Level.Iteration)
+    public void stop() {
+      cpuMicros = (THREADS.getCurrentThreadCpuTime() - start) / 1000;
+    }
+  }
+}
@@ -0,0 +1,41 @@
+package cn.labzen.tool.feature;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SystemClock 与直接调用 System.currentTimeMillis()、System.nanoTime() 的单次调用耗时对比
+ * <p>
+ * mvn -P benchmark test-compile exec:exec -Dbenchmark.args=SystemClockBenchmark
+ * <p>
+ * 关闭自适应模式对比：-Dbenchmark.args="SystemClockBenchmark -jvmArgs -Dlabzen.clock.adaptive=false"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class SystemClockBenchmark {
+
+  @Benchmark
+  public long systemClockNow() {
+    return SystemClock.now();
+  }
+
+  @Benchmark
+  public long systemClockNowNanos() {
+    return SystemClock.nowNanos();
+  }
+
+  @Benchmark
+  public long currentTimeMillis() {
+    return System.currentTimeMillis();
+  }
+
+  @Benchmark
+  public long nanoTime() {
+    return System.nanoTime();
+  }
+}
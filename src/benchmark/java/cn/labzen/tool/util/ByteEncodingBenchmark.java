@@ -0,0 +1,105 @@
+package cn.labzen.tool.util;
+
+import cn.labzen.tool.definition.ByteEncodings;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Base64;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bytes Base64、Base32、Base58编解码的耗时，Base64以java.util.Base64为基准
+ * <p>
+ * mvn -P benchmark test-compile exec:exec -Dbenchmark.args=ByteEncodingBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ByteEncodingBenchmark {
+
+  @Param({"32", "1024", "65536"})
+  private int size;
+
+  private byte[] bytes;
+  private String base64;
+  private String base32;
+  private byte[] encoded;
+  private byte[] decoded;
+
+  /**
+   * Base58的计算量随长度平方增长，只测量令牌长度的数据
+   */
+  private byte[] token;
+  private String base58;
+
+  @Setup
+  public void setup() {
+    bytes = new byte[size];
+    ThreadLocalRandom.current().nextBytes(bytes);
+    base64 = Base64.getEncoder().encodeToString(bytes);
+    base32 = Bytes.toBase32(bytes);
+    encoded = new byte[ByteEncodings.BASE32.maxEncodedLength(size)];
+    decoded = new byte[size];
+    token = new byte[32];
+    ThreadLocalRandom.current().nextBytes(token);
+    base58 = Bytes.toBase58(token);
+  }
+
+  @Benchmark
+  public String jdkBase64Encode() {
+    return Base64.getEncoder().encodeToString(bytes);
+  }
+
+  @Benchmark
+  public String base64Encode() {
+    return Bytes.toBase64(bytes);
+  }
+
+  @Benchmark
+  public int jdkBase64EncodeInto() {
+    return Base64.getEncoder().encode(bytes, encoded);
+  }
+
+  @Benchmark
+  public int base64EncodeInto() {
+    return Bytes.encode(ByteEncodings.BASE64, bytes, 0, size, encoded, 0);
+  }
+
+  @Benchmark
+  public byte[] jdkBase64Decode() {
+    return Base64.getDecoder().decode(base64);
+  }
+
+  @Benchmark
+  public byte[] base64Decode() {
+    return Bytes.fromBase64(base64);
+  }
+
+  @Benchmark
+  public int base64DecodeInto() {
+    return Bytes.decode(ByteEncodings.BASE64, base64, 0, base64.length(), decoded, 0);
+  }
+
+  @Benchmark
+  public String base32Encode() {
+    return Bytes.toBase32(bytes);
+  }
+
+  @Benchmark
+  public byte[] base32Decode() {
+    return Bytes.fromBase32(base32);
+  }
+
+  @Benchmark
+  public String base58Encode() {
+    return Bytes.toBase58(token);
+  }
+
+  @Benchmark
+  public byte[] base58Decode() {
+    return Bytes.fromBase58(base58);
+  }
+}
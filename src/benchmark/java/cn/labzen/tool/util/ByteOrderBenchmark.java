@@ -0,0 +1,84 @@
+package cn.labzen.tool.util;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bytes 按字节序读写int、long的耗时，以 ByteBuffer 作为对照
+ * <p>
+ * mvn -P benchmark test-compile exec:exec -Dbenchmark.args=ByteOrderBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ByteOrderBenchmark {
+
+  private static final int SIZE = 4096;
+
+  private byte[] bytes;
+  private byte[] four;
+  private ByteBuffer buffer;
+  private int number;
+
+  @Setup
+  public void setup() {
+    bytes = new byte[SIZE];
+    ThreadLocalRandom.current().nextBytes(bytes);
+    buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+    number = ThreadLocalRandom.current().nextInt();
+    four = Bytes.intToBytes(number);
+  }
+
+  @Benchmark
+  public byte[] intToBytes() {
+    return Bytes.intToBytes(number);
+  }
+
+  @Benchmark
+  public int bytesToInt() {
+    return Bytes.bytesToInt(four);
+  }
+
+  @Benchmark
+  public long getIntLittleEndian() {
+    long sum = 0;
+    for (int i = 0; i < SIZE; i += 4) {
+      sum += Bytes.getInt(bytes, i, ByteOrder.LITTLE_ENDIAN);
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public long getIntByteBuffer() {
+    long sum = 0;
+    for (int i = 0; i < SIZE; i += 4) {
+      sum += buffer.getInt(i);
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public int putLongBigEndian() {
+    int offset = 0;
+    while (offset < SIZE) {
+      offset = Bytes.putLong(bytes, offset, offset);
+    }
+    return offset;
+  }
+
+  @Benchmark
+  public long getLongBigEndian() {
+    long sum = 0;
+    for (int i = 0; i < SIZE; i += 8) {
+      sum += Bytes.getLong(bytes, i);
+    }
+    return sum;
+  }
+}
@@ -0,0 +1,69 @@
+package cn.labzen.tool.util;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bytes 十六进制字符串编解码的耗时与内存分配
+ * <p>
+ * mvn -P benchmark test-compile exec:exec -Dbenchmark.args=BytesBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BytesBenchmark {
+
+  @Param({"16", "1024", "4096"})
+  private int size;
+
+  private byte[] bytes;
+  private String hex;
+  private char[] chars;
+  private byte[] decoded;
+  private String wrappedHex;
+
+  @Setup
+  public void setup() {
+    bytes = new byte[size];
+    ThreadLocalRandom.current().nextBytes(bytes);
+    hex = Bytes.bytesToHexString(bytes);
+    chars = new char[size * 2];
+    decoded = new byte[size];
+    wrappedHex = hex.replaceAll("(.{64})", "$1\n");
+  }
+
+  @Benchmark
+  public String bytesToHexString() {
+    return Bytes.bytesToHexString(bytes);
+  }
+
+  @Benchmark
+  public byte[] hexStringToBytes() {
+    return Bytes.hexStringToBytes(hex);
+  }
+
+  @Benchmark
+  public int encodeHex() {
+    return Bytes.encodeHex(bytes, 0, size, chars, 0);
+  }
+
+  @Benchmark
+  public int decodeHex() {
+    return Bytes.decodeHex(hex, 0, hex.length(), decoded, 0);
+  }
+
+  @Benchmark
+  public int hexDecodingStream() throws IOException {
+    try (InputStream in = Bytes.hexDecodingStream(new StringReader(wrappedHex))) {
+      return in.read(decoded, 0, size);
+    }
+  }
+}
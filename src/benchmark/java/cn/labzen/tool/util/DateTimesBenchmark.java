@@ -0,0 +1,31 @@
+package cn.labzen.tool.util;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DateTimes 时差格式化的耗时与内存分配
+ * <p>
+ * mvn -P benchmark test-compile exec:exec -Dbenchmark.args=DateTimesBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateTimesBenchmark {
+
+  @Param({"d 天 H 小时 m 分钟c(前|后)", "H 小时c(前|后)"})
+  private String pattern;
+
+  private final LocalDateTime first = LocalDateTime.of(2024, 1, 1, 8, 0, 0);
+  private final LocalDateTime second = LocalDateTime.of(2024, 1, 3, 13, 27, 45);
+
+  @Benchmark
+  public String howLong() {
+    return DateTimes.howLong(first, second, pattern);
+  }
+}
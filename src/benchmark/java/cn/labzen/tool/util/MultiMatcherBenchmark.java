@@ -0,0 +1,63 @@
+package cn.labzen.tool.util;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 使用大量关键字检查文本时，逐个关键字扫描（Strings.haveAny(List)）与 MultiMatcher 单次扫描的对比
+ * <p>
+ * mvn -P benchmark test-compile exec:exec -Dbenchmark.args=MultiMatcherBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MultiMatcherBenchmark {
+
+  @Param({"100", "3000"})
+  private int keywords;
+
+  private List<String> needles;
+  private MultiMatcher matcher;
+  private String document;
+
+  @Setup
+  public void setup() {
+    Random random = new Random(42);
+    needles = new ArrayList<>(keywords);
+    for (int i = 0; i < keywords; i++) {
+      needles.add(randomWord(random, 6 + random.nextInt(6)));
+    }
+    matcher = MultiMatcher.of(needles);
+    document = randomWord(random, 10000);
+  }
+
+  @Benchmark
+  public boolean haveAnyList() {
+    return Strings.haveAny(document, needles);
+  }
+
+  @Benchmark
+  public boolean haveAnyMatcher() {
+    return Strings.haveAny(document, matcher);
+  }
+
+  @Benchmark
+  public int count() {
+    return matcher.count(document);
+  }
+
+  private static String randomWord(Random random, int length) {
+    char[] chars = new char[length];
+    for (int i = 0; i < length; i++) {
+      chars[i] = (char) ('a' + random.nextInt(26));
+    }
+    return new String(chars);
+  }
+}
@@ -0,0 +1,27 @@
+package cn.labzen.tool.util;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Objects 数值字符串判断的耗时与内存分配
+ * <p>
+ * mvn -P benchmark test-compile exec:exec -Dbenchmark.args=ObjectsBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ObjectsBenchmark {
+
+  @Param({"1700000000000", "-42", "12a45"})
+  private String value;
+
+  @Benchmark
+  public Long canBeLong() {
+    return Objects.canBeLong(value);
+  }
+}
@@ -0,0 +1,27 @@
+package cn.labzen.tool.util;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Randoms 随机字符串生成的耗时与内存分配
+ * <p>
+ * mvn -P benchmark test-compile exec:exec -Dbenchmark.args=RandomsBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RandomsBenchmark {
+
+  @Param({"8", "64"})
+  private int length;
+
+  @Benchmark
+  public String string() {
+    return Randoms.string(length);
+  }
+}
@@ -0,0 +1,37 @@
+package cn.labzen.tool.util;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 解析导入数据时，从 char[] 区间创建字段值：每次 new String 与经过 StringInterner 去重的对比（配合 -prof gc 查看内存分配）
+ * <p>
+ * mvn -P benchmark test-compile exec:exec -Dbenchmark.args=StringInternerBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StringInternerBenchmark {
+
+  private final char[] row = "1001,杭州市,ACTIVE,电子产品,2024-01-01".toCharArray();
+  private final StringInterner interner = new StringInterner(4096);
+
+  @Benchmark
+  public void newString(Blackhole blackhole) {
+    blackhole.consume(new String(row, 5, 3));
+    blackhole.consume(new String(row, 9, 6));
+    blackhole.consume(new String(row, 16, 4));
+  }
+
+  @Benchmark
+  public void intern(Blackhole blackhole) {
+    blackhole.consume(interner.intern(row, 5, 3));
+    blackhole.consume(interner.intern(row, 9, 6));
+    blackhole.consume(interner.intern(row, 16, 4));
+  }
+}
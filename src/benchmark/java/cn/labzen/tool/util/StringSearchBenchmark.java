@@ -0,0 +1,72 @@
+package cn.labzen.tool.util;
+
+import kotlin.text.StringsKt;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 1KB ~ 1MB 文本中子字符串的查找与计数，对比 Kotlin 的 indexOf(ignoreCase) 逐字符比较与 Strings.times 等使用的查找内核
+ * <p>
+ * mvn -P benchmark test-compile exec:exec -Dbenchmark.args=StringSearchBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StringSearchBenchmark {
+
+  private static final String[] WORDS = {"Lorem", "ipsum", "dolor", "sit", "amet", "Consectetur", "adipiscing", "elit"};
+
+  @Param({"1024", "65536", "1048576"})
+  private int size;
+
+  @Param({"e", "ipsum", "consectetur adipiscing"})
+  private String needle;
+
+  private String source;
+
+  @Setup
+  public void setup() {
+    Random random = new Random(42);
+    StringBuilder buf = new StringBuilder(size + 16);
+    while (buf.length() < size) {
+      buf.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+    }
+    source = buf.substring(0, size);
+  }
+
+  @Benchmark
+  public int timesIgnoreCaseBaseline() {
+    int times = 0;
+    int position = StringsKt.indexOf(source, needle, 0, true);
+    while (position >= 0) {
+      times++;
+      position = StringsKt.indexOf(source, needle, position + needle.length(), true);
+    }
+    return times;
+  }
+
+  @Benchmark
+  public int timesIgnoreCase() {
+    return Strings.times(source, needle, false);
+  }
+
+  @Benchmark
+  public int times() {
+    return Strings.times(source, needle);
+  }
+
+  @Benchmark
+  public String frontUntilIgnoreCase() {
+    return Strings.frontUntil(source, needle, false, false);
+  }
+
+  @Benchmark
+  public String lastUntilIgnoreCase() {
+    return Strings.lastUntil(source, needle, false, false);
+  }
+}
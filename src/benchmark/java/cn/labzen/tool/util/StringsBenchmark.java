@@ -0,0 +1,67 @@
+package cn.labzen.tool.util;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Strings 格式化、命名风格转换、空白合并与正则匹配的耗时与内存分配
+ * <p>
+ * mvn -P benchmark test-compile exec:exec -Dbenchmark.args=StringsBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StringsBenchmark {
+
+  @Param({"user {} logged in from {} at {}"})
+  private String pattern;
+
+  @Param({"LabzenToolStringsBenchmark", "labzen_tool_strings_benchmark"})
+  private String name;
+
+  private final Object[] arguments = {"labzen", "127.0.0.1", 1700000000000L};
+
+  private final StringBuilder buffer = new StringBuilder(128);
+
+  private final String sentence = "  sample   english \t sentence.\n  with   some  words   ";
+
+  @Benchmark
+  public String format() {
+    return Strings.format(pattern, arguments);
+  }
+
+  @Benchmark
+  public StringBuilder formatTo() {
+    buffer.setLength(0);
+    return Strings.formatTo(buffer, pattern, "labzen", "127.0.0.1", 1700000000000L);
+  }
+
+  @Benchmark
+  public String camelCase() {
+    return Strings.camelCase(name);
+  }
+
+  @Benchmark
+  public String snakeCase() {
+    return Strings.snakeCase(name);
+  }
+
+  @Benchmark
+  public String camelCaseCached() {
+    return Strings.camelCase(name, true);
+  }
+
+  @Benchmark
+  public String simplify() {
+    return Strings.simplify(sentence);
+  }
+
+  @Benchmark
+  public String valueMatches() {
+    return Strings.value("a123456b", "\\w\\d+\\w", "matched");
+  }
+}
@@ -0,0 +1,90 @@
+package cn.labzen.tool.util;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bytes 对一列较小的long（如Snowflake ID的差值）做varint、group varint编解码的吞吐量（values/sec），以固定8字节作为对照
+ * <p>
+ * mvn -P benchmark test-compile exec:exec -Dbenchmark.args=VarintBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VarintBenchmark {
+
+  private static final int COUNT = 4096;
+
+  /**
+   * 差值的上限，决定每个值编码后的字节数
+   */
+  @Param({"100", "1000000"})
+  private int bound;
+
+  private final long[] values = new long[COUNT];
+  private final long[] decoded = new long[COUNT];
+  private final byte[] fixed = new byte[COUNT * 8];
+  private final byte[] varints = new byte[COUNT * 10];
+  private final byte[] groups = new byte[Bytes.maxGroupVarintBytes(COUNT)];
+
+  @Setup
+  public void setup() {
+    SplittableRandom random = new SplittableRandom(17);
+    for (int i = 0; i < COUNT; i++) {
+      values[i] = random.nextInt(-bound / 10, bound);
+    }
+    Bytes.putVarints(values, 0, COUNT, varints, 0, true);
+    Bytes.putGroupVarints(values, 0, COUNT, groups, 0, true);
+    for (int i = 0; i < COUNT; i++) {
+      Bytes.putLong(fixed, i * 8, values[i]);
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(COUNT)
+  public int putFixed() {
+    int offset = 0;
+    for (long value : values) {
+      offset = Bytes.putLong(fixed, offset, value);
+    }
+    return offset;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(COUNT)
+  public long[] getFixed() {
+    for (int i = 0; i < COUNT; i++) {
+      decoded[i] = Bytes.getLong(fixed, i * 8);
+    }
+    return decoded;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(COUNT)
+  public int putVarints() {
+    return Bytes.putVarints(values, 0, COUNT, varints, 0, true);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(COUNT)
+  public int getVarints() {
+    return Bytes.getVarints(varints, 0, decoded, 0, COUNT, true);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(COUNT)
+  public int putGroupVarints() {
+    return Bytes.putGroupVarints(values, 0, COUNT, groups, 0, true);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(COUNT)
+  public int getGroupVarints() {
+    return Bytes.getGroupVarints(groups, 0, decoded, 0, COUNT, true);
+  }
+}
@@ -0,0 +1,35 @@
+@file:Suppress("unused")
+
+package cn.labzen.tool.codec
+
+/**
+ * 单个类型的二进制编解码器，通过[BinarySerializer.register]与类型、类型ID一起注册
+ *
+ * > 写入与读取的顺序必须一致；嵌套的对象通过[BinaryOutput.writeObject]、[BinaryInput.readObject]交由[BinarySerializer]处理
+ *
+ * ```kotlin
+ * class PointCodec : BinaryCodec<Point> {
+ *   override fun write(output: BinaryOutput, value: Point) {
+ *     output.writeInt(value.x).writeInt(value.y)
+ *   }
+ *
+ *   override fun read(input: BinaryInput): Point =
+ *     Point(input.readInt(), input.readInt())
+ * }
+ * ```
+ */
+interface BinaryCodec<T> {
+
+  fun write(output: BinaryOutput, value: T)
+
+  fun read(input: BinaryInput): T
+}
+
+/**
+ * 通过ServiceLoader（META-INF/services/cn.labzen.tool.codec.BinaryCodecProvider）发现的编解码器提供者，
+ * 在[BinarySerializer.shared]首次使用时向其注册类型
+ */
+fun interface BinaryCodecProvider {
+
+  fun provide(serializer: BinarySerializer)
+}
@@ -0,0 +1,226 @@
+@file:Suppress("unused")
+
+package cn.labzen.tool.codec
+
+import cn.labzen.tool.exception.CodecException
+import cn.labzen.tool.kotlin.throwRuntimeIf
+import cn.labzen.tool.util.Bytes
+import java.nio.ByteOrder
+import java.nio.charset.StandardCharsets
+
+/**
+ * 读取[BinaryOutput]写入的内容，读取顺序必须与写入顺序一致；调用[reset]可切换到新的数据上复用
+ *
+ * @param serializer BinarySerializer [readObject]使用的序列化器
+ */
+class BinaryInput @JvmOverloads constructor(
+  val serializer: BinarySerializer = BinarySerializer.shared()
+) {
+
+  private var buffer: ByteArray = EMPTY
+  private var position = 0
+  private var limit = 0
+  private var depth = 0
+
+  @JvmOverloads
+  constructor(
+    bytes: ByteArray,
+    offset: Int = 0,
+    length: Int = bytes.size,
+    serializer: BinarySerializer = BinarySerializer.shared()
+  ) : this(serializer) {
+    reset(bytes, offset, length)
+  }
+
+  /**
+   * 切换到[bytes]中[offset]开始的[length]个字节
+   */
+  @JvmOverloads
+  fun reset(bytes: ByteArray, offset: Int = 0, length: Int = bytes.size): BinaryInput {
+    (offset < 0 || length < 0 || offset > bytes.size - length).throwRuntimeIf {
+      CodecException("字节数组区间越界：[size=${bytes.size}, offset=$offset, length=$length]")
+    }
+    buffer = bytes
+    position = offset
+    limit = offset + length
+    depth = 0
+    return this
+  }
+
+  /**
+   * 当前读取到的下标
+   */
+  fun position(): Int = position
+
+  /**
+   * 剩余未读取的字节数
+   */
+  fun remaining(): Int = limit - position
+
+  // ===================================================================================================================
+
+  fun readByte(): Byte {
+    ensureRemaining(1)
+    return buffer[position++]
+  }
+
+  fun readBoolean(): Boolean =
+    readByte().toInt() != 0
+
+  fun readShort(): Short =
+    readLong().toShort()
+
+  fun readChar(): Char =
+    readVarint().toInt().toChar()
+
+  fun readInt(): Int =
+    readLong().toInt()
+
+  fun readLong(): Long =
+    Bytes.unzigzag(readVarint())
+
+  fun readVarint(): Long {
+    // 剩余字节足够时不再逐字节检查边界
+    val checked = limit - position < MAX_VARINT_BYTES
+    var result = 0L
+    var shift = 0
+    while (shift < MAX_VARINT_BYTES * 7) {
+      if (checked) ensureRemaining(1)
+      val b = buffer[position++].toInt()
+      result = result or ((b and 0x7F).toLong() shl shift)
+      if (b >= 0) return result
+      shift += 7
+    }
+    throw CodecException("非法的变长整数编码，位置：${position - MAX_VARINT_BYTES}")
+  }
+
+  fun readFloat(): Float {
+    ensureRemaining(4)
+    return Bytes.getFloat(buffer, position, ByteOrder.LITTLE_ENDIAN).also { position += 4 }
+  }
+
+  fun readDouble(): Double {
+    ensureRemaining(8)
+    return Bytes.getDouble(buffer, position, ByteOrder.LITTLE_ENDIAN).also { position += 8 }
+  }
+
+  fun readString(): String? {
+    val length = readLength() ?: return null
+    // 剩余的字节数不少于字符数，且这些字节都是ASCII时，可以直接构造字符串
+    ensureRemaining(length)
+    val bytes = buffer
+    val start = position
+    var i = start
+    val end = start + length
+    while (i < end && bytes[i] >= 0) i++
+    if (i == end) {
+      position = end
+      return String(bytes, start, length, StandardCharsets.ISO_8859_1)
+    }
+
+    val chars = CharArray(length)
+    for (k in 0 until i - start) {
+      chars[k] = bytes[start + k].toInt().toChar()
+    }
+    position = i
+    for (k in i - start until length) {
+      val b = readByte().toInt()
+      chars[k] = when {
+        b >= 0 -> b.toChar()
+        b and 0xE0 == 0xC0 -> (((b and 0x1F) shl 6) or continuation()).toChar()
+        b and 0xF0 == 0xE0 -> (((b and 0x0F) shl 12) or (continuation() shl 6) or continuation()).toChar()
+        else -> throw CodecException("非法的字符编码，位置：${position - 1}")
+      }
+    }
+    return String(chars)
+  }
+
+  fun readBytes(): ByteArray? {
+    val length = readLength() ?: return null
+    ensureRemaining(length)
+    return buffer.copyOfRange(position, position + length).also { position += length }
+  }
+
+  fun readLongs(): LongArray? {
+    val length = readLength() ?: return null
+    // 每个值至少占1个字节
+    ensureRemaining(length)
+    val values = LongArray(length)
+    val end = try {
+      Bytes.getVarints(buffer, position, values, 0, length, true)
+    } catch (e: IndexOutOfBoundsException) {
+      throw CodecException(e, "数据不完整，无法读取${length}个long")
+    } catch (e: IllegalArgumentException) {
+      throw CodecException(e, "非法的变长整数编码，位置：$position")
+    }
+    (end > limit).throwRuntimeIf { CodecException("数据不完整，无法读取${length}个long") }
+    position = end
+    return values
+  }
+
+  /**
+   * 读取[length]个字节到[target]的[offset]开始处
+   */
+  fun readRaw(target: ByteArray, offset: Int, length: Int) {
+    ensureRemaining(length)
+    System.arraycopy(buffer, position, target, offset, length)
+    position += length
+  }
+
+  /**
+   * 读取[BinaryOutput.writeObject]写入的对象
+   *
+   * @throws CodecException 数据不完整，或类型标记、类型ID未知时抛出
+   */
+  fun readObject(): Any? =
+    serializer.read(this)
+
+  // ===================================================================================================================
+
+  /**
+   * 读取[BinaryOutput.writeString]等写入的长度，null写入的是0
+   */
+  internal fun readLength(): Int? {
+    val length = readVarint()
+    if (length == 0L) return null
+    (length < 0 || length - 1 > Int.MAX_VALUE).throwRuntimeIf { CodecException("非法的长度：${length - 1}") }
+    return (length - 1).toInt()
+  }
+
+  /**
+   * 读取集合等的元素数量，每个元素至少占1个字节，数量超过剩余字节数的数据一定是错误的，避免按错误的数量分配过大的空间
+   */
+  internal fun readCount(): Int {
+    val count = readVarint()
+    (count < 0 || count > remaining()).throwRuntimeIf { CodecException("非法的元素数量：$count") }
+    return count.toInt()
+  }
+
+  internal fun enter() {
+    if (++depth > BinarySerializer.MAX_DEPTH) {
+      depth--
+      throw CodecException("数据的嵌套层数超过了${BinarySerializer.MAX_DEPTH}")
+    }
+  }
+
+  internal fun exit() {
+    depth--
+  }
+
+  private fun continuation(): Int {
+    val b = readByte().toInt()
+    (b and 0xC0 != 0x80).throwRuntimeIf { CodecException("非法的字符编码，位置：${position - 1}") }
+    return b and 0x3F
+  }
+
+  private fun ensureRemaining(length: Int) {
+    (length > limit - position).throwRuntimeIf {
+      CodecException("数据不完整，需要${length}个字节，剩余${limit - position}个字节")
+    }
+  }
+
+  companion object {
+    private val EMPTY = ByteArray(0)
+    private const val MAX_VARINT_BYTES = 10
+  }
+}
@@ -0,0 +1,232 @@
+@file:Suppress("unused")
+
+package cn.labzen.tool.codec
+
+import cn.labzen.tool.exception.ArgumentsException
+import cn.labzen.tool.exception.CodecException
+import cn.labzen.tool.kotlin.throwRuntimeIf
+import cn.labzen.tool.util.Bytes
+import java.io.OutputStream
+import java.nio.ByteOrder
+
+/**
+ * 可复用的二进制输出缓冲区，空间不足时自动扩容；调用[reset]后可重复使用，不再为每次序列化分配新的缓冲区
+ *
+ * > 整数使用zigzag + varint编码，较小的值只占1 - 2个字节；浮点数按小端固定长度写入；字符串写入字符数，每个字符按UTF-8的规则
+ * > 编码为1 - 3个字节（代理对的两个字符分别编码），可以无损还原任意字符串
+ *
+ * @param serializer BinarySerializer [writeObject]使用的序列化器
+ * @param initialCapacity Int 初始容量
+ */
+class BinaryOutput @JvmOverloads constructor(
+  val serializer: BinarySerializer = BinarySerializer.shared(),
+  initialCapacity: Int = DEFAULT_CAPACITY
+) {
+
+  private var buffer = ByteArray(maxOf(initialCapacity, 16))
+  private var position = 0
+  private var depth = 0
+
+  /**
+   * 已写入的字节数
+   */
+  fun size(): Int = position
+
+  /**
+   * 当前的内部缓冲区，有效内容为下标0到[size]（不含），扩容后会变为新的数组
+   */
+  fun array(): ByteArray = buffer
+
+  /**
+   * 清空已写入的内容，保留缓冲区
+   */
+  fun reset(): BinaryOutput {
+    position = 0
+    depth = 0
+    return this
+  }
+
+  fun toByteArray(): ByteArray = buffer.copyOf(position)
+
+  /**
+   * 将已写入的内容复制到[target]的[offset]开始处
+   *
+   * @return Int 复制的字节数
+   * @throws IndexOutOfBoundsException [target]的剩余空间不足时抛出
+   */
+  fun copyTo(target: ByteArray, offset: Int): Int {
+    System.arraycopy(buffer, 0, target, offset, position)
+    return position
+  }
+
+  fun writeTo(stream: OutputStream) {
+    stream.write(buffer, 0, position)
+  }
+
+  // ===================================================================================================================
+
+  fun writeByte(value: Int): BinaryOutput {
+    ensure(1)
+    buffer[position++] = value.toByte()
+    return this
+  }
+
+  fun writeBoolean(value: Boolean): BinaryOutput =
+    writeByte(if (value) 1 else 0)
+
+  fun writeShort(value: Short): BinaryOutput =
+    writeLong(value.toLong())
+
+  fun writeChar(value: Char): BinaryOutput =
+    writeVarint(value.code.toLong())
+
+  fun writeInt(value: Int): BinaryOutput =
+    writeLong(value.toLong())
+
+  /**
+   * zigzag + varint编码写入
+   */
+  fun writeLong(value: Long): BinaryOutput =
+    writeVarint(Bytes.zigzag(value))
+
+  /**
+   * 无符号varint编码写入，适合长度、数量等非负数
+   */
+  fun writeVarint(value: Long): BinaryOutput {
+    ensure(MAX_VARINT_BYTES)
+    position = Bytes.putVarint(buffer, position, value)
+    return this
+  }
+
+  fun writeFloat(value: Float): BinaryOutput {
+    ensure(4)
+    position = Bytes.putFloat(buffer, position, value, ByteOrder.LITTLE_ENDIAN)
+    return this
+  }
+
+  fun writeDouble(value: Double): BinaryOutput {
+    ensure(8)
+    position = Bytes.putDouble(buffer, position, value, ByteOrder.LITTLE_ENDIAN)
+    return this
+  }
+
+  /**
+   * 写入字符串，可以为null
+   */
+  fun writeString(value: String?): BinaryOutput {
+    if (value == null) {
+      return writeVarint(0)
+    }
+
+    val length = value.length
+    (length > (Int.MAX_VALUE - position) / 3).throwRuntimeIf { ArgumentsException("二进制输出超出了数组的最大长度") }
+    writeVarint(length + 1L)
+    ensure(length * 3)
+    val bytes = buffer
+    var p = position
+    var i = 0
+    // ASCII字符最常见，单独循环
+    while (i < length) {
+      val c = value[i].code
+      if (c >= 0x80) break
+      bytes[p++] = c.toByte()
+      i++
+    }
+    while (i < length) {
+      val c = value[i++].code
+      when {
+        c < 0x80 -> bytes[p++] = c.toByte()
+        c < 0x800 -> {
+          bytes[p++] = (0xC0 or (c shr 6)).toByte()
+          bytes[p++] = (0x80 or (c and 0x3F)).toByte()
+        }
+
+        else -> {
+          bytes[p++] = (0xE0 or (c shr 12)).toByte()
+          bytes[p++] = (0x80 or ((c shr 6) and 0x3F)).toByte()
+          bytes[p++] = (0x80 or (c and 0x3F)).toByte()
+        }
+      }
+    }
+    position = p
+    return this
+  }
+
+  /**
+   * 写入字节数组的长度与内容，可以为null
+   */
+  fun writeBytes(value: ByteArray?): BinaryOutput {
+    if (value == null) {
+      return writeVarint(0)
+    }
+    writeVarint(value.size + 1L)
+    return writeRaw(value, 0, value.size)
+  }
+
+  /**
+   * 写入long数组的长度与内容，每个值按zigzag + varint编码，可以为null
+   */
+  fun writeLongs(value: LongArray?): BinaryOutput {
+    if (value == null) {
+      return writeVarint(0)
+    }
+    (value.size > (Int.MAX_VALUE - position) / MAX_VARINT_BYTES - 1).throwRuntimeIf {
+      ArgumentsException("二进制输出超出了数组的最大长度")
+    }
+    writeVarint(value.size + 1L)
+    ensure(value.size * MAX_VARINT_BYTES)
+    position = Bytes.putVarints(value, 0, value.size, buffer, position, true)
+    return this
+  }
+
+  /**
+   * 原样写入[source]中[offset]开始的[length]个字节，不写入长度
+   */
+  fun writeRaw(source: ByteArray, offset: Int, length: Int): BinaryOutput {
+    ensure(length)
+    System.arraycopy(source, offset, buffer, position, length)
+    position += length
+    return this
+  }
+
+  /**
+   * 写入带类型标记的对象，由[serializer]按对象的类型选择编码方式
+   *
+   * @throws cn.labzen.tool.exception.CodecException 对象的类型不支持（未注册）时抛出
+   */
+  fun writeObject(value: Any?): BinaryOutput {
+    serializer.write(this, value)
+    return this
+  }
+
+  // ===================================================================================================================
+
+  /**
+   * 确保还能写入[length]个字节
+   */
+  internal fun ensure(length: Int) {
+    val required = position + length
+    if (required > buffer.size) {
+      (required < 0).throwRuntimeIf { ArgumentsException("二进制输出超出了数组的最大长度") }
+      buffer = buffer.copyOf(maxOf(required, buffer.size + (buffer.size shr 1)))
+    }
+  }
+
+  internal fun capacity(): Int = buffer.size
+
+  internal fun enter() {
+    if (++depth > BinarySerializer.MAX_DEPTH) {
+      depth--
+      throw CodecException("对象的嵌套层数超过了${BinarySerializer.MAX_DEPTH}，或存在循环引用")
+    }
+  }
+
+  internal fun exit() {
+    depth--
+  }
+
+  companion object {
+    private const val DEFAULT_CAPACITY = 256
+    private const val MAX_VARINT_BYTES = 10
+  }
+}
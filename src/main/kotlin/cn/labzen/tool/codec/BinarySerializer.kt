@@ -0,0 +1,477 @@
+@file:Suppress("unused")
+
+package cn.labzen.tool.codec
+
+import cn.labzen.tool.bean.MutablePair
+import cn.labzen.tool.bean.MutableQuadruple
+import cn.labzen.tool.bean.MutableTriple
+import cn.labzen.tool.bean.Pair
+import cn.labzen.tool.bean.Quadruple
+import cn.labzen.tool.bean.StrictMutablePair
+import cn.labzen.tool.bean.StrictMutableQuadruple
+import cn.labzen.tool.bean.StrictMutableTriple
+import cn.labzen.tool.bean.StrictPair
+import cn.labzen.tool.bean.StrictQuadruple
+import cn.labzen.tool.bean.StrictTriple
+import cn.labzen.tool.bean.Triple
+import cn.labzen.tool.exception.ArgumentsException
+import cn.labzen.tool.exception.CodecException
+import cn.labzen.tool.kotlin.throwRuntimeIf
+import java.lang.invoke.MethodHandle
+import java.lang.invoke.MethodHandles
+import java.lang.invoke.MethodType
+import java.util.ServiceLoader
+import java.util.concurrent.ConcurrentHashMap
+import kotlin.reflect.full.memberProperties
+import kotlin.reflect.full.primaryConstructor
+import kotlin.reflect.jvm.javaConstructor
+import kotlin.reflect.jvm.javaField
+import kotlin.reflect.jvm.javaGetter
+
+/**
+ * 紧凑的二进制序列化，代替Java序列化（ObjectOutputStream）缓存对象
+ *
+ * - 内置支持：null、基本类型及其包装类型、String、ByteArray、LongArray、List（还原为ArrayList）、Set（还原为LinkedHashSet）、
+ *   Map（还原为LinkedHashMap），以及[cn.labzen.tool.bean]中的Pair、Triple、Quadruple系列
+ * - 其他类型需要通过[register]注册类型ID，数据中只写入类型ID，不写入类名；反序列化时只会创建已注册的类型，不存在Java序列化的
+ *   任意类实例化风险。Kotlin数据类与枚举可以只注册类型ID，由序列化器自动生成编解码器
+ * - 数据类的编解码器在注册时通过反射找到主构造函数与属性，转换为MethodHandle，之后的序列化过程不再使用反射
+ * - [serialize]使用线程内复用的[BinaryOutput]，只为结果分配一次数组；需要完全避免分配时，可传入自己复用的[BinaryOutput]
+ *
+ * > 不支持循环引用，同一对象被多次引用时会被写入多次；嵌套层数超过[MAX_DEPTH]时抛出异常
+ *
+ * ```java
+ * BinarySerializer serializer = BinarySerializer.shared().register(1, User.class);
+ * byte[] bytes = serializer.serialize(new Pair<>("id", new User("Dean", 18)));
+ * Pair<String, User> pair = (Pair<String, User>) serializer.deserialize(bytes);
+ * ```
+ */
+class BinarySerializer {
+
+  private class Registration<T>(val id: Int, val type: Class<T>, val codec: BinaryCodec<T>)
+
+  private class PooledOutput(val output: BinaryOutput) {
+    var busy = false
+  }
+
+  private val byType = ConcurrentHashMap<Class<*>, Registration<*>>()
+
+  @Volatile
+  private var byId = arrayOfNulls<Registration<*>>(16)
+
+  private val pool = ThreadLocal.withInitial { PooledOutput(BinaryOutput(this, POOLED_CAPACITY)) }
+
+  /**
+   * 注册类型及其编解码器
+   *
+   * @param id Int 类型ID，0 - 65535，写入数据中代替类名，同一份数据的写入方与读取方必须使用相同的ID
+   * @throws ArgumentsException ID超出范围，或ID、类型已被注册时抛出
+   */
+  fun <T : Any> register(id: Int, type: Class<T>, codec: BinaryCodec<T>): BinarySerializer {
+    (id < 0 || id > MAX_ID).throwRuntimeIf { ArgumentsException("类型ID超出了范围：0 - $MAX_ID") }
+
+    synchronized(this) {
+      val ids = byId
+      (id < ids.size && ids[id] != null).throwRuntimeIf {
+        ArgumentsException("类型ID [$id] 已被注册为：${ids[id]!!.type.name}")
+      }
+      byType[type]?.let {
+        throw ArgumentsException("类型 [${type.name}] 已被注册，ID：${it.id}")
+      }
+
+      val registration = Registration(id, type, codec)
+      val updated = if (id < ids.size) ids.copyOf() else ids.copyOf(maxOf(id + 1, ids.size * 2))
+      updated[id] = registration
+      byId = updated
+      byType[type] = registration
+    }
+    return this
+  }
+
+  /**
+   * 注册Kotlin数据类或枚举，自动生成编解码器：数据类按主构造函数的参数顺序写入各属性，枚举写入序号
+   *
+   * @throws ArgumentsException 类型不是数据类或枚举时抛出
+   */
+  fun <T : Any> register(id: Int, type: Class<T>): BinarySerializer =
+    when {
+      type.isEnum -> register(id, type, EnumCodec(type))
+      type.kotlin.isData -> register(id, type, DataClassCodec(type))
+      else -> throw ArgumentsException("类型 [${type.name}] 不是数据类或枚举，需要提供编解码器")
+    }
+
+  fun isRegistered(type: Class<*>): Boolean =
+    byType.containsKey(type)
+
+  // ===================================================================================================================
+
+  /**
+   * 序列化为字节数组，使用线程内复用的缓冲区，只为结果分配一次数组
+   *
+   * @throws CodecException 存在不支持（未注册）的类型时抛出
+   */
+  fun serialize(value: Any?): ByteArray {
+    val pooled = pool.get()
+    if (pooled.busy) {
+      // 编解码器中嵌套调用了serialize
+      return serialize(value, BinaryOutput(this)).toByteArray()
+    }
+
+    pooled.busy = true
+    try {
+      val output = pooled.output.reset()
+      write(output, value)
+      return output.toByteArray()
+    } finally {
+      pooled.busy = false
+      if (pooled.output.capacity() > MAX_POOLED_CAPACITY) {
+        // 不长期持有偶尔出现的大对象的缓冲区
+        pool.remove()
+      }
+    }
+  }
+
+  /**
+   * 序列化后追加到[output]中，[output]可由调用方复用
+   */
+  fun serialize(value: Any?, output: BinaryOutput): BinaryOutput {
+    write(output, value)
+    return output
+  }
+
+  /**
+   * 反序列化[serialize]的结果
+   *
+   * @throws CodecException 数据不完整、有多余的字节，或包含未知的类型标记、类型ID时抛出
+   */
+  fun deserialize(bytes: ByteArray): Any? =
+    deserialize(bytes, 0, bytes.size)
+
+  fun deserialize(bytes: ByteArray, offset: Int, length: Int): Any? {
+    val input = BinaryInput(bytes, offset, length, this)
+    val value = read(input)
+    (input.remaining() != 0).throwRuntimeIf { CodecException("数据末尾有${input.remaining()}个多余的字节") }
+    return value
+  }
+
+  /**
+   * 反序列化并检查结果的类型
+   *
+   * @throws CodecException 结果不是[type]类型时抛出
+   */
+  fun <T> deserialize(bytes: ByteArray, type: Class<T>): T? {
+    val value = deserialize(bytes) ?: return null
+    (!type.isInstance(value)).throwRuntimeIf {
+      CodecException("反序列化的结果类型 [${value.javaClass.name}] 不是 [${type.name}]")
+    }
+    return type.cast(value)
+  }
+
+  /**
+   * 从[input]的当前位置读取一个对象
+   */
+  fun deserialize(input: BinaryInput): Any? =
+    read(input)
+
+  // ===================================================================================================================
+
+  internal fun write(output: BinaryOutput, value: Any?) {
+    when (value) {
+      null -> output.writeByte(NULL)
+      is String -> output.writeByte(STRING).writeString(value)
+      is Int -> output.writeByte(INT).writeInt(value)
+      is Long -> output.writeByte(LONG).writeLong(value)
+      is Boolean -> output.writeByte(if (value) TRUE else FALSE)
+      is Double -> output.writeByte(DOUBLE).writeDouble(value)
+      is Float -> output.writeByte(FLOAT).writeFloat(value)
+      is Short -> output.writeByte(SHORT).writeShort(value)
+      is Byte -> output.writeByte(BYTE).writeByte(value.toInt())
+      is Char -> output.writeByte(CHAR).writeChar(value)
+      is ByteArray -> output.writeByte(BYTES).writeBytes(value)
+      is LongArray -> output.writeByte(LONGS).writeLongs(value)
+      else -> {
+        output.enter()
+        try {
+          writeComposite(output, value)
+        } finally {
+          output.exit()
+        }
+      }
+    }
+  }
+
+  private fun writeComposite(output: BinaryOutput, value: Any) {
+    // 带有类体的枚举常量是枚举的匿名子类，按声明的枚举类型查找
+    @Suppress("UNCHECKED_CAST")
+    val registration = byType[(value as? Enum<*>)?.declaringJavaClass ?: value.javaClass] as Registration<Any>?
+    if (registration != null) {
+      output.writeByte(REGISTERED).writeVarint(registration.id.toLong())
+      registration.codec.write(output, value)
+      return
+    }
+
+    when (value) {
+      is Pair<*, *> -> writeElements(output, PAIR, value.first, value.second)
+      is MutablePair<*, *> -> writeElements(output, MUTABLE_PAIR, value.first, value.second)
+      is StrictPair<*, *> -> writeElements(output, STRICT_PAIR, value.first, value.second)
+      is StrictMutablePair<*, *> -> writeElements(output, STRICT_MUTABLE_PAIR, value.first, value.second)
+      is Triple<*, *, *> -> writeElements(output, TRIPLE, value.first, value.second, value.third)
+      is MutableTriple<*, *, *> -> writeElements(output, MUTABLE_TRIPLE, value.first, value.second, value.third)
+      is StrictTriple<*, *, *> -> writeElements(output, STRICT_TRIPLE, value.first, value.second, value.third)
+      is StrictMutableTriple<*, *, *> ->
+        writeElements(output, STRICT_MUTABLE_TRIPLE, value.first, value.second, value.third)
+
+      is Quadruple<*, *, *, *> ->
+        writeElements(output, QUADRUPLE, value.first, value.second, value.third, value.fourth)
+
+      is MutableQuadruple<*, *, *, *> ->
+        writeElements(output, MUTABLE_QUADRUPLE, value.first, value.second, value.third, value.fourth)
+
+      is StrictQuadruple<*, *, *, *> ->
+        writeElements(output, STRICT_QUADRUPLE, value.first, value.second, value.third, value.fourth)
+
+      is StrictMutableQuadruple<*, *, *, *> ->
+        writeElements(output, STRICT_MUTABLE_QUADRUPLE, value.first, value.second, value.third, value.fourth)
+
+      is List<*> -> {
+        output.writeByte(LIST).writeVarint(value.size.toLong())
+        for (element in value) write(output, element)
+      }
+
+      is Set<*> -> {
+        output.writeByte(SET).writeVarint(value.size.toLong())
+        for (element in value) write(output, element)
+      }
+
+      is Map<*, *> -> {
+        output.writeByte(MAP).writeVarint(value.size.toLong())
+        for ((k, v) in value) {
+          write(output, k)
+          write(output, v)
+        }
+      }
+
+      else -> throw CodecException("未注册的类型：${value.javaClass.name}")
+    }
+  }
+
+  private fun writeElements(output: BinaryOutput, tag: Int, vararg elements: Any?) {
+    output.writeByte(tag)
+    for (element in elements) write(output, element)
+  }
+
+  internal fun read(input: BinaryInput): Any? =
+    when (val tag = input.readByte().toInt()) {
+      NULL -> null
+      TRUE -> true
+      FALSE -> false
+      BYTE -> input.readByte()
+      SHORT -> input.readShort()
+      INT -> input.readInt()
+      LONG -> input.readLong()
+      FLOAT -> input.readFloat()
+      DOUBLE -> input.readDouble()
+      CHAR -> input.readChar()
+      STRING -> input.readString()
+      BYTES -> input.readBytes()
+      LONGS -> input.readLongs()
+      else -> {
+        input.enter()
+        try {
+          readComposite(input, tag)
+        } catch (e: NullPointerException) {
+          // Strict系列的元组不接受null
+          throw CodecException(e, "数据中的null值不能用于创建对象：${e.message}")
+        } finally {
+          input.exit()
+        }
+      }
+    }
+
+  private fun readComposite(input: BinaryInput, tag: Int): Any? =
+    when (tag) {
+      REGISTERED -> {
+        val id = input.readVarint()
+        val ids = byId
+        val registration = if (id >= 0 && id < ids.size) ids[id.toInt()] else null
+        registration ?: throw CodecException("未注册的类型ID：$id")
+        registration.codec.read(input)
+      }
+
+      PAIR -> Pair(read(input), read(input))
+      MUTABLE_PAIR -> MutablePair(read(input), read(input))
+      STRICT_PAIR -> StrictPair(read(input), read(input))
+      STRICT_MUTABLE_PAIR -> StrictMutablePair(read(input), read(input))
+      TRIPLE -> Triple(read(input), read(input), read(input))
+      MUTABLE_TRIPLE -> MutableTriple(read(input), read(input), read(input))
+      STRICT_TRIPLE -> StrictTriple(read(input), read(input), read(input))
+      STRICT_MUTABLE_TRIPLE -> StrictMutableTriple(read(input), read(input), read(input))
+      QUADRUPLE -> Quadruple(read(input), read(input), read(input), read(input))
+      MUTABLE_QUADRUPLE -> MutableQuadruple(read(input), read(input), read(input), read(input))
+      STRICT_QUADRUPLE -> StrictQuadruple(read(input), read(input), read(input), read(input))
+      STRICT_MUTABLE_QUADRUPLE -> StrictMutableQuadruple(read(input), read(input), read(input), read(input))
+
+      LIST -> {
+        val count = input.readCount()
+        ArrayList<Any?>(count).apply { repeat(count) { add(read(input)) } }
+      }
+
+      SET -> {
+        val count = input.readCount()
+        LinkedHashSet<Any?>(capacityOf(count)).apply { repeat(count) { add(read(input)) } }
+      }
+
+      MAP -> {
+        val count = input.readCount()
+        LinkedHashMap<Any?, Any?>(capacityOf(count)).apply { repeat(count) { put(read(input), read(input)) } }
+      }
+
+      else -> throw CodecException("未知的类型标记：$tag")
+    }
+
+  // ===================================================================================================================
+
+  /**
+   * 枚举按序号编码
+   */
+  private class EnumCodec<T : Any>(private val type: Class<T>) : BinaryCodec<T> {
+
+    private val constants = type.enumConstants
+
+    override fun write(output: BinaryOutput, value: T) {
+      output.writeVarint((value as Enum<*>).ordinal.toLong())
+    }
+
+    override fun read(input: BinaryInput): T {
+      val ordinal = input.readVarint()
+      (ordinal < 0 || ordinal >= constants.size).throwRuntimeIf {
+        CodecException("枚举 [${type.name}] 的序号超出了范围：$ordinal")
+      }
+      return constants[ordinal.toInt()]
+    }
+  }
+
+  /**
+   * 数据类按主构造函数的参数顺序写入各属性的值，读取后调用主构造函数创建实例
+   */
+  private class DataClassCodec<T : Any>(private val type: Class<T>) : BinaryCodec<T> {
+
+    private val getters: Array<MethodHandle>
+    private val constructor: MethodHandle
+
+    init {
+      val kotlinClass = type.kotlin
+      val primary = kotlinClass.primaryConstructor
+        ?: throw ArgumentsException("数据类 [${type.name}] 没有主构造函数")
+      val properties = kotlinClass.memberProperties.associateBy { it.name }
+
+      getters = primary.parameters.map { parameter ->
+        val property = properties[parameter.name]
+          ?: throw ArgumentsException("数据类 [${type.name}] 的构造参数 [${parameter.name}] 没有对应的属性")
+        val getter = property.javaGetter
+        val handle = if (getter != null) {
+          getter.isAccessible = true
+          LOOKUP.unreflect(getter)
+        } else {
+          // 私有属性没有getter方法，直接读取字段
+          val field = property.javaField
+            ?: throw ArgumentsException("数据类 [${type.name}] 的属性 [${parameter.name}] 无法读取")
+          field.isAccessible = true
+          LOOKUP.unreflectGetter(field)
+        }
+        handle.asType(GETTER_TYPE)
+      }.toTypedArray()
+
+      val javaConstructor = primary.javaConstructor!!
+      javaConstructor.isAccessible = true
+      constructor = LOOKUP.unreflectConstructor(javaConstructor)
+        .asSpreader(Array<Any?>::class.java, getters.size)
+        .asType(CONSTRUCTOR_TYPE)
+    }
+
+    override fun write(output: BinaryOutput, value: T) {
+      val instance: Any = value
+      for (getter in getters) {
+        output.writeObject(getter.invokeExact(instance) as Any?)
+      }
+    }
+
+    override fun read(input: BinaryInput): T {
+      val arguments = arrayOfNulls<Any?>(getters.size)
+      for (i in arguments.indices) {
+        arguments[i] = input.readObject()
+      }
+
+      val instance = try {
+        constructor.invokeExact(arguments) as Any
+      } catch (e: ClassCastException) {
+        throw CodecException(e, "数据与数据类 [${type.name}] 的构造参数类型不一致")
+      } catch (e: NullPointerException) {
+        throw CodecException(e, "数据类 [${type.name}] 的构造参数不能为null")
+      }
+      return type.cast(instance)
+    }
+  }
+
+  companion object {
+
+    /**
+     * 嵌套的最大层数
+     */
+    const val MAX_DEPTH = 512
+
+    private const val MAX_ID = 0xFFFF
+    private const val POOLED_CAPACITY = 1024
+    private const val MAX_POOLED_CAPACITY = 1 shl 20
+
+    private const val NULL = 0
+    private const val TRUE = 1
+    private const val FALSE = 2
+    private const val BYTE = 3
+    private const val SHORT = 4
+    private const val INT = 5
+    private const val LONG = 6
+    private const val FLOAT = 7
+    private const val DOUBLE = 8
+    private const val CHAR = 9
+    private const val STRING = 10
+    private const val BYTES = 11
+    private const val LONGS = 12
+    private const val LIST = 13
+    private const val SET = 14
+    private const val MAP = 15
+    private const val PAIR = 16
+    private const val MUTABLE_PAIR = 17
+    private const val STRICT_PAIR = 18
+    private const val STRICT_MUTABLE_PAIR = 19
+    private const val TRIPLE = 20
+    private const val MUTABLE_TRIPLE = 21
+    private const val STRICT_TRIPLE = 22
+    private const val STRICT_MUTABLE_TRIPLE = 23
+    private const val QUADRUPLE = 24
+    private const val MUTABLE_QUADRUPLE = 25
+    private const val STRICT_QUADRUPLE = 26
+    private const val STRICT_MUTABLE_QUADRUPLE = 27
+    private const val REGISTERED = 32
+
+    private val LOOKUP = MethodHandles.lookup()
+    private val GETTER_TYPE = MethodType.methodType(Any::class.java, Any::class.java)
+    private val CONSTRUCTOR_TYPE = MethodType.methodType(Any::class.java, Array<Any?>::class.java)
+
+    private val SHARED by lazy {
+      BinarySerializer().also { serializer ->
+        ServiceLoader.load(BinaryCodecProvider::class.java).forEach { it.provide(serializer) }
+      }
+    }
+
+    /**
+     * 全局共享的序列化器，首次使用时加载通过ServiceLoader声明的[BinaryCodecProvider]，[cn.labzen.tool.util.Bytes.serialize]
+     * 使用的也是这个实例
+     */
+    @JvmStatic
+    fun shared(): BinarySerializer = SHARED
+
+    private fun capacityOf(count: Int): Int =
+      if (count < 3) count + 1 else (count / 0.75f + 1).toInt()
+  }
+}
@@ -0,0 +1,58 @@
+package cn.labzen.tool.definition
+
+import cn.labzen.tool.util.Base58Codec
+import cn.labzen.tool.util.Base64Codec
+import cn.labzen.tool.util.RadixCodec
+import cn.labzen.tool.util.TextCodec
+
+/**
+ * 字节数组的文本编码方式，配合[cn.labzen.tool.util.Bytes.encode]、[cn.labzen.tool.util.Bytes.decode]等使用
+ *
+ * > 解码时末尾补位的'='可有可无
+ */
+@Suppress("unused")
+enum class ByteEncodings(internal val codec: TextCodec) {
+
+  /**
+   * RFC 4648标准的Base64，编码时补位
+   */
+  BASE64(Base64Codec.standard()),
+
+  /**
+   * RFC 4648 URL与文件名安全的Base64（'-'、'_'代替'+'、'/'），编码时不补位
+   */
+  BASE64_URL(Base64Codec.urlSafe()),
+
+  /**
+   * RFC 4648标准的Base32，编码时补位
+   */
+  BASE32(RadixCodec("ABCDEFGHIJKLMNOPQRSTUVWXYZ234567", 5, true)),
+
+  /**
+   * Crockford的Base32，去掉了易混淆的I、L、O、U，编码时不补位；解码时不区分大小写，O视为0，I、L视为1
+   */
+  BASE32_CROCKFORD(
+    RadixCodec(
+      "0123456789ABCDEFGHJKMNPQRSTVWXYZ", 5, false, true,
+      mapOf('O' to 0, 'o' to 0, 'I' to 1, 'i' to 1, 'L' to 1, 'l' to 1)
+    )
+  ),
+
+  /**
+   * 比特币字母表的Base58，不含0、O、I、l，也没有符号，适用于令牌、地址等较短的数据；不支持流式编解码，
+   * 因此没有出现在[StreamingByteEncodings]中
+   */
+  BASE58(Base58Codec);
+
+  /**
+   * [length]个字节编码后的最大字符数
+   */
+  fun maxEncodedLength(length: Int): Int =
+    codec.maxEncodedLength(length)
+
+  /**
+   * [length]个字符解码后的最大字节数
+   */
+  fun maxDecodedLength(length: Int): Int =
+    codec.maxDecodedLength(length)
+}
@@ -0,0 +1,25 @@
+package cn.labzen.tool.definition
+
+import cn.labzen.tool.util.StreamingTextCodec
+
+/**
+ * 支持流式编解码的字节文本编码方式，配合[cn.labzen.tool.util.Bytes.encodingStream]、
+ * [cn.labzen.tool.util.Bytes.decodingStream]使用
+ *
+ * > 流式编解码按组分段处理，内存占用固定。[ByteEncodings.BASE58]需要对整个数据做进制转换，无法分段，因此不在其中
+ *
+ * @property encoding ByteEncodings 对应的编码方式，流式编码的结果与其整体编码的结果相同
+ */
+@Suppress("unused")
+enum class StreamingByteEncodings(val encoding: ByteEncodings) {
+
+  BASE64(ByteEncodings.BASE64),
+
+  BASE64_URL(ByteEncodings.BASE64_URL),
+
+  BASE32(ByteEncodings.BASE32),
+
+  BASE32_CROCKFORD(ByteEncodings.BASE32_CROCKFORD);
+
+  internal val codec = encoding.codec as StreamingTextCodec
+}
@@ -102,3 +102,15 @@ class MultiTryAllFailureException : LabzenRuntimeException {
   constructor(cause: Throwable, message: String) : super(cause, message)
   constructor(cause: Throwable, message: String, vararg arguments: Any?) : super(cause, message, *arguments)
 }
+
+/**
+ * 二进制编解码异常
+ */
+class CodecException : LabzenRuntimeException {
+
+  constructor(message: String) : super(message)
+  constructor(message: String, vararg arguments: Any?) : super(message, *arguments)
+  constructor(cause: Throwable) : super(cause)
+  constructor(cause: Throwable, message: String) : super(cause, message)
+  constructor(cause: Throwable, message: String, vararg arguments: Any?) : super(cause, message, *arguments)
+}
@@ -0,0 +1,73 @@
+@file:Suppress("unused")
+
+package cn.labzen.tool.feature
+
+import cn.labzen.tool.definition.Constants.Companion.PATTERN_OF_DATE_TIME
+import java.time.Instant
+import java.time.LocalDateTime
+import java.time.ZoneId
+import java.time.format.DateTimeFormatter
+
+/**
+ * 基于[SystemClock]的当前时间字符串缓存，适用于访问日志等高频格式化当前时间的场景
+ *
+ * > yyyy-MM-dd HH:mm:ss 格式的字符串每秒只渲染一次（由该秒内的第一次读取触发），同一秒内的读取只是读取一个volatile引用，
+ * > 不创建任何对象；带毫秒的格式只在毫秒变化时，在已渲染的秒级字符串后补上毫秒部分
+ *
+ * > 时间精度与[SystemClock.precision]一致，使用系统默认时区
+ */
+object CachedClockFormatter {
+
+  private const val SECOND_LENGTH = 19
+  private const val MILLIS_LENGTH = 23
+
+  private val formatter = DateTimeFormatter.ofPattern(PATTERN_OF_DATE_TIME)
+
+  private class Rendered(val epoch: Long, val text: String, val chars: CharArray?)
+
+  @Volatile
+  private var second = Rendered(Long.MIN_VALUE, "", null)
+
+  @Volatile
+  private var millis = Rendered(Long.MIN_VALUE, "", null)
+
+  /**
+   * 当前时间字符串，格式：yyyy-MM-dd HH:mm:ss
+   */
+  @JvmStatic
+  fun now(): String =
+    secondOf(SystemClock.now()).text
+
+  /**
+   * 当前时间字符串，格式：yyyy-MM-dd HH:mm:ss.SSS
+   */
+  @JvmStatic
+  fun nowWithMillis(): String {
+    val now = SystemClock.now()
+    val cached = millis
+    if (cached.epoch == now) {
+      return cached.text
+    }
+
+    val chars = secondOf(now).chars!!.copyOf()
+    val ms = Math.floorMod(now, 1000L).toInt()
+    chars[SECOND_LENGTH + 1] = '0' + ms / 100
+    chars[SECOND_LENGTH + 2] = '0' + ms / 10 % 10
+    chars[SECOND_LENGTH + 3] = '0' + ms % 10
+    return Rendered(now, String(chars), null).also { millis = it }.text
+  }
+
+  private fun secondOf(now: Long): Rendered {
+    val epochSecond = Math.floorDiv(now, 1000L)
+    val cached = second
+    if (cached.epoch == epochSecond) {
+      return cached
+    }
+
+    val text = LocalDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), ZoneId.systemDefault()).format(formatter)
+    val chars = CharArray(MILLIS_LENGTH)
+    text.toCharArray(chars, 0, 0, SECOND_LENGTH)
+    chars[SECOND_LENGTH] = '.'
+    return Rendered(epochSecond, text, chars).also { second = it }
+  }
+}
@@ -5,6 +5,11 @@ package cn.labzen.tool.feature
 import cn.labzen.tool.exception.ArgumentsException
 import cn.labzen.tool.kotlin.throwRuntimeIf
 import org.slf4j.LoggerFactory
+import java.time.Instant
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.atomic.LongAdder
+import java.util.function.LongSupplier
 
 /**
  * 获取基于**Snowflake**算法的ID
@@ -16,7 +21,7 @@ import org.slf4j.LoggerFactory
  *
  *  1. 1位标识，由于long基本类型在Java中是带符号的，最高位是符号位，正数是0，负数是1，所以id一般是正数，最高位是0
  *  2. 41位时间截(毫秒级)，注意，41位时间截不是存储当前时间的时间截，而是存储时间截的差值（当前时间截 - 开始时间截) 得到的值，
- *      这里的的开始时间截，一般是我们的id生成器开始使用的时间，由我们程序来指定的（如下下面程序 BASELINE 常量）。
+ *      这里的的开始时间截，一般是我们的id生成器开始使用的时间，由我们程序来指定的（见 [SnowflakeLayout.epoch]）。
  *  3. 41位的时间截，可以使用69年，年T = (1L << 41) / (1000L * 60 * 60 * 24 * 365) = 69
  *  4. 10位的数据机器位，可以部署在1024个节点，包括5位dataCenterId和5位workerId
  *  5. 12位序列，毫秒内的计数，12位的计数顺序号支持每个节点每毫秒(同一机器，同一时间截)产生4096个ID序号
@@ -25,147 +30,461 @@ import org.slf4j.LoggerFactory
  *
  * SnowFlake的优点是，整体上按照时间自增排序，并且整个分布式系统内不会产生ID碰撞(由数据中心ID和机器ID作区分)，并且效率较高，经测试，SnowFlake每秒能够产生26万ID左右。
  *
- * @param dataCenterId Int 数据中心id，取值 0 - 31
- * @param workerId Int 工作组id，取值 0 - 31
+ * > 默认使用同步锁（[Synchronized]）保证线程安全；高并发场景下可开启无锁模式（[lockFree] = true），
+ * > 此时将上次生成ID的时间截与毫秒内序列打包进同一个[AtomicLong]中，通过CAS推进，避免大量线程等待同一个监视器。
+ * > 两种模式生成的ID结构及时钟回退的处理方式完全一致
+ *
+ * > 以上为默认的ID结构（[SnowflakeLayout.DEFAULT]），可通过[SnowflakeLayout.builder]自定义起始标记点、时间截单位及各部分位数
+ *
+ * > 系统时钟回退时的处理方式由[SnowflakeRollbackPolicy]决定，默认等待恢复（[SnowflakeRollbackPolicy.WAIT]），
+ * > 对延迟敏感的场景可使用借用逻辑时钟的方式（[SnowflakeRollbackPolicy.borrow]），回退期间不会阻塞调用方
+ *
+ * @param dataCenterId Int 数据中心id，默认取值 0 - 31
+ * @param workerId Int 工作组id，默认取值 0 - 31
+ * @param lockFree Boolean 是否使用无锁（CAS）模式，默认false
+ * @param layout SnowflakeLayout ID的位结构，默认[SnowflakeLayout.DEFAULT]
+ * @param rollbackPolicy SnowflakeRollbackPolicy 时钟回退的处理策略，默认[SnowflakeRollbackPolicy.WAIT]
+ * @param waitStrategy SnowflakeWaitStrategy 序列用尽后等待下一个时间截单位的方式，默认[SnowflakeWaitStrategy.SPIN]
+ * @param clock LongSupplier 当前时间（毫秒）的来源，仅供测试模拟时钟回退，默认[SystemClock.now]
  * @author [Dean Zhao](mailto:rcarlosdasilva@qq.com)
  */
-class Snowflake constructor(dataCenterId: Long, workerId: Long) {
+class Snowflake internal constructor(
+  dataCenterId: Long,
+  workerId: Long,
+  val lockFree: Boolean,
+  val layout: SnowflakeLayout,
+  val rollbackPolicy: SnowflakeRollbackPolicy,
+  val waitStrategy: SnowflakeWaitStrategy,
+  private val clock: LongSupplier
+) {
+
+  @JvmOverloads
+  constructor(
+    dataCenterId: Long,
+    workerId: Long,
+    lockFree: Boolean = false,
+    layout: SnowflakeLayout = SnowflakeLayout.DEFAULT,
+    rollbackPolicy: SnowflakeRollbackPolicy = SnowflakeRollbackPolicy.WAIT,
+    waitStrategy: SnowflakeWaitStrategy = SnowflakeWaitStrategy.SPIN
+  ) : this(dataCenterId, workerId, lockFree, layout, rollbackPolicy, waitStrategy, SYSTEM_CLOCK)
 
   private val logger = LoggerFactory.getLogger(Snowflake::class.java)
 
-  private val host: Host
+  /**
+   * 数据中心ID与工作机器ID移位后的组合
+   */
+  private val host: Long
+
+  /**
+   * 数据中心ID与备用工作机器ID移位后的组合，未配置备用工作机器ID时为-1
+   */
+  private val backupHost: Long
+
+  // 以下为从layout中预先计算好的移位与掩码，避免在生成ID时重复计算
+  private val epoch = layout.epoch
+  private val tickMillis = layout.unit.millis
+  private val sequenceBits = layout.sequenceBits
+  private val sequenceMask = layout.sequenceMask
+  private val timestampShift = layout.timestampShift
+  private val maxBorrowTicks = rollbackPolicy.maxBorrowMillis / tickMillis
+
+  /**
+   * 同步锁模式下的状态，结构同[state]
+   */
+  private var lockedState = 0L
+
+  /**
+   * 无锁模式下的状态，最高位标识是否正在使用备用工作机器ID，
+   * 其后为上次生成ID的时间截（相对于[SnowflakeLayout.epoch]），低位（[SnowflakeLayout.sequenceBits]）为序列
+   */
+  private val state = AtomicLong(0L)
+
+  /**
+   * 切换到备用工作机器ID时，原工作机器ID已使用到的时间截，物理时钟超过该值后切回
+   */
+  private val primaryResumeAt = AtomicLong(-1L)
 
   /**
-   * 毫秒内序列(0~4095)
+   * 备用工作机器ID已使用到的时间截，再次切换到备用ID时，物理时钟必须超过该值
    */
-  private var sequence = 0L
+  private val backupUsedUntil = AtomicLong(-1L)
 
   /**
-   * 上次生成ID的时间截
+   * 是否处于时钟回退期间，用于统计回退次数（每次回退只统计一次）
    */
-  private var lastTimestamp = -1L
+  private val rollingBack = AtomicBoolean(false)
+  private val rollbacks = LongAdder()
+  private val borrowedMillis = LongAdder()
 
   init {
-    (dataCenterId !in 0..MAX_DATA_CENTER_ID).throwRuntimeIf { ArgumentsException("[ID] - DataCenterId的取值超出了范围，默认0 - 31") }
-    (workerId !in 0..MAX_WORKER_ID).throwRuntimeIf { ArgumentsException("[ID] - WorkerId的取值超出了范围，默认0 - 31") }
+    (dataCenterId !in 0..layout.maxDataCenterId).throwRuntimeIf {
+      ArgumentsException("[ID] - DataCenterId的取值超出了范围：0 - ${layout.maxDataCenterId}")
+    }
+    (workerId !in 0..layout.maxWorkerId).throwRuntimeIf {
+      ArgumentsException("[ID] - WorkerId的取值超出了范围：0 - ${layout.maxWorkerId}")
+    }
+    (tick() !in 0..layout.maxTimestamp).throwRuntimeIf {
+      ArgumentsException("[ID] - 当前时间超出了ID结构可表示的时间范围：$layout")
+    }
+
+    val backupWorkerId = rollbackPolicy.backupWorkerId
+    (backupWorkerId >= 0 && (backupWorkerId > layout.maxWorkerId || backupWorkerId == workerId)).throwRuntimeIf {
+      ArgumentsException("[ID] - 备用WorkerId的取值超出了范围或与WorkerId相同：$backupWorkerId")
+    }
 
-    host = Host(dataCenterId.shl(DATA_CENTER_ID_SHIFT), workerId.shl(WORKER_ID_SHIFT))
+    val dataCenter = dataCenterId.shl(layout.dataCenterIdShift)
+    host = dataCenter or workerId.shl(layout.workerIdShift)
+    backupHost = if (backupWorkerId >= 0) dataCenter or backupWorkerId.shl(layout.workerIdShift) else -1L
 
-    logger.info("[ID] - ID序列化参数：DataCenterId: ${host.dataCenterId}, WorkerId: ${host.workerId}")
+    logger.info(
+      "[ID] - ID序列化参数：DataCenterId: $dataCenterId, WorkerId: $workerId, Layout: $layout, Rollback: $rollbackPolicy"
+    )
   }
 
   /**
-   * 阻塞到下一个毫秒，直到获得新的时间戳
+   * 当前时间截（相对于[SnowflakeLayout.epoch]，以[SnowflakeLayout.unit]计）
+   */
+  private fun tick(): Long =
+    (clock.asLong - epoch) / tickMillis
+
+  /**
+   * 按[waitStrategy]等待到下一个时间截单位，直到获得新的时间戳
    *
    * @param lastTimestamp 上次生成ID的时间截
    * @return 当前时间戳
    */
   private fun until(lastTimestamp: Long): Long {
-    var ts: Long
-    do {
-      ts = SystemClock.now()
-    } while (ts < lastTimestamp)
+    var ts = tick()
+    while (ts <= lastTimestamp) {
+      val remaining = (lastTimestamp + 1) * tickMillis + epoch - clock.asLong
+      waitStrategy.idle(maxOf(remaining, 1L) * NANOS_PER_MILLI)
+      ts = tick()
+    }
     return ts
   }
 
+  /**
+   * 时钟回退时的处理，回退不超过5毫秒（或一个时间截单位）时，等待两倍的回退时长后重新获取时间戳，否则抛出异常
+   *
+   * @param lastTimestamp 上次生成ID的时间截
+   * @param timestamp 当前（已回退的）时间戳
+   * @return 等待后重新获取的时间戳
+   */
+  private fun rollback(lastTimestamp: Long, timestamp: Long): Long {
+    // 如果当前时间小于上一次ID生成的时间戳，说明系统时钟回退过这个时候应当抛出异常
+    // 闰秒
+    val offset = (lastTimestamp - timestamp) * tickMillis
+    (offset > maxOf(MAX_ROLLBACK_MILLIS, tickMillis)).throwRuntimeIf {
+      ArgumentsException("[ID] - 时钟回退，距当前时间：$offset 毫秒")
+    }
+
+    try {
+      Thread.sleep(offset.shl(1))
+      val adjusted = tick()
+
+      (adjusted < lastTimestamp).throwRuntimeIf { ArgumentsException("[ID] - 时钟回退，距当前时间：$offset 毫秒") }
+      return adjusted
+    } catch (e: InterruptedException) {
+      throw ArgumentsException("[ID] - 时钟回退，调整等待时异常", e)
+    }
+  }
+
+  /**
+   * 发生过的时钟回退次数
+   */
+  fun rollbacks(): Long =
+    rollbacks.sum()
+
+  /**
+   * 时钟回退期间，逻辑时钟向未来借用的总时长（毫秒）
+   */
+  fun borrowedMillis(): Long =
+    borrowedMillis.sum()
+
   /**
    * 获取id
    *
    * @return id
    */
-  @Synchronized
-  fun id(): Long {
-    var timestamp = SystemClock.now()
+  fun id(): Long =
+    claim(1)
 
-    // 如果当前时间小于上一次ID生成的时间戳，说明系统时钟回退过这个时候应当抛出异常
-    // 闰秒
-    if (timestamp < lastTimestamp) {
-      val offset = lastTimestamp - timestamp
-      (offset > 5).throwRuntimeIf { ArgumentsException("[ID] - 时钟回退，距当前时间：$offset 毫秒") }
+  /**
+   * 批量获取id，按时间截单位内的序列整段申领，每段只读取一次时钟，当前单位的序列用尽后滚动到下一单位继续申领
+   *
+   * @param count 需要的id数量
+   * @return 有序递增的id数组
+   */
+  fun ids(count: Int): LongArray {
+    (count < 0).throwRuntimeIf { ArgumentsException("[ID] - 批量获取的数量不能为负数：$count") }
+
+    val ids = LongArray(count)
+    var filled = 0
+    while (filled < count) {
+      val first = claim(count - filled)
+      val size = sizeOfBlock(first, count - filled)
+      for (i in 0 until size) {
+        ids[filled + i] = first + i
+      }
+      filled += size
+    }
+    return ids
+  }
+
+  /**
+   * 预留一批id，与[ids]相同按整段申领，但不展开为数组，而是返回一个可逐个取出id的[Reservation]
+   *
+   * @param count 需要预留的id数量
+   * @return 预留的id段
+   */
+  fun reserve(count: Int): Reservation {
+    (count < 0).throwRuntimeIf { ArgumentsException("[ID] - 预留的数量不能为负数：$count") }
+
+    val firsts = mutableListOf<Long>()
+    val sizes = mutableListOf<Int>()
+    var reserved = 0
+    while (reserved < count) {
+      val first = claim(count - reserved)
+      val size = sizeOfBlock(first, count - reserved)
+      firsts.add(first)
+      sizes.add(size)
+      reserved += size
+    }
+    return Reservation(firsts.toLongArray(), sizes.toIntArray(), count)
+  }
+
+  /**
+   * 从序列中申领最多[count]个连续的序号（同一时间截单位内），只读取一次时钟
+   *
+   * @param count 期望申领的数量
+   * @return 申领到的第一个id，同一段内的id连续递增，段长度见[sizeOfBlock]
+   */
+  private fun claim(count: Int): Long {
+    if (!lockFree) return synchronizedClaim(count)
 
-      try {
-        Thread.sleep(offset.shl(1))
-        timestamp = SystemClock.now()
+    while (true) {
+      val current = state.get()
+      val now = tick()
+      val first = advance(current, now)
 
-        (timestamp < lastTimestamp).throwRuntimeIf { ArgumentsException("[ID] - 时钟回退，距当前时间：$offset 毫秒") }
-      } catch (e: InterruptedException) {
-        throw ArgumentsException("[ID] - 时钟回退，调整等待时异常", e)
+      // CAS失败说明其他线程已推进了状态，基于最新的状态重试
+      if (state.compareAndSet(current, first + sizeOfBlock(first, count) - 1)) {
+        return compose(current, first, now)
       }
     }
+  }
+
+  @Synchronized
+  private fun synchronizedClaim(count: Int): Long {
+    val current = lockedState
+    val now = tick()
+    val first = advance(current, now)
+
+    lockedState = first + sizeOfBlock(first, count) - 1
+    return compose(current, first, now)
+  }
+
+  /**
+   * 根据当前状态与当前时间截，计算本次申领的起始状态（同[state]的结构）
+   *
+   * @param current 当前状态
+   * @param now 当前时间截
+   * @return 本次申领的起始状态
+   */
+  private fun advance(current: Long, now: Long): Long {
+    val backup = current and BACKUP_FLAG
+    val last = (current and STATE_MASK).ushr(sequenceBits)
+
+    // 正在使用备用工作机器ID，物理时钟已追上原工作机器ID的进度，切回原ID
+    if (backup != 0L && now > primaryResumeAt.get()) {
+      backupUsedUntil.accumulateAndGet(last, ::maxOf)
+      return now.shl(sequenceBits)
+    }
+
+    // 时间戳改变，序列重置
+    if (now > last) {
+      if (rollingBack.get()) rollingBack.set(false)
+      return backup or now.shl(sequenceBits)
+    }
 
     // $NON-NLS-解决跨毫秒生成ID序列号始终为偶数的缺陷$
-    // 如果是同一时间生成的，则进行毫秒内序列
-    sequence = if (lastTimestamp == timestamp) {
-      sequence = (sequence + 1) and SEQUENCE_MASK
-      // 毫秒内序列溢出
-      if (sequence == 0L)
-        until(lastTimestamp) // 阻塞到下一个毫秒,获得新的时间戳
-      else sequence
-    } else 0L // 时间戳改变，毫秒内序列重置
-
-    // 上次生成ID的时间截
-    lastTimestamp = timestamp
+    // 如果是同一时间生成的，则进行时间截单位内序列，序列溢出时，阻塞到下一个时间截单位，序列从0开始
+    if (now == last) {
+      return if ((current and sequenceMask) != sequenceMask) current + 1 else backup or until(last).shl(sequenceBits)
+    }
+
+    if (rollingBack.compareAndSet(false, true)) {
+      rollbacks.increment()
+    }
+    return if (rollbackPolicy.borrowing) borrow(current, last, now) else advance(current, rollback(last, now))
+  }
+
+  /**
+   * 时钟回退时，借用逻辑时钟（沿用上次的时间截）继续申领
+   */
+  private fun borrow(current: Long, last: Long, now: Long): Long {
+    val backup = current and BACKUP_FLAG
+    val offset = last - now
+
+    if (offset <= maxBorrowTicks) {
+      return when {
+        (current and sequenceMask) != sequenceMask -> current + 1
+        // 序列溢出，直接借用下一个时间截单位
+        offset < maxBorrowTicks -> backup or (last + 1).shl(sequenceBits)
+        // 借用额度已用尽，只能等待物理时钟
+        else -> backup or until(last).shl(sequenceBits)
+      }
+    }
+
+    // 长时间回退，切换到备用工作机器ID，按物理时钟继续
+    if (backup == 0L && backupHost >= 0 && now > backupUsedUntil.get()) {
+      primaryResumeAt.accumulateAndGet(last, ::maxOf)
+      return BACKUP_FLAG or now.shl(sequenceBits)
+    }
+
+    throw ArgumentsException("[ID] - 时钟回退，距当前时间：${offset * tickMillis} 毫秒")
+  }
+
+  /**
+   * 将申领的起始状态组合为ID，并统计借用的时长
+   *
+   * @param current 申领前的状态
+   * @param first 申领的起始状态
+   * @param now 申领时的物理时间截
+   */
+  private fun compose(current: Long, first: Long, now: Long): Long {
+    val timestamp = (first and STATE_MASK).ushr(sequenceBits)
+    val last = (current and STATE_MASK).ushr(sequenceBits)
+    // 只有借用策略在额度内跨入下一个时间截单位时，才是向未来借用
+    if (timestamp > last && now < last && rollbackPolicy.borrowing && last - now < maxBorrowTicks) {
+      borrowedMillis.add((timestamp - last) * tickMillis)
+    }
 
     // 移位并通过或运算拼到一起组成64位的ID
-    return (timestamp - BASELINE).shl(TIMESTAMP_LEFT_SHIFT) or host.dataCenterId or host.workerId or sequence
+    return timestamp.shl(timestampShift) or (if (first < 0) backupHost else host) or (first and sequenceMask)
   }
 
   /**
-   * @property dataCenterId dataCenterId - 数据中心ID(0~31)
-   * @property workerId workerId - 工作机器ID(0~31)
+   * 计算从[first]（id或状态，只取低位的序列）开始，同一时间截单位内能申领的数量
    */
-  internal data class Host(val dataCenterId: Long, val workerId: Long)
+  private fun sizeOfBlock(first: Long, count: Int): Int =
+    minOf(count.toLong(), sequenceMask - (first and sequenceMask) + 1).toInt()
 
-  companion object {
-    /**
-     * 时间起始标记点（2015年1月1日0时0分0秒），作为基准，一般取系统的最近时间（一旦确定不能变动）
-     */
-    private const val BASELINE = 1420041600000L
+  /**
+   * 预留的一批id，由若干段（同一时间截单位内连续的）id组成，逐个取出时无需再访问[Snowflake]，非线程安全
+   *
+   * @property size 预留的id总数
+   */
+  class Reservation internal constructor(
+    private val firsts: LongArray,
+    private val sizes: IntArray,
+    val size: Int
+  ) : LongIterator() {
 
-    /**
-     * 机器id所占的位数
-     */
-    private const val WORKER_ID_BITS = 5
+    private var block = 0
+    private var offset = 0
+    private var taken = 0
 
     /**
-     * 数据标识id所占的位数
+     * 剩余可取出的id数量
      */
-    private const val DATA_CENTER_ID_BITS = 5
+    fun remaining(): Int = size - taken
 
-    /**
-     * 支持的最大机器id，结果是31 (这个移位算法可以很快的计算出几位二进制数所能表示的最大十进制数)
-     */
-    private const val MAX_WORKER_ID = (-1L).shl(WORKER_ID_BITS).inv()
+    override fun hasNext(): Boolean = taken < size
 
-    /**
-     * 支持的最大数据标识id，结果是31
-     */
-    private const val MAX_DATA_CENTER_ID = (-1L).shl(DATA_CENTER_ID_BITS).inv()
+    override fun nextLong(): Long {
+      if (taken >= size) throw NoSuchElementException("[ID] - 预留的id已全部取出")
+
+      val id = firsts[block] + offset
+      taken++
+      if (++offset == sizes[block]) {
+        block++
+        offset = 0
+      }
+      return id
+    }
+  }
+
+  /**
+   * 解析后的ID，各部分均为基本类型，不额外创建其他对象
+   *
+   * @property id 原始ID
+   * @property timestamp 生成时间（毫秒）
+   * @property dataCenterId 数据中心ID
+   * @property workerId 工作机器ID
+   * @property sequence 序列
+   */
+  data class Decoded(
+    val id: Long,
+    val timestamp: Long,
+    val dataCenterId: Long,
+    val workerId: Long,
+    val sequence: Long
+  ) {
+
+    fun instant(): Instant = Instant.ofEpochMilli(timestamp)
+  }
+
+  companion object {
 
     /**
-     * 序列在id中占的位数
+     * 解析ID，得到生成时间、数据中心ID、工作机器ID及序列。只需要其中某一部分时，
+     * 可直接使用[SnowflakeLayout.timestampOf]等方法，无需创建任何对象
+     *
+     * @param id Long ID
+     * @param layout SnowflakeLayout ID的位结构，默认[SnowflakeLayout.DEFAULT]
+     * @return Decoded 解析结果
      */
-    private const val SEQUENCE_BITS = 12
+    @JvmStatic
+    @JvmOverloads
+    fun decode(id: Long, layout: SnowflakeLayout = SnowflakeLayout.DEFAULT): Decoded =
+      Decoded(id, layout.timestampOf(id), layout.dataCenterIdOf(id), layout.workerIdOf(id), layout.sequenceOf(id))
 
     /**
-     * 机器ID向左移12位
+     * 指定时间（所在的时间截单位）可能生成的最小ID，可用于按时间范围查询或分区裁剪
+     *
+     * @param instant Instant 时间
+     * @param layout SnowflakeLayout ID的位结构，默认[SnowflakeLayout.DEFAULT]
+     * @return Long 最小ID
      */
-    private const val WORKER_ID_SHIFT = SEQUENCE_BITS
+    @JvmStatic
+    @JvmOverloads
+    fun minIdAt(instant: Instant, layout: SnowflakeLayout = SnowflakeLayout.DEFAULT): Long =
+      tickAt(instant, layout).shl(layout.timestampShift)
 
     /**
-     * 数据标识id向左移17位(12+5)
+     * 指定时间（所在的时间截单位）可能生成的最大ID，可用于按时间范围查询或分区裁剪
+     *
+     * @param instant Instant 时间
+     * @param layout SnowflakeLayout ID的位结构，默认[SnowflakeLayout.DEFAULT]
+     * @return Long 最大ID
      */
-    private const val DATA_CENTER_ID_SHIFT = SEQUENCE_BITS + WORKER_ID_BITS
+    @JvmStatic
+    @JvmOverloads
+    fun maxIdAt(instant: Instant, layout: SnowflakeLayout = SnowflakeLayout.DEFAULT): Long =
+      tickAt(instant, layout).shl(layout.timestampShift) or (-1L).shl(layout.timestampShift).inv()
+
+    private fun tickAt(instant: Instant, layout: SnowflakeLayout): Long {
+      val millis = instant.toEpochMilli()
+      (millis < layout.epoch).throwRuntimeIf { ArgumentsException("[ID] - 时间早于ID结构的起始标记点：$instant") }
+
+      val tick = layout.tickOf(millis)
+      (tick > layout.maxTimestamp).throwRuntimeIf { ArgumentsException("[ID] - 时间超出了ID结构可表示的范围：$instant") }
+      return tick
+    }
+
+    private val SYSTEM_CLOCK = LongSupplier { SystemClock.now() }
 
     /**
-     * 时间截向左移22位(5+5+12)
+     * 可等待恢复的最大时钟回退时长（毫秒）
      */
-    private const val TIMESTAMP_LEFT_SHIFT = SEQUENCE_BITS + WORKER_ID_BITS + DATA_CENTER_ID_BITS
+    private const val MAX_ROLLBACK_MILLIS = 5L
+    private const val NANOS_PER_MILLI = 1_000_000L
 
     /**
-     * 生成序列的掩码，这里为4095 (0b111111111111=0xfff=4095)
+     * 状态中标识正在使用备用工作机器ID的位（最高位），时间截与序列最多占63位，不会与之冲突
      */
-    private const val SEQUENCE_MASK = (-1L).shl(SEQUENCE_BITS).inv()
+    private const val BACKUP_FLAG = Long.MIN_VALUE
+    private const val STATE_MASK = Long.MAX_VALUE
   }
-
 }
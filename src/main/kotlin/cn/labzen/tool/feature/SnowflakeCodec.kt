@@ -0,0 +1,168 @@
+@file:Suppress("unused")
+
+package cn.labzen.tool.feature
+
+import cn.labzen.tool.exception.ArgumentsException
+import cn.labzen.tool.kotlin.throwRuntimeIf
+
+/**
+ * [Snowflake] ID的定长字符串编码，编码结果按字符串（字典序）排序与按ID数值排序一致，适合作为有序的键使用
+ *
+ * - Base32：使用Crockford字母表（不含I、L、O、U），固定13位，解码时不区分大小写
+ * - Base62：使用按ASCII排序的字母表（0-9A-Za-z），固定11位，区分大小写
+ *
+ * > 编码均为左侧补'0'的定长结果，不使用String.format；需要避免创建字符串时，可使用写入CharArray的重载
+ */
+object SnowflakeCodec {
+
+  /**
+   * Base32编码后的固定长度
+   */
+  const val BASE32_LENGTH = 13
+
+  /**
+   * Base62编码后的固定长度
+   */
+  const val BASE62_LENGTH = 11
+
+  private val BASE32_ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray()
+  private val BASE62_ALPHABET = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz".toCharArray()
+
+  private val BASE32_DIGITS = ByteArray(128) { -1 }.also { digits ->
+    BASE32_ALPHABET.forEachIndexed { i, c ->
+      digits[c.code] = i.toByte()
+      digits[c.lowercaseChar().code] = i.toByte()
+    }
+    // Crockford约定：易混淆的字符按其形似的数字解码
+    digits['O'.code] = 0
+    digits['o'.code] = 0
+    digits['I'.code] = 1
+    digits['i'.code] = 1
+    digits['L'.code] = 1
+    digits['l'.code] = 1
+  }
+
+  private val BASE62_DIGITS = ByteArray(128) { -1 }.also { digits ->
+    BASE62_ALPHABET.forEachIndexed { i, c -> digits[c.code] = i.toByte() }
+  }
+
+  /**
+   * 将ID编码为13位的Base32字符串
+   *
+   * @param id Long ID，不能为负数
+   * @return String
+   */
+  @JvmStatic
+  fun toBase32(id: Long): String {
+    val chars = CharArray(BASE32_LENGTH)
+    encodeBase32(id, chars, 0)
+    return String(chars)
+  }
+
+  /**
+   * 将ID编码为Base32，写入到[dest]的[offset]位置起的13个字符中
+   *
+   * @param id Long ID，不能为负数
+   * @param dest CharArray 目标数组
+   * @param offset Int 写入的起始位置
+   */
+  @JvmStatic
+  fun encodeBase32(id: Long, dest: CharArray, offset: Int) {
+    checkEncoding(id, dest, offset, BASE32_LENGTH)
+    var value = id
+    for (i in offset + BASE32_LENGTH - 1 downTo offset) {
+      dest[i] = BASE32_ALPHABET[(value and 31).toInt()]
+      value = value ushr 5
+    }
+  }
+
+  /**
+   * 解码13位的Base32字符串
+   *
+   * @param text CharSequence Base32字符串
+   * @return Long ID
+   */
+  @JvmStatic
+  fun fromBase32(text: CharSequence): Long {
+    (text.length != BASE32_LENGTH).throwRuntimeIf {
+      ArgumentsException("[ID] - Base32编码的ID长度必须为$BASE32_LENGTH：$text")
+    }
+    // 13位可表示65位，最高位字符不能超过7，否则超出了Long的正数范围
+    (digitOf(BASE32_DIGITS, text, 0) > 7).throwRuntimeIf {
+      ArgumentsException("[ID] - Base32编码的ID超出了范围：$text")
+    }
+
+    var value = 0L
+    for (i in 0 until BASE32_LENGTH) {
+      value = value shl 5 or digitOf(BASE32_DIGITS, text, i).toLong()
+    }
+    return value
+  }
+
+  /**
+   * 将ID编码为11位的Base62字符串
+   *
+   * @param id Long ID，不能为负数
+   * @return String
+   */
+  @JvmStatic
+  fun toBase62(id: Long): String {
+    val chars = CharArray(BASE62_LENGTH)
+    encodeBase62(id, chars, 0)
+    return String(chars)
+  }
+
+  /**
+   * 将ID编码为Base62，写入到[dest]的[offset]位置起的11个字符中
+   *
+   * @param id Long ID，不能为负数
+   * @param dest CharArray 目标数组
+   * @param offset Int 写入的起始位置
+   */
+  @JvmStatic
+  fun encodeBase62(id: Long, dest: CharArray, offset: Int) {
+    checkEncoding(id, dest, offset, BASE62_LENGTH)
+    var value = id
+    for (i in offset + BASE62_LENGTH - 1 downTo offset) {
+      dest[i] = BASE62_ALPHABET[(value % 62).toInt()]
+      value /= 62
+    }
+  }
+
+  /**
+   * 解码11位的Base62字符串
+   *
+   * @param text CharSequence Base62字符串
+   * @return Long ID
+   */
+  @JvmStatic
+  fun fromBase62(text: CharSequence): Long {
+    (text.length != BASE62_LENGTH).throwRuntimeIf {
+      ArgumentsException("[ID] - Base62编码的ID长度必须为$BASE62_LENGTH：$text")
+    }
+
+    var value = 0L
+    for (i in 0 until BASE62_LENGTH) {
+      val digit = digitOf(BASE62_DIGITS, text, i)
+      (value > (Long.MAX_VALUE - digit) / 62).throwRuntimeIf {
+        ArgumentsException("[ID] - Base62编码的ID超出了范围：$text")
+      }
+      value = value * 62 + digit
+    }
+    return value
+  }
+
+  private fun checkEncoding(id: Long, dest: CharArray, offset: Int, length: Int) {
+    (id < 0).throwRuntimeIf { ArgumentsException("[ID] - 不能编码负数的ID：$id") }
+    (offset < 0 || offset > dest.size - length).throwRuntimeIf {
+      ArgumentsException("[ID] - 目标数组从位置 $offset 起不足 $length 个字符")
+    }
+  }
+
+  private fun digitOf(digits: ByteArray, text: CharSequence, index: Int): Int {
+    val c = text[index]
+    val digit = if (c.code < 128) digits[c.code].toInt() else -1
+    (digit < 0).throwRuntimeIf { ArgumentsException("[ID] - 无效的字符 '$c'：$text") }
+    return digit
+  }
+}
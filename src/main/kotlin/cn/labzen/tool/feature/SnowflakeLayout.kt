@@ -0,0 +1,179 @@
+@file:Suppress("unused")
+
+package cn.labzen.tool.feature
+
+import cn.labzen.tool.exception.ArgumentsException
+import cn.labzen.tool.kotlin.throwRuntimeIf
+import java.time.Instant
+
+/**
+ * [Snowflake] ID的位结构定义，包括时间起始标记点（epoch）、时间截单位，以及时间截、数据中心ID、工作机器ID、序列各自所占的位数
+ *
+ * > 除去最高位的符号位，各部分位数之和必须刚好为63位。构建时即计算好各部分的移位与掩码，生成ID时不再重复计算
+ *
+ * ```java
+ * SnowflakeLayout layout = SnowflakeLayout.builder()
+ *                                         .epoch(Instant.parse("2024-01-01T00:00:00Z"))
+ *                                         .unit(SnowflakeLayout.TickUnit.TEN_MILLISECONDS)
+ *                                         .timestampBits(39)
+ *                                         .dataCenterIdBits(3)
+ *                                         .workerIdBits(7)
+ *                                         .sequenceBits(14)
+ *                                         .build();
+ * ```
+ *
+ * @property epoch 时间起始标记点（毫秒），一旦确定不能变动
+ * @property unit 时间截单位
+ * @property timestampBits 时间截所占的位数
+ * @property dataCenterIdBits 数据标识id所占的位数
+ * @property workerIdBits 机器id所占的位数
+ * @property sequenceBits 序列在id中占的位数
+ */
+class SnowflakeLayout private constructor(
+  val epoch: Long,
+  val unit: TickUnit,
+  val timestampBits: Int,
+  val dataCenterIdBits: Int,
+  val workerIdBits: Int,
+  val sequenceBits: Int
+) {
+
+  /**
+   * 机器ID向左移的位数（默认12）
+   */
+  val workerIdShift: Int = sequenceBits
+
+  /**
+   * 数据标识id向左移的位数（默认17 = 12 + 5）
+   */
+  val dataCenterIdShift: Int = sequenceBits + workerIdBits
+
+  /**
+   * 时间截向左移的位数（默认22 = 5 + 5 + 12）
+   */
+  val timestampShift: Int = sequenceBits + workerIdBits + dataCenterIdBits
+
+  /**
+   * 支持的最大机器id (这个移位算法可以很快的计算出几位二进制数所能表示的最大十进制数)
+   */
+  val maxWorkerId: Long = (-1L).shl(workerIdBits).inv()
+
+  /**
+   * 支持的最大数据标识id
+   */
+  val maxDataCenterId: Long = (-1L).shl(dataCenterIdBits).inv()
+
+  /**
+   * 生成序列的掩码，默认为4095 (0b111111111111=0xfff=4095)
+   */
+  val sequenceMask: Long = (-1L).shl(sequenceBits).inv()
+
+  /**
+   * 支持的最大时间截（以[unit]计）
+   */
+  val maxTimestamp: Long = (-1L).shl(timestampBits).inv()
+
+  /**
+   * 将毫秒时间转换为相对于[epoch]的时间截（以[unit]计）
+   */
+  fun tickOf(millis: Long): Long =
+    (millis - epoch) / unit.millis
+
+  /**
+   * 将相对于[epoch]的时间截（以[unit]计）还原为毫秒时间
+   */
+  fun millisOf(tick: Long): Long =
+    tick * unit.millis + epoch
+
+  /**
+   * 从ID中取出时间截，并还原为毫秒时间
+   */
+  fun timestampOf(id: Long): Long =
+    millisOf(id.ushr(timestampShift))
+
+  /**
+   * 从ID中取出数据中心ID
+   */
+  fun dataCenterIdOf(id: Long): Long =
+    id.ushr(dataCenterIdShift) and maxDataCenterId
+
+  /**
+   * 从ID中取出工作机器ID
+   */
+  fun workerIdOf(id: Long): Long =
+    id.ushr(workerIdShift) and maxWorkerId
+
+  /**
+   * 从ID中取出序列
+   */
+  fun sequenceOf(id: Long): Long =
+    id and sequenceMask
+
+  override fun toString(): String =
+    "SnowflakeLayout(epoch=$epoch, unit=$unit, " +
+        "bits=$timestampBits/$dataCenterIdBits/$workerIdBits/$sequenceBits)"
+
+  /**
+   * 时间截单位
+   */
+  enum class TickUnit(val millis: Long) {
+    MILLISECOND(1),
+    TEN_MILLISECONDS(10)
+  }
+
+  class Builder internal constructor() {
+
+    private var epoch = DEFAULT_EPOCH
+    private var unit = TickUnit.MILLISECOND
+    private var timestampBits = 41
+    private var dataCenterIdBits = 5
+    private var workerIdBits = 5
+    private var sequenceBits = 12
+
+    fun epoch(epoch: Long) = this.apply { this.epoch = epoch }
+
+    fun epoch(epoch: Instant) = this.apply { this.epoch = epoch.toEpochMilli() }
+
+    fun unit(unit: TickUnit) = this.apply { this.unit = unit }
+
+    fun timestampBits(bits: Int) = this.apply { this.timestampBits = bits }
+
+    fun dataCenterIdBits(bits: Int) = this.apply { this.dataCenterIdBits = bits }
+
+    fun workerIdBits(bits: Int) = this.apply { this.workerIdBits = bits }
+
+    fun sequenceBits(bits: Int) = this.apply { this.sequenceBits = bits }
+
+    fun build(): SnowflakeLayout {
+      (timestampBits < 1 || sequenceBits < 1 || dataCenterIdBits < 0 || workerIdBits < 0).throwRuntimeIf {
+        ArgumentsException("[ID] - 时间截与序列至少占1位，数据中心ID与工作机器ID不能为负数")
+      }
+      (timestampBits + dataCenterIdBits + workerIdBits + sequenceBits != TOTAL_BITS).throwRuntimeIf {
+        ArgumentsException(
+          "[ID] - 各部分位数之和必须为63位：$timestampBits + $dataCenterIdBits + $workerIdBits + $sequenceBits"
+        )
+      }
+
+      return SnowflakeLayout(epoch, unit, timestampBits, dataCenterIdBits, workerIdBits, sequenceBits)
+    }
+  }
+
+  companion object {
+
+    private const val TOTAL_BITS = 63
+
+    /**
+     * 时间起始标记点（2015年1月1日0时0分0秒），作为基准，一般取系统的最近时间（一旦确定不能变动）
+     */
+    private const val DEFAULT_EPOCH = 1420041600000L
+
+    /**
+     * 默认结构：毫秒级时间截，41/5/5/12
+     */
+    @JvmField
+    val DEFAULT = SnowflakeLayout(DEFAULT_EPOCH, TickUnit.MILLISECOND, 41, 5, 5, 12)
+
+    @JvmStatic
+    fun builder() = Builder()
+  }
+}
@@ -0,0 +1,56 @@
+@file:Suppress("unused")
+
+package cn.labzen.tool.feature
+
+import cn.labzen.tool.exception.ArgumentsException
+import cn.labzen.tool.kotlin.throwRuntimeIf
+
+/**
+ * [Snowflake]在系统时钟回退时的处理策略
+ *
+ * - [WAIT]（默认）：回退不超过5毫秒（或一个时间截单位）时，等待两倍的回退时长后重试，否则抛出异常。等待期间调用方会被阻塞
+ * - [borrow]：不等待，继续沿用上次生成ID的时间截作为逻辑时钟，序列用尽时直接借用下一个时间截单位（即"未来"的时间截），
+ *   借用总量不超过[maxBorrowMillis]；回退超过[maxBorrowMillis]时，如配置了备用工作机器ID（[backupWorkerId]），
+ *   则切换到备用ID继续按物理时钟生成，待物理时钟追上原进度后再切回，否则抛出异常
+ *
+ * @property borrowing 是否为借用策略
+ * @property maxBorrowMillis 允许借用（逻辑时钟领先物理时钟）的最大时长（毫秒）
+ * @property backupWorkerId 长时间回退时切换使用的备用工作机器ID，小于0表示不使用
+ */
+class SnowflakeRollbackPolicy private constructor(
+  val borrowing: Boolean,
+  val maxBorrowMillis: Long,
+  val backupWorkerId: Long
+) {
+
+  override fun toString(): String =
+    if (borrowing) "BORROW(maxBorrowMillis=$maxBorrowMillis, backupWorkerId=$backupWorkerId)" else "WAIT"
+
+  companion object {
+
+    private const val DEFAULT_MAX_BORROW_MILLIS = 1000L
+    private const val NO_BACKUP_WORKER_ID = -1L
+
+    /**
+     * 等待策略，保持原有行为
+     */
+    @JvmField
+    val WAIT = SnowflakeRollbackPolicy(false, 0, NO_BACKUP_WORKER_ID)
+
+    /**
+     * 借用策略
+     *
+     * @param maxBorrowMillis Long 允许借用的最大时长（毫秒），默认1000
+     * @param backupWorkerId Long 备用工作机器ID，默认不使用（-1）
+     */
+    @JvmStatic
+    @JvmOverloads
+    fun borrow(
+      maxBorrowMillis: Long = DEFAULT_MAX_BORROW_MILLIS,
+      backupWorkerId: Long = NO_BACKUP_WORKER_ID
+    ): SnowflakeRollbackPolicy {
+      (maxBorrowMillis < 0).throwRuntimeIf { ArgumentsException("[ID] - 允许借用的最大时长不能为负数") }
+      return SnowflakeRollbackPolicy(true, maxBorrowMillis, backupWorkerId)
+    }
+  }
+}
@@ -0,0 +1,35 @@
+@file:Suppress("unused")
+
+package cn.labzen.tool.feature
+
+import java.util.concurrent.locks.LockSupport
+
+/**
+ * [Snowflake]在时间截单位内的序列用尽后，等待下一个时间截单位到来时的等待方式
+ *
+ * - [SPIN]（默认）：忙等，配合[Thread.onSpinWait]，延迟最低，但会持续占用一个CPU核
+ * - [PARK]：通过[LockSupport.parkNanos]挂起到下一个时间截单位，几乎不占用CPU，虚拟线程在挂起期间会让出载体线程
+ *   （注意：同步锁模式下持有监视器时仍会钉住载体线程，建议配合无锁模式使用）
+ * - [YIELD]：通过[Thread.yield]让出CPU，介于两者之间
+ */
+fun interface SnowflakeWaitStrategy {
+
+  /**
+   * 等待一次，返回后调用方会重新读取时钟，如仍未进入下一个时间截单位，将再次调用
+   *
+   * @param nanos Long 距离下一个时间截单位的大致时长（纳秒）
+   */
+  fun idle(nanos: Long)
+
+  companion object {
+
+    @JvmField
+    val SPIN = SnowflakeWaitStrategy { Thread.onSpinWait() }
+
+    @JvmField
+    val PARK = SnowflakeWaitStrategy { LockSupport.parkNanos(it) }
+
+    @JvmField
+    val YIELD = SnowflakeWaitStrategy { Thread.yield() }
+  }
+}
@@ -0,0 +1,109 @@
+@file:Suppress("unused")
+
+package cn.labzen.tool.feature
+
+import cn.labzen.tool.exception.ArgumentsException
+import cn.labzen.tool.kotlin.throwRuntimeIf
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * 分条（striped）的[Snowflake]，在同一个数据中心下占用多个工作机器ID（workerId），每个workerId对应一个无锁模式的[Snowflake]
+ *
+ * > 单个[Snowflake]每毫秒最多产生4096个ID，且所有线程竞争同一份状态。本类在线程（包括虚拟线程）第一次调用时按轮询的顺序为其分配
+ * > 一个条带，之后固定使用；调用过的线程数不超过条带数时，每个线程独享一个生成器；超过时，共享同一条带的线程之间仍通过CAS保证正确性。
+ * > 各条带的workerId互不相同，因此生成的ID全局唯一，且整体上仍按时间大致有序，吞吐量随核数增长直至条带数量
+ *
+ * @param dataCenterId Long 数据中心id，默认取值 0 - 31
+ * @param workerIds Collection<Long> 本实例占用的工作组id池，每个默认取值 0 - 31，不能重复
+ * @param layout SnowflakeLayout ID的位结构，默认[SnowflakeLayout.DEFAULT]
+ */
+class StripedSnowflake @JvmOverloads constructor(
+  dataCenterId: Long,
+  workerIds: Collection<Long>,
+  layout: SnowflakeLayout = SnowflakeLayout.DEFAULT
+) {
+
+  private val stripes: Array<Snowflake>
+
+  /**
+   * 下一个被分配的条带
+   */
+  private val next = AtomicInteger()
+
+  /**
+   * 当前线程分配到的条带
+   */
+  private val assigned = ThreadLocal.withInitial { stripes[Math.floorMod(next.getAndIncrement(), stripes.size)] }
+
+  init {
+    workerIds.isEmpty().throwRuntimeIf { ArgumentsException("[ID] - 至少需要占用一个WorkerId") }
+    (workerIds.toSet().size != workerIds.size).throwRuntimeIf {
+      ArgumentsException("[ID] - WorkerId不能重复：$workerIds")
+    }
+
+    stripes = workerIds.map { Snowflake(dataCenterId, it, true, layout) }.toTypedArray()
+  }
+
+  /**
+   * 占用从[firstWorkerId]开始的连续[stripes]个workerId
+   *
+   * @param dataCenterId Long 数据中心id
+   * @param firstWorkerId Long 第一个工作组id
+   * @param stripes Int 条带数量
+   * @param layout SnowflakeLayout ID的位结构，默认[SnowflakeLayout.DEFAULT]
+   */
+  @JvmOverloads
+  constructor(
+    dataCenterId: Long,
+    firstWorkerId: Long,
+    stripes: Int,
+    layout: SnowflakeLayout = SnowflakeLayout.DEFAULT
+  ) : this(dataCenterId, (firstWorkerId until firstWorkerId + stripes).toList(), layout)
+
+  /**
+   * 占用从[firstWorkerId]开始的连续workerId，数量为可用的处理器数量（不超过剩余可用的workerId数量）
+   *
+   * @param dataCenterId Long 数据中心id，取值 0 - 31
+   * @param firstWorkerId Long 第一个工作组id，取值 0 - 31
+   */
+  constructor(dataCenterId: Long, firstWorkerId: Long) : this(
+    dataCenterId,
+    firstWorkerId,
+    minOf(
+      Runtime.getRuntime().availableProcessors().toLong(),
+      SnowflakeLayout.DEFAULT.maxWorkerId + 1 - firstWorkerId
+    ).toInt()
+  )
+
+  /**
+   * 条带（占用的workerId）数量
+   */
+  val size: Int
+    get() = stripes.size
+
+  /**
+   * 获取id
+   *
+   * @return id
+   */
+  fun id(): Long =
+    stripe().id()
+
+  /**
+   * 批量获取id，整批从当前线程对应的条带中申领，参考[Snowflake.ids]
+   */
+  fun ids(count: Int): LongArray =
+    stripe().ids(count)
+
+  /**
+   * 预留一批id，整批从当前线程对应的条带中申领，参考[Snowflake.reserve]
+   */
+  fun reserve(count: Int): Snowflake.Reservation =
+    stripe().reserve(count)
+
+  /**
+   * 线程ID并不连续（JVM内部线程、线程池、虚拟线程都会占用ID），按ID取模可能让多个线程落在同一条带上，因此显式的轮流分配
+   */
+  private fun stripe(): Snowflake =
+    assigned.get()
+}
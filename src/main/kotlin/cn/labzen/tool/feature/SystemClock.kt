@@ -1,8 +1,9 @@
 package cn.labzen.tool.feature
 
-import java.util.concurrent.ScheduledThreadPoolExecutor
 import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
 import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.locks.LockSupport
 
 /**
  * 高并发场景下System.currentTimeMillis()的性能问题的优化
@@ -17,21 +18,139 @@ import java.util.concurrent.atomic.AtomicLong
  * - 1亿：4699,29,162.0344827586207%
  * - 1000万：480,12,40.0%
  * - 100万：50,10,5.0%
+ *
+ * 自适应模式（默认开启）：连续一段时间（[IDLE_MILLIS]）内没有任何读取时，后台线程停止更新并挂起，
+ * 下一次读取时直接返回系统时间并唤醒后台线程，因此挂起期间读到的时间也不会滞后。可通过系统属性配置：
+ *
+ * - `labzen.clock.adaptive`：是否开启自适应模式，默认true
+ * - `labzen.clock.period`：更新周期（毫秒），即时钟的精度，默认1
  */
 object SystemClock {
 
-  private const val period: Long = 1
-  private val now: AtomicLong = AtomicLong(System.currentTimeMillis())
+  private const val IDLE_MILLIS = 1000L
+
+  private const val RUNNING = 0
+  private const val SLEEPING = 1
+  private const val WAKING = 2
+
+  private val period: Long = System.getProperty("labzen.clock.period")?.toLongOrNull()?.takeIf { it > 0 } ?: 1
+  private val adaptive: Boolean = System.getProperty("labzen.clock.adaptive")?.toBoolean() ?: true
+  private val idleTicks: Long = maxOf(IDLE_MILLIS / period, 1)
+
+  private val now = AtomicLong(System.currentTimeMillis())
+  private val nanos = AtomicLong(System.nanoTime())
+
+  /**
+   * 自上次检查以来是否有过读取，只在为false时才写入，避免读取方之间争抢同一缓存行
+   */
+  @Volatile
+  private var touched = true
+
+  /**
+   * 后台线程状态，不为[RUNNING]时缓存的时间不可用，读取方直接返回系统时间
+   */
+  private val state = AtomicInteger(RUNNING)
+  private val ticker: Thread
 
   init {
-    val executor = ScheduledThreadPoolExecutor(1) { r ->
-      Thread(r, "System Clock").apply { this.isDaemon = true }
+    ticker = Thread(::tick, "System Clock").apply { this.isDaemon = true }
+    ticker.start()
+  }
+
+  private fun tick() {
+    val periodNanos = TimeUnit.MILLISECONDS.toNanos(period)
+    var idle = 0L
+    while (true) {
+      now.set(System.currentTimeMillis())
+      nanos.set(System.nanoTime())
+
+      if (adaptive) {
+        if (touched) {
+          touched = false
+          idle = 0
+        } else if (++idle >= idleTicks) {
+          state.set(SLEEPING)
+          // 读取方先写touched再检查state，这里先写state再检查touched，二者至少有一方能看到对方的写入
+          if (!touched) {
+            while (state.get() == SLEEPING) {
+              LockSupport.park(this)
+            }
+          }
+          // 唤醒期间读取方拿到的是系统时间，可能晚于这里的采样，取二者中较大的值，恢复缓存后读到的时间不会倒退
+          raise(now, System.currentTimeMillis())
+          raise(nanos, System.nanoTime())
+          state.set(RUNNING)
+          idle = 0
+        }
+      }
+
+      LockSupport.parkNanos(this, periodNanos)
+    }
+  }
+
+  /**
+   * 标记有过读取；后台线程已挂起时将其唤醒
+   *
+   * @return Boolean 缓存的时间是否可用
+   */
+  private fun touch(): Boolean {
+    if (!touched) {
+      touched = true
+    }
+    val current = state.get()
+    if (current == RUNNING) {
+      return true
     }
+    if (current == SLEEPING && state.compareAndSet(SLEEPING, WAKING)) {
+      LockSupport.unpark(ticker)
+    }
+    return false
+  }
 
-    executor.scheduleAtFixedRate({ now.set(System.currentTimeMillis()) }, period, period, TimeUnit.MILLISECONDS)
+  /**
+   * 缓存的时间不可用时，返回系统时间[sample]
+   *
+   * > 返回之前先将其并入缓存，并再次确认缓存仍不可用：后台线程恢复时（设置[RUNNING]之前）缓存的值已不小于所有这样返回过的值；
+   * > 确认时缓存已恢复的，说明采样可能晚于后台线程的采样，改为返回缓存的值
+   */
+  private fun fresh(cache: AtomicLong, sample: Long): Long {
+    if (state.get() != RUNNING) {
+      raise(cache, sample)
+      if (state.get() != RUNNING) return sample
+    }
+    return cache.get()
   }
 
+  private fun raise(cache: AtomicLong, value: Long) {
+    var current = cache.get()
+    while (value > current && !cache.compareAndSet(current, value)) {
+      current = cache.get()
+    }
+  }
+
+  /**
+   * 当前时间（毫秒），与系统时间最多相差一个更新周期（[precision]）
+   */
+  @JvmStatic
+  fun now(): Long =
+    if (!adaptive || touch()) now.get() else fresh(now, System.currentTimeMillis())
+
+  /**
+   * 单调递增的当前时间（纳秒），来自System.nanoTime()，精度同样为一个更新周期，只能用于计算时间间隔
+   */
   @JvmStatic
-  fun now(): Long = now.get()
+  fun nowNanos(): Long =
+    if (!adaptive || touch()) nanos.get() else fresh(nanos, System.nanoTime())
 
+  /**
+   * 时钟的精度，即后台更新周期（毫秒）
+   */
+  @JvmStatic
+  fun precision(): Long = period
+
+  /**
+   * 是否为自适应模式
+   */
+  @JvmStatic
+  fun isAdaptive(): Boolean = adaptive
 }
@@ -0,0 +1,93 @@
+package cn.labzen.tool.util
+
+import java.io.Writer
+import java.nio.CharBuffer
+
+/**
+ * 向[Appendable]写入内容的内部工具，按目标的实际类型（StringBuilder、Writer、CharBuffer）选择不产生中间字符串的写入方式
+ *
+ * > 基本类型先写入线程内复用的缓冲区，再整段复制到目标中，避免装箱以及Integer.toString()等产生的临时字符串
+ */
+internal object Appendables {
+
+  private const val NULL_ARGUMENT = "[null]"
+
+  private class Scratch {
+    val builder = StringBuilder(32)
+    val chars = CharArray(32)
+  }
+
+  private val scratch = ThreadLocal.withInitial { Scratch() }
+
+  fun append(target: Appendable, value: String) {
+    append(target, value, 0, value.length)
+  }
+
+  fun append(target: Appendable, value: String, start: Int, end: Int) {
+    when (target) {
+      is StringBuilder -> target.append(value, start, end)
+      is Writer -> target.write(value, start, end - start)
+      is CharBuffer -> target.put(value, start, end)
+      else -> target.append(value, start, end)
+    }
+  }
+
+  fun append(target: Appendable, value: Int) {
+    if (target is StringBuilder) target.append(value) else appendScratch(target, scratchOf().append(value))
+  }
+
+  fun append(target: Appendable, value: Long) {
+    if (target is StringBuilder) target.append(value) else appendScratch(target, scratchOf().append(value))
+  }
+
+  fun append(target: Appendable, value: Double) {
+    if (target is StringBuilder) target.append(value) else appendScratch(target, scratchOf().append(value))
+  }
+
+  fun append(target: Appendable, value: Float) {
+    if (target is StringBuilder) target.append(value) else appendScratch(target, scratchOf().append(value))
+  }
+
+  fun append(target: Appendable, value: Boolean) {
+    append(target, if (value) "true" else "false")
+  }
+
+  fun append(target: Appendable, value: Char) {
+    target.append(value)
+  }
+
+  /**
+   * 写入格式化参数，null写为"[null]"，装箱的基本类型、字符串切片与CharSequence直接写入，其余类型调用toString()
+   */
+  fun appendArgument(target: Appendable, argument: Any?) {
+    when (argument) {
+      null -> append(target, NULL_ARGUMENT)
+      is String -> append(target, argument)
+      is Int -> append(target, argument)
+      is Long -> append(target, argument)
+      is Double -> append(target, argument)
+      is Float -> append(target, argument)
+      is Boolean -> append(target, argument)
+      is Char -> append(target, argument)
+      is Short -> append(target, argument.toInt())
+      is Byte -> append(target, argument.toInt())
+      is StringSlice -> append(target, argument.source(), argument.start, argument.end)
+      is CharSequence -> target.append(argument)
+      else -> append(target, argument.toString())
+    }
+  }
+
+  private fun scratchOf(): StringBuilder =
+    scratch.get().builder.apply { setLength(0) }
+
+  private fun appendScratch(target: Appendable, builder: StringBuilder) {
+    val chars = scratch.get().chars
+    val length = builder.length
+    builder.getChars(0, length, chars, 0)
+    when (target) {
+      is Writer -> target.write(chars, 0, length)
+      is CharBuffer -> target.put(chars, 0, length)
+      else -> for (i in 0 until length) target.append(chars[i])
+    }
+  }
+}
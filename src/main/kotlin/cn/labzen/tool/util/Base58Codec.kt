@@ -0,0 +1,200 @@
+package cn.labzen.tool.util
+
+import java.nio.charset.StandardCharsets
+
+/**
+ * [Bytes]中Base58（比特币字母表）编解码的实现
+ *
+ * > Base58把整个字节数组当作一个大整数做进制转换，不能像Base64那样分组处理。这里用32位的limb保存大整数，
+ * > 编码时每次除以58的5次方、解码时每次乘以58的5次方，一次处理5个字符，比逐字符的转换少做4/5的运算；
+ * > 开头的每个0字节对应一个'1'字符
+ *
+ * > 计算量随长度平方增长，适用于令牌、键等较短的数据，不支持流式编解码
+ */
+internal object Base58Codec : TextCodec {
+
+  private const val ALPHABET = "123456789ABCDEFGHJKLMNPQRSTUVWXYZabcdefghijkmnopqrstuvwxyz"
+  private const val ZERO = '1'
+  private const val INVALID: Byte = -1
+  private const val ASCII_LIMIT = 128
+
+  /**
+   * 58的5次方，小于2的31次方
+   */
+  private const val CHUNK_BASE = 656356768L
+  private const val CHUNK_DIGITS = 5
+  private val POWERS = LongArray(CHUNK_DIGITS + 1).also {
+    it[0] = 1
+    for (i in 1..CHUNK_DIGITS) it[i] = it[i - 1] * 58
+  }
+
+  private val SYMBOLS = ByteArray(ALPHABET.length) { ALPHABET[it].code.toByte() }
+  private val DIGITS = ByteArray(ASCII_LIMIT) { INVALID }.also { digits ->
+    ALPHABET.forEachIndexed { i, c -> digits[c.code] = i.toByte() }
+  }
+
+  /**
+   * log(256) / log(58) ≈ 1.366，向上取为1.38
+   */
+  override fun maxEncodedLength(length: Int): Int =
+    (length.toLong() * 138 / 100 + 1).toInt()
+
+  /**
+   * 开头的每个'1'都解码为一个0字节，最坏情况下与字符数相同
+   */
+  override fun maxDecodedLength(length: Int): Int =
+    length
+
+  // ===================================================================================================================
+
+  override fun encode(bytes: ByteArray, offset: Int, length: Int): String {
+    val ascii = ByteArray(maxEncodedLength(length))
+    val size = encode(bytes, offset, length, ascii, 0, false)
+    return String(ascii, 0, size, StandardCharsets.ISO_8859_1)
+  }
+
+  override fun encode(bytes: ByteArray, offset: Int, length: Int, target: ByteArray, targetOffset: Int): Int =
+    encode(bytes, offset, length, target, targetOffset, true)
+
+  override fun encode(bytes: ByteArray, offset: Int, length: Int, target: CharArray, targetOffset: Int): Int {
+    val ascii = ByteArray(maxEncodedLength(length))
+    val size = encode(bytes, offset, length, ascii, 0, false)
+    checkRange(target.size, targetOffset, size)
+    for (i in 0 until size) {
+      target[targetOffset + i] = ascii[i].toInt().toChar()
+    }
+    return size
+  }
+
+  /**
+   * @param exact Boolean [target]是否只需容纳实际的编码长度，为false时[target]已按[maxEncodedLength]分配
+   */
+  private fun encode(
+    bytes: ByteArray,
+    offset: Int,
+    length: Int,
+    target: ByteArray,
+    targetOffset: Int,
+    exact: Boolean
+  ): Int {
+    checkRange(bytes.size, offset, length)
+    var zeros = 0
+    while (zeros < length && bytes[offset + zeros].toInt() == 0) zeros++
+
+    // 去掉开头的0字节后，按大端序装入32位的limb
+    val significant = length - zeros
+    val limbs = IntArray((significant + 3) / 4)
+    for (i in 0 until significant) {
+      val position = significant - 1 - i
+      limbs[limbs.size - 1 - position / 4] =
+        limbs[limbs.size - 1 - position / 4] or ((bytes[offset + zeros + i].toInt() and 0xFF) shl ((position % 4) * 8))
+    }
+
+    // 反复除以58的5次方，余数依次是低位的5个字符
+    val digits = ByteArray(maxEncodedLength(significant) + CHUNK_DIGITS)
+    var count = 0
+    var head = 0
+    while (head < limbs.size) {
+      var remainder = 0L
+      for (i in head until limbs.size) {
+        val current = (remainder shl 32) or (limbs[i].toLong() and 0xFFFFFFFFL)
+        limbs[i] = (current / CHUNK_BASE).toInt()
+        remainder = current % CHUNK_BASE
+      }
+      while (head < limbs.size && limbs[head] == 0) head++
+
+      for (k in 0 until CHUNK_DIGITS) {
+        digits[count++] = (remainder % 58).toByte()
+        remainder /= 58
+      }
+    }
+    // 最高的一段可能补了多余的0
+    while (count > 0 && digits[count - 1].toInt() == 0) count--
+
+    val size = zeros + count
+    if (exact) {
+      checkRange(target.size, targetOffset, size)
+    }
+    var t = targetOffset
+    repeat(zeros) { target[t++] = ZERO.code.toByte() }
+    for (i in count - 1 downTo 0) {
+      target[t++] = SYMBOLS[digits[i].toInt()]
+    }
+    return size
+  }
+
+  // ===================================================================================================================
+
+  override fun decode(text: CharSequence): ByteArray =
+    decode(text, 0, text.length)
+
+  override fun decode(text: CharSequence, offset: Int, length: Int, target: ByteArray, targetOffset: Int): Int {
+    checkRange(text.length, offset, length)
+    val decoded = decode(text, offset, length)
+    checkRange(target.size, targetOffset, decoded.size)
+    System.arraycopy(decoded, 0, target, targetOffset, decoded.size)
+    return decoded.size
+  }
+
+  private fun decode(text: CharSequence, offset: Int, length: Int): ByteArray {
+    var zeros = 0
+    while (zeros < length && text[offset + zeros] == ZERO) zeros++
+
+    // 大端序的32位limb，每次乘以58的k次方再加上k个字符的值；log(58) / log(256) ≈ 0.732，按0.733估算字节数
+    val limbs = IntArray(((length - zeros).toLong() * 733 / 1000 + 4).toInt() / 4 + 1)
+    var head = limbs.size - 1
+    var i = offset + zeros
+    val end = offset + length
+    while (i < end) {
+      val n = minOf(CHUNK_DIGITS, end - i)
+      var value = 0L
+      for (k in 0 until n) {
+        value = value * 58 + digit(text, i + k)
+      }
+      i += n
+
+      var carry = value
+      val multiplier = POWERS[n]
+      for (j in limbs.size - 1 downTo head) {
+        val current = (limbs[j].toLong() and 0xFFFFFFFFL) * multiplier + carry
+        limbs[j] = current.toInt()
+        carry = current ushr 32
+      }
+      while (carry != 0L) {
+        limbs[--head] = carry.toInt()
+        carry = carry ushr 32
+      }
+    }
+
+    // 跳过最高limb中的0字节，开头的每个'1'对应一个0字节
+    var skip = 0
+    while (skip < 4 && (limbs[head] ushr (24 - skip * 8)) and 0xFF == 0) skip++
+    val significant = if (head == limbs.size - 1 && skip == 4) 0 else (limbs.size - head) * 4 - skip
+    val decoded = ByteArray(zeros + significant)
+    var t = decoded.size - 1
+    var j = limbs.size - 1
+    while (t >= zeros) {
+      val limb = limbs[j--]
+      for (k in 0 until 4) {
+        if (t < zeros) break
+        decoded[t--] = (limb ushr (k * 8)).toByte()
+      }
+    }
+    return decoded
+  }
+
+  private fun digit(text: CharSequence, index: Int): Int {
+    val c = text[index]
+    val d = if (c.code < ASCII_LIMIT) DIGITS[c.code].toInt() else -1
+    if (d < 0) {
+      throw IllegalArgumentException("非法的Base58字符 '$c'，位置：$index")
+    }
+    return d
+  }
+
+  private fun checkRange(size: Int, offset: Int, length: Int) {
+    if (offset < 0 || length < 0 || offset > size - length) {
+      throw IndexOutOfBoundsException("size: $size, offset: $offset, length: $length")
+    }
+  }
+}
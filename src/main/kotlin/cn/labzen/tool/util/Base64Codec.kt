@@ -0,0 +1,36 @@
+package cn.labzen.tool.util
+
+import java.util.Base64
+
+/**
+ * [Bytes]中Base64编解码的实现，整个数组与字符串之间的转换交给[java.util.Base64]，JVM对其有内建的向量化实现（intrinsic），
+ * 比查表快数倍；带偏移量、写入调用方缓冲区以及流式的编解码由[RadixCodec]完成
+ *
+ * > [java.util.Base64]的解码器同样接受缺少补位的输入，两条路径的行为一致
+ */
+internal class Base64Codec private constructor(
+  private val radix: RadixCodec,
+  private val encoder: Base64.Encoder,
+  private val decoder: Base64.Decoder
+) : StreamingTextCodec by radix {
+
+  override fun encode(bytes: ByteArray, offset: Int, length: Int): String =
+    if (offset == 0 && length == bytes.size) encoder.encodeToString(bytes) else radix.encode(bytes, offset, length)
+
+  override fun decode(text: CharSequence): ByteArray =
+    if (text is String) decoder.decode(text) else radix.decode(text)
+
+  companion object {
+    private const val LETTERS_AND_DIGITS = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789"
+
+    fun standard() =
+      Base64Codec(RadixCodec("$LETTERS_AND_DIGITS+/", 6, true), Base64.getEncoder(), Base64.getDecoder())
+
+    fun urlSafe() =
+      Base64Codec(
+        RadixCodec("$LETTERS_AND_DIGITS-_", 6, false),
+        Base64.getUrlEncoder().withoutPadding(),
+        Base64.getUrlDecoder()
+      )
+  }
+}
@@ -0,0 +1,152 @@
+package cn.labzen.tool.util
+
+import java.io.IOException
+import java.io.Reader
+import java.io.UncheckedIOException
+import java.nio.CharBuffer
+
+/**
+ * [Strings.between]、[Strings.betweenSequence]的实现，规则一致：遇到[start]后开始截取，截取过程中再次出现的[start]视为内容，
+ * 遇到[end]时结束截取；没有结束的最后一段内容被忽略
+ */
+internal object Betweens {
+
+  /**
+   * 逐段在[source]中查找，每段内容都是[source]的只读视图，不复制字符
+   */
+  class CharSequenceIterator(private val source: CharSequence, private val start: Char, private val end: Char) :
+    Iterator<CharSequence> {
+
+    private var position = 0
+    private var next: CharSequence? = null
+
+    override fun hasNext(): Boolean {
+      if (next != null) return true
+
+      val from = source.indexOf(start, position)
+      if (from < 0) return false
+      val to = source.indexOf(end, from + 1)
+      if (to < 0) {
+        position = source.length
+        return false
+      }
+
+      position = to + 1
+      next = CharBuffer.wrap(source, from + 1, to)
+      return true
+    }
+
+    override fun next(): CharSequence {
+      if (!hasNext()) throw NoSuchElementException()
+      return next!!.also { next = null }
+    }
+  }
+
+  /**
+   * 分块读取[reader]，只保留当前正在截取的一段内容，内存占用与源的大小无关
+   *
+   * > 保留的内容最多[maxLength]个字符，超过时丢弃已截取的部分，并跳过该段剩余的内容直到[end]（没有[end]时直到末尾），
+   * > 因此缺少[end]的[start]不会让内存随剩余的内容增长
+   */
+  class ReaderIterator(
+    private val reader: Reader,
+    private val start: Char,
+    private val end: Char,
+    private val maxLength: Int
+  ) : Iterator<String> {
+
+    private val buffer = CharArray(BUFFER_SIZE)
+    private var length = 0
+    private var position = 0
+    private var eof = false
+
+    /**
+     * 当前正在截取的内容，未进入截取时为null
+     */
+    private var current: StringBuilder? = null
+
+    /**
+     * 当前一段的内容超过了[maxLength]，正在跳过
+     */
+    private var skipping = false
+    private var next: String? = null
+
+    override fun hasNext(): Boolean {
+      if (next != null) return true
+
+      while (true) {
+        if (position >= length && !fill()) {
+          return false
+        }
+
+        val tmp = current
+        if (skipping) {
+          val found = indexOf(end)
+          if (found < 0) {
+            position = length
+          } else {
+            position = found + 1
+            skipping = false
+          }
+        } else if (tmp == null) {
+          val found = indexOf(start)
+          if (found < 0) {
+            position = length
+          } else {
+            current = StringBuilder()
+            position = found + 1
+          }
+        } else {
+          val found = indexOf(end)
+          if ((if (found < 0) length else found) - position > maxLength - tmp.length) {
+            current = null
+            skipping = true
+          } else if (found < 0) {
+            tmp.append(buffer, position, length - position)
+            position = length
+          } else {
+            tmp.append(buffer, position, found - position)
+            position = found + 1
+            current = null
+            next = tmp.toString()
+            return true
+          }
+        }
+      }
+    }
+
+    override fun next(): String {
+      if (!hasNext()) throw NoSuchElementException()
+      return next!!.also { next = null }
+    }
+
+    private fun indexOf(c: Char): Int {
+      for (i in position until length) {
+        if (buffer[i] == c) return i
+      }
+      return -1
+    }
+
+    private fun fill(): Boolean {
+      if (eof) return false
+
+      try {
+        var read = reader.read(buffer)
+        while (read == 0) {
+          read = reader.read(buffer)
+        }
+        if (read < 0) {
+          eof = true
+          return false
+        }
+        length = read
+        position = 0
+        return true
+      } catch (e: IOException) {
+        throw UncheckedIOException(e)
+      }
+    }
+  }
+
+  private const val BUFFER_SIZE = 8192
+}
@@ -1,47 +1,31 @@
 package cn.labzen.tool.util
 
+import cn.labzen.tool.codec.BinarySerializer
+import cn.labzen.tool.definition.ByteEncodings
+import cn.labzen.tool.definition.StreamingByteEncodings
 import cn.labzen.tool.util.Strings.fill
 import java.io.ByteArrayInputStream
 import java.io.ByteArrayOutputStream
+import java.io.InputStream
 import java.io.ObjectInputStream
 import java.io.ObjectOutputStream
+import java.io.OutputStream
+import java.io.Reader
+import java.io.Writer
+import java.lang.invoke.MethodHandles
 import java.math.BigInteger
+import java.nio.ByteBuffer
+import java.nio.ByteOrder
 import java.nio.charset.StandardCharsets
 
 object Bytes {
 
-  private val hexes = charArrayOf(
-    '0',
-    '1',
-    '2',
-    '3',
-    '4',
-    '5',
-    '6',
-    '7',
-    '8',
-    '9',
-    'A',
-    'B',
-    'C',
-    'D',
-    'E',
-    'F'
-  )
-
-
   /**
    * 十六进制串转化为byte数组
    */
   @JvmStatic
   fun hexStringToBytes(hex: String): ByteArray =
-    hex.trim().let {
-      require(it.length % 2 == 0)
-
-      return ByteArray(it.length / 2) { i ->
-        it.substring(i * 2, i * 2 + 2).toInt(16).toByte()
-      }
-    }
+    HexCodec.decode(hex.trim())
 
   /**
    * 字节数组转换为十六进制字符串
@@ -49,11 +33,239 @@ object Bytes {
   @JvmOverloads
   @JvmStatic
   fun bytesToHexString(bytes: ByteArray, uppercase: Boolean = true): String =
-    bytes.joinToString("") {
-      "${hexes[it.toInt() shr 4 and 0x0f]}${hexes[it.toInt() and 0x0f]}"
-    }.let {
-      if (uppercase) it.uppercase() else it.lowercase()
-    }
+    HexCodec.encode(bytes, 0, bytes.size, uppercase)
+
+  /**
+   * 字节数组中[offset]开始的[length]个字节转换为十六进制字符串
+   */
+  @JvmOverloads
+  @JvmStatic
+  fun bytesToHexString(bytes: ByteArray, offset: Int, length: Int, uppercase: Boolean = true): String =
+    HexCodec.encode(bytes, offset, length, uppercase)
+
+  /**
+   * [buffer]中剩余的字节转换为十六进制字符串，读取后[buffer]的position移动到limit
+   */
+  @JvmOverloads
+  @JvmStatic
+  fun bytesToHexString(buffer: ByteBuffer, uppercase: Boolean = true): String =
+    HexCodec.encode(buffer, uppercase)
+
+  /**
+   * 字节数组编码为十六进制字符，写入调用方提供的[target]中，不创建中间对象
+   *
+   * @return Int 写入的字符数，即[length]的2倍
+   * @throws IndexOutOfBoundsException 源或目标的范围越界时抛出
+   */
+  @JvmOverloads
+  @JvmStatic
+  fun encodeHex(
+    bytes: ByteArray,
+    offset: Int,
+    length: Int,
+    target: CharArray,
+    targetOffset: Int,
+    uppercase: Boolean = true
+  ): Int =
+    HexCodec.encode(bytes, offset, length, target, targetOffset, uppercase)
+
+  /**
+   * 字节数组编码为十六进制字符的ASCII字节，写入调用方提供的[target]中，适用于直接写入网络或文件缓冲区
+   *
+   * @return Int 写入的字节数，即[length]的2倍
+   * @throws IndexOutOfBoundsException 源或目标的范围越界时抛出
+   */
+  @JvmOverloads
+  @JvmStatic
+  fun encodeHex(
+    bytes: ByteArray,
+    offset: Int,
+    length: Int,
+    target: ByteArray,
+    targetOffset: Int,
+    uppercase: Boolean = true
+  ): Int =
+    HexCodec.encode(bytes, offset, length, target, targetOffset, uppercase)
+
+  /**
+   * 十六进制字符串中[offset]开始的[length]个字符解码后写入调用方提供的[target]中，大小写均可
+   *
+   * @return Int 写入的字节数，即[length]的一半
+   * @throws IllegalArgumentException [length]不是偶数，或包含非十六进制字符时抛出
+   * @throws IndexOutOfBoundsException 源或目标的范围越界时抛出
+   */
+  @JvmStatic
+  fun decodeHex(hex: CharSequence, offset: Int, length: Int, target: ByteArray, targetOffset: Int): Int =
+    HexCodec.decode(hex, offset, length, target, targetOffset)
+
+  /**
+   * 十六进制编码的输出流，写入的字节编码后写入[writer]，用于大数据量的流式编码。关闭时同时关闭[writer]
+   */
+  @JvmOverloads
+  @JvmStatic
+  fun hexEncodingStream(writer: Writer, uppercase: Boolean = true): OutputStream =
+    HexCodec.EncodingOutputStream(writer, uppercase)
+
+  /**
+   * 十六进制解码的输入流，从[reader]读取十六进制字符并解码，忽略其中的空白字符（如换行），用于大数据量的流式解码。
+   * 关闭时同时关闭[reader]
+   */
+  @JvmStatic
+  fun hexDecodingStream(reader: Reader): InputStream =
+    HexCodec.DecodingInputStream(reader)
+
+  // ===================================================================================================================
+
+  /**
+   * 字节数组按[encoding]编码为字符串
+   */
+  @JvmStatic
+  fun encode(encoding: ByteEncodings, bytes: ByteArray): String =
+    encoding.codec.encode(bytes, 0, bytes.size)
+
+  /**
+   * 字节数组中[offset]开始的[length]个字节按[encoding]编码为字符串
+   */
+  @JvmStatic
+  fun encode(encoding: ByteEncodings, bytes: ByteArray, offset: Int, length: Int): String =
+    encoding.codec.encode(bytes, offset, length)
+
+  /**
+   * 字节数组按[encoding]编码后写入调用方提供的[target]中，不创建中间对象；[target]的剩余空间按
+   * [ByteEncodings.maxEncodedLength]准备即可
+   *
+   * @return Int 写入的字符数
+   * @throws IndexOutOfBoundsException 源或目标的范围越界时抛出
+   */
+  @JvmStatic
+  fun encode(
+    encoding: ByteEncodings,
+    bytes: ByteArray,
+    offset: Int,
+    length: Int,
+    target: CharArray,
+    targetOffset: Int
+  ): Int =
+    encoding.codec.encode(bytes, offset, length, target, targetOffset)
+
+  /**
+   * 字节数组按[encoding]编码为ASCII字节，写入调用方提供的[target]中，适用于直接写入网络或文件缓冲区
+   *
+   * @return Int 写入的字节数
+   * @throws IndexOutOfBoundsException 源或目标的范围越界时抛出
+   */
+  @JvmStatic
+  fun encode(
+    encoding: ByteEncodings,
+    bytes: ByteArray,
+    offset: Int,
+    length: Int,
+    target: ByteArray,
+    targetOffset: Int
+  ): Int =
+    encoding.codec.encode(bytes, offset, length, target, targetOffset)
+
+  /**
+   * 按[encoding]解码字符串
+   *
+   * @throws IllegalArgumentException 包含非法字符，或长度非法时抛出
+   */
+  @JvmStatic
+  fun decode(encoding: ByteEncodings, text: CharSequence): ByteArray =
+    encoding.codec.decode(text)
+
+  /**
+   * [text]中[offset]开始的[length]个字符按[encoding]解码后写入调用方提供的[target]中；[target]的剩余空间按
+   * [ByteEncodings.maxDecodedLength]准备即可
+   *
+   * @return Int 写入的字节数
+   * @throws IllegalArgumentException 包含非法字符，或长度非法时抛出
+   * @throws IndexOutOfBoundsException 源或目标的范围越界时抛出
+   */
+  @JvmStatic
+  fun decode(
+    encoding: ByteEncodings,
+    text: CharSequence,
+    offset: Int,
+    length: Int,
+    target: ByteArray,
+    targetOffset: Int
+  ): Int =
+    encoding.codec.decode(text, offset, length, target, targetOffset)
+
+  /**
+   * 按[encoding]编码的输出流，写入的字节分段编码后写入[writer]，用于大数据量的流式编码，内存占用固定。
+   * 关闭时写出末尾不足一组的字节并关闭[writer]
+   */
+  @JvmStatic
+  fun encodingStream(encoding: StreamingByteEncodings, writer: Writer): OutputStream =
+    encoding.codec.encodingStream(writer)
+
+  /**
+   * 按[encoding]解码的输入流，从[reader]读取字符并解码，忽略其中的空白字符（如换行），用于大数据量的流式解码。
+   * 关闭时同时关闭[reader]
+   */
+  @JvmStatic
+  fun decodingStream(encoding: StreamingByteEncodings, reader: Reader): InputStream =
+    encoding.codec.decodingStream(reader)
+
+  /**
+   * 字节数组转换为标准的Base64字符串（补位）
+   */
+  @JvmStatic
+  fun toBase64(bytes: ByteArray): String =
+    encode(ByteEncodings.BASE64, bytes)
+
+  /**
+   * 标准的Base64字符串转换为字节数组，补位可有可无
+   */
+  @JvmStatic
+  fun fromBase64(text: CharSequence): ByteArray =
+    decode(ByteEncodings.BASE64, text)
+
+  /**
+   * 字节数组转换为URL安全的Base64字符串（不补位）
+   */
+  @JvmStatic
+  fun toBase64Url(bytes: ByteArray): String =
+    encode(ByteEncodings.BASE64_URL, bytes)
+
+  /**
+   * URL安全的Base64字符串转换为字节数组，补位可有可无
+   */
+  @JvmStatic
+  fun fromBase64Url(text: CharSequence): ByteArray =
+    decode(ByteEncodings.BASE64_URL, text)
+
+  /**
+   * 字节数组转换为RFC 4648标准的Base32字符串（补位）
+   */
+  @JvmStatic
+  fun toBase32(bytes: ByteArray): String =
+    encode(ByteEncodings.BASE32, bytes)
+
+  /**
+   * RFC 4648标准的Base32字符串转换为字节数组，补位可有可无
+   */
+  @JvmStatic
+  fun fromBase32(text: CharSequence): ByteArray =
+    decode(ByteEncodings.BASE32, text)
+
+  /**
+   * 字节数组转换为Base58（比特币字母表）字符串
+   */
+  @JvmStatic
+  fun toBase58(bytes: ByteArray): String =
+    encode(ByteEncodings.BASE58, bytes)
+
+  /**
+   * Base58（比特币字母表）字符串转换为字节数组
+   */
+  @JvmStatic
+  fun fromBase58(text: CharSequence): ByteArray =
+    decode(ByteEncodings.BASE58, text)
+
+  // ===================================================================================================================
 
   /**
    * 十六进制字符串转二进制字符串
@@ -80,22 +292,26 @@ object Bytes {
     ascii.trim().toCharArray().map { it.code.toByte() }.toByteArray()
 
   /**
-   * 整型转字节数组
+   * 整型转字节数组（小端序）
    */
   @JvmStatic
   fun intToBytes(number: Int): ByteArray =
-    ByteArray(4) {
-      (number shr (it * 8) and 0xff).toByte()
-    }
+    ByteArray(4).also { putInt(it, 0, number, ByteOrder.LITTLE_ENDIAN) }
 
   /**
-   * 字节数组转整型
+   * 字节数组转整型（小端序）
    */
   @JvmStatic
-  fun bytesToInt(bytes: ByteArray): Int =
-    bytes.mapIndexed { index, byte ->
-      (byte.toInt() and 0xff) shl (index * 8)
-    }.sum()
+  fun bytesToInt(bytes: ByteArray): Int {
+    if (bytes.size == 4) return getInt(bytes, 0, ByteOrder.LITTLE_ENDIAN)
+
+    // 长度不是4时保持原有的累加规则
+    var number = 0
+    for (index in bytes.indices) {
+      number += (bytes[index].toInt() and 0xff) shl (index * 8)
+    }
+    return number
+  }
 
   /**
    * 大整形转字节数组
@@ -137,26 +353,436 @@ object Bytes {
       BigInteger(bytes)
 
   /**
-   * 长整型转字节数组
+   * 长整型转字节数组（小端序）
    */
   @JvmStatic
   fun longToBytes(number: Long): ByteArray =
-    ByteArray(8) {
-      (number shr (it * 8) and 0xff).toByte()
+    ByteArray(8).also { putLong(it, 0, number, ByteOrder.LITTLE_ENDIAN) }
+
+  /**
+   * 字节数组转长整型（小端序）
+   */
+  @JvmStatic
+  fun bytesToLong(bytes: ByteArray): Long {
+    if (bytes.size == 8) return getLong(bytes, 0, ByteOrder.LITTLE_ENDIAN)
+
+    // 长度不是8时保持原有的累加规则
+    var number = 0L
+    for (index in bytes.indices) {
+      number += (bytes[index].toLong() and 0xff) shl (index * 8)
+    }
+    return number
+  }
+
+  // ===================================================================================================================
+
+  /**
+   * 将[value]按[order]字节序写入[target]的[offset]开始处，默认大端序（与ByteBuffer一致）
+   *
+   * @return Int 写入后的下一个下标，即[offset] + 2，便于连续写入
+   * @throws IndexOutOfBoundsException [offset]越界或剩余空间不足时抛出
+   */
+  @JvmOverloads
+  @JvmStatic
+  fun putShort(target: ByteArray, offset: Int, value: Short, order: ByteOrder = ByteOrder.BIG_ENDIAN): Int {
+    if (order == ByteOrder.BIG_ENDIAN) {
+      SHORT_BE.set(target, offset, value)
+    } else {
+      SHORT_LE.set(target, offset, value)
+    }
+    return offset + 2
+  }
+
+  /**
+   * 按[order]字节序读取[source]中[offset]开始的short，默认大端序
+   *
+   * @throws IndexOutOfBoundsException [offset]越界或剩余字节不足时抛出
+   */
+  @JvmOverloads
+  @JvmStatic
+  fun getShort(source: ByteArray, offset: Int, order: ByteOrder = ByteOrder.BIG_ENDIAN): Short =
+    if (order == ByteOrder.BIG_ENDIAN) {
+      SHORT_BE.get(source, offset) as Short
+    } else {
+      SHORT_LE.get(source, offset) as Short
+    }
+
+  /**
+   * 将[value]按[order]字节序写入[target]的[offset]开始处，默认大端序
+   *
+   * @return Int 写入后的下一个下标，即[offset] + 4
+   * @throws IndexOutOfBoundsException [offset]越界或剩余空间不足时抛出
+   */
+  @JvmOverloads
+  @JvmStatic
+  fun putInt(target: ByteArray, offset: Int, value: Int, order: ByteOrder = ByteOrder.BIG_ENDIAN): Int {
+    if (order == ByteOrder.BIG_ENDIAN) {
+      INT_BE.set(target, offset, value)
+    } else {
+      INT_LE.set(target, offset, value)
+    }
+    return offset + 4
+  }
+
+  /**
+   * 按[order]字节序读取[source]中[offset]开始的int，默认大端序
+   *
+   * @throws IndexOutOfBoundsException [offset]越界或剩余字节不足时抛出
+   */
+  @JvmOverloads
+  @JvmStatic
+  fun getInt(source: ByteArray, offset: Int, order: ByteOrder = ByteOrder.BIG_ENDIAN): Int =
+    if (order == ByteOrder.BIG_ENDIAN) {
+      INT_BE.get(source, offset) as Int
+    } else {
+      INT_LE.get(source, offset) as Int
+    }
+
+  /**
+   * 将[value]按[order]字节序写入[target]的[offset]开始处，默认大端序
+   *
+   * @return Int 写入后的下一个下标，即[offset] + 8
+   * @throws IndexOutOfBoundsException [offset]越界或剩余空间不足时抛出
+   */
+  @JvmOverloads
+  @JvmStatic
+  fun putLong(target: ByteArray, offset: Int, value: Long, order: ByteOrder = ByteOrder.BIG_ENDIAN): Int {
+    if (order == ByteOrder.BIG_ENDIAN) {
+      LONG_BE.set(target, offset, value)
+    } else {
+      LONG_LE.set(target, offset, value)
+    }
+    return offset + 8
+  }
+
+  /**
+   * 按[order]字节序读取[source]中[offset]开始的long，默认大端序
+   *
+   * @throws IndexOutOfBoundsException [offset]越界或剩余字节不足时抛出
+   */
+  @JvmOverloads
+  @JvmStatic
+  fun getLong(source: ByteArray, offset: Int, order: ByteOrder = ByteOrder.BIG_ENDIAN): Long =
+    if (order == ByteOrder.BIG_ENDIAN) {
+      LONG_BE.get(source, offset) as Long
+    } else {
+      LONG_LE.get(source, offset) as Long
     }
 
   /**
-   * 字节数组转长整型
+   * 将[value]的IEEE 754位模式按[order]字节序写入[target]的[offset]开始处，默认大端序
+   *
+   * @return Int 写入后的下一个下标，即[offset] + 4
+   * @throws IndexOutOfBoundsException [offset]越界或剩余空间不足时抛出
+   */
+  @JvmOverloads
+  @JvmStatic
+  fun putFloat(target: ByteArray, offset: Int, value: Float, order: ByteOrder = ByteOrder.BIG_ENDIAN): Int {
+    if (order == ByteOrder.BIG_ENDIAN) {
+      FLOAT_BE.set(target, offset, value)
+    } else {
+      FLOAT_LE.set(target, offset, value)
+    }
+    return offset + 4
+  }
+
+  /**
+   * 按[order]字节序读取[source]中[offset]开始的float，默认大端序
+   *
+   * @throws IndexOutOfBoundsException [offset]越界或剩余字节不足时抛出
+   */
+  @JvmOverloads
+  @JvmStatic
+  fun getFloat(source: ByteArray, offset: Int, order: ByteOrder = ByteOrder.BIG_ENDIAN): Float =
+    if (order == ByteOrder.BIG_ENDIAN) {
+      FLOAT_BE.get(source, offset) as Float
+    } else {
+      FLOAT_LE.get(source, offset) as Float
+    }
+
+  /**
+   * 将[value]的IEEE 754位模式按[order]字节序写入[target]的[offset]开始处，默认大端序
+   *
+   * @return Int 写入后的下一个下标，即[offset] + 8
+   * @throws IndexOutOfBoundsException [offset]越界或剩余空间不足时抛出
+   */
+  @JvmOverloads
+  @JvmStatic
+  fun putDouble(target: ByteArray, offset: Int, value: Double, order: ByteOrder = ByteOrder.BIG_ENDIAN): Int {
+    if (order == ByteOrder.BIG_ENDIAN) {
+      DOUBLE_BE.set(target, offset, value)
+    } else {
+      DOUBLE_LE.set(target, offset, value)
+    }
+    return offset + 8
+  }
+
+  /**
+   * 按[order]字节序读取[source]中[offset]开始的double，默认大端序
+   *
+   * @throws IndexOutOfBoundsException [offset]越界或剩余字节不足时抛出
+   */
+  @JvmOverloads
+  @JvmStatic
+  fun getDouble(source: ByteArray, offset: Int, order: ByteOrder = ByteOrder.BIG_ENDIAN): Double =
+    if (order == ByteOrder.BIG_ENDIAN) {
+      DOUBLE_BE.get(source, offset) as Double
+    } else {
+      DOUBLE_LE.get(source, offset) as Double
+    }
+
+  /*
+   * 字节数组视图的VarHandle，JIT会将读写内联为一次（必要时带字节交换的）内存访问，不逐字节移位，也不装箱；
+   * 调用处按字节序分支直接使用常量字段，而不是先选出VarHandle再调用，保证JIT能将其视为常量
+   */
+  private val SHORT_BE = MethodHandles.byteArrayViewVarHandle(ShortArray::class.java, ByteOrder.BIG_ENDIAN)
+  private val SHORT_LE = MethodHandles.byteArrayViewVarHandle(ShortArray::class.java, ByteOrder.LITTLE_ENDIAN)
+  private val INT_BE = MethodHandles.byteArrayViewVarHandle(IntArray::class.java, ByteOrder.BIG_ENDIAN)
+  private val INT_LE = MethodHandles.byteArrayViewVarHandle(IntArray::class.java, ByteOrder.LITTLE_ENDIAN)
+  private val LONG_BE = MethodHandles.byteArrayViewVarHandle(LongArray::class.java, ByteOrder.BIG_ENDIAN)
+  private val LONG_LE = MethodHandles.byteArrayViewVarHandle(LongArray::class.java, ByteOrder.LITTLE_ENDIAN)
+  private val FLOAT_BE = MethodHandles.byteArrayViewVarHandle(FloatArray::class.java, ByteOrder.BIG_ENDIAN)
+  private val FLOAT_LE = MethodHandles.byteArrayViewVarHandle(FloatArray::class.java, ByteOrder.LITTLE_ENDIAN)
+  private val DOUBLE_BE = MethodHandles.byteArrayViewVarHandle(DoubleArray::class.java, ByteOrder.BIG_ENDIAN)
+  private val DOUBLE_LE = MethodHandles.byteArrayViewVarHandle(DoubleArray::class.java, ByteOrder.LITTLE_ENDIAN)
+
+  // ===================================================================================================================
+
+  /**
+   * zigzag变换，将有符号数映射为无符号数（0, -1, 1, -2 ... 映射为 0, 1, 2, 3 ...），使绝对值小的负数的varint编码也很短
+   */
+  @JvmStatic
+  fun zigzag(value: Long): Long =
+    VarintCodec.zigzag(value)
+
+  /**
+   * [zigzag]的逆变换
+   */
+  @JvmStatic
+  fun unzigzag(value: Long): Long =
+    VarintCodec.unzigzag(value)
+
+  /**
+   * [value]按无符号varint（LEB128）编码后的字节数，1 - 10
+   */
+  @JvmStatic
+  fun varintSize(value: Long): Int =
+    VarintCodec.varintSize(value)
+
+  /**
+   * 将[value]按无符号varint（LEB128）编码写入[target]的[offset]开始处，负数固定占10个字节，有符号数请使用[putSignedVarint]
+   *
+   * @return Int 写入后的下一个下标
+   * @throws IndexOutOfBoundsException 剩余空间不足时抛出
+   */
+  @JvmStatic
+  fun putVarint(target: ByteArray, offset: Int, value: Long): Int =
+    VarintCodec.putVarint(target, offset, value)
+
+  /**
+   * 读取[source]中[offset]开始的无符号varint，下一个值的下标为 offset + [varintSize]
+   *
+   * @throws IllegalArgumentException 超过10个字节仍未结束时抛出
+   * @throws IndexOutOfBoundsException 字节不足时抛出
+   */
+  @JvmStatic
+  fun getVarint(source: ByteArray, offset: Int): Long =
+    VarintCodec.getVarint(source, offset)
+
+  /**
+   * 将[value]做[zigzag]变换后按varint编码写入[target]的[offset]开始处
+   *
+   * @return Int 写入后的下一个下标
+   */
+  @JvmStatic
+  fun putSignedVarint(target: ByteArray, offset: Int, value: Long): Int =
+    VarintCodec.putVarint(target, offset, VarintCodec.zigzag(value))
+
+  /**
+   * 读取[source]中[offset]开始由[putSignedVarint]写入的值
+   */
+  @JvmStatic
+  fun getSignedVarint(source: ByteArray, offset: Int): Long =
+    VarintCodec.unzigzag(VarintCodec.getVarint(source, offset))
+
+  /**
+   * 将[value]按无符号varint编码写入[buffer]的当前位置
+   *
+   * @throws java.nio.BufferOverflowException 剩余空间不足时抛出
+   */
+  @JvmStatic
+  fun putVarint(buffer: ByteBuffer, value: Long) {
+    VarintCodec.putVarint(buffer, value)
+  }
+
+  /**
+   * 从[buffer]的当前位置读取无符号varint
+   *
+   * @throws IllegalArgumentException 超过10个字节仍未结束时抛出
+   * @throws java.nio.BufferUnderflowException 字节不足时抛出
+   */
+  @JvmStatic
+  fun getVarint(buffer: ByteBuffer): Long =
+    VarintCodec.getVarint(buffer)
+
+  @JvmStatic
+  fun putSignedVarint(buffer: ByteBuffer, value: Long) {
+    VarintCodec.putVarint(buffer, VarintCodec.zigzag(value))
+  }
+
+  @JvmStatic
+  fun getSignedVarint(buffer: ByteBuffer): Long =
+    VarintCodec.unzigzag(VarintCodec.getVarint(buffer))
+
+  /**
+   * 将[values]中[valuesOffset]开始的[count]个值逐个按varint编码写入[target]的[offset]开始处，
+   * [target]至少需要[count] * 10个字节才能保证容纳任意的值
+   *
+   * @param zigzag Boolean 是否先做[zigzag]变换，值中有负数（如差值）时应为true
+   * @return Int 写入后的下一个下标
+   */
+  @JvmOverloads
+  @JvmStatic
+  fun putVarints(
+    values: LongArray,
+    valuesOffset: Int,
+    count: Int,
+    target: ByteArray,
+    offset: Int,
+    zigzag: Boolean = false
+  ): Int =
+    VarintCodec.putVarints(values, valuesOffset, count, target, offset, zigzag)
+
+  /**
+   * 从[source]的[offset]开始读取[count]个varint，写入[values]的[valuesOffset]开始处
+   *
+   * @param zigzag Boolean 与编码时一致
+   * @return Int 读取后的下一个下标
+   */
+  @JvmOverloads
+  @JvmStatic
+  fun getVarints(
+    source: ByteArray,
+    offset: Int,
+    values: LongArray,
+    valuesOffset: Int,
+    count: Int,
+    zigzag: Boolean = false
+  ): Int =
+    VarintCodec.getVarints(source, offset, values, valuesOffset, count, zigzag)
+
+  /**
+   * 将[values]中[valuesOffset]开始的[count]个值逐个按varint编码写入[buffer]的当前位置
+   */
+  @JvmOverloads
+  @JvmStatic
+  fun putVarints(buffer: ByteBuffer, values: LongArray, valuesOffset: Int, count: Int, zigzag: Boolean = false) {
+    VarintCodec.putVarints(buffer, values, valuesOffset, count, zigzag)
+  }
+
+  /**
+   * 从[buffer]的当前位置读取[count]个varint，写入[values]的[valuesOffset]开始处
+   */
+  @JvmOverloads
+  @JvmStatic
+  fun getVarints(buffer: ByteBuffer, values: LongArray, valuesOffset: Int, count: Int, zigzag: Boolean = false) {
+    VarintCodec.getVarints(buffer, values, valuesOffset, count, zigzag)
+  }
+
+  /**
+   * [count]个值按group varint编码时最多需要的字节数
+   */
+  @JvmStatic
+  fun maxGroupVarintBytes(count: Int): Int =
+    VarintCodec.maxGroupVarintBytes(count)
+
+  /**
+   * 将[values]中[valuesOffset]开始的[count]个值按group varint编码写入[target]的[offset]开始处
+   *
+   * > 每4个值一组，组前2个字节的标记记录每个值的字节数（0 - 8），之后是各值的小端字节；解码时没有逐字节的判断，
+   * > 比逐个的varint快，适合大批量的数值列。值的个数不会写入，解码时需要由调用方提供
+   *
+   * @param zigzag Boolean 是否先做[zigzag]变换，值中有负数（如差值）时应为true
+   * @return Int 写入后的下一个下标
+   * @throws IndexOutOfBoundsException 剩余空间不足时抛出，空间可按[maxGroupVarintBytes]准备
+   */
+  @JvmOverloads
+  @JvmStatic
+  fun putGroupVarints(
+    values: LongArray,
+    valuesOffset: Int,
+    count: Int,
+    target: ByteArray,
+    offset: Int,
+    zigzag: Boolean = false
+  ): Int =
+    VarintCodec.putGroupVarints(values, valuesOffset, count, target, offset, zigzag)
+
+  /**
+   * 从[source]的[offset]开始读取[putGroupVarints]写入的[count]个值，写入[values]的[valuesOffset]开始处
+   *
+   * @return Int 读取后的下一个下标
+   * @throws IllegalArgumentException 标记中的字节数非法时抛出
+   * @throws IndexOutOfBoundsException 字节不足时抛出
+   */
+  @JvmOverloads
+  @JvmStatic
+  fun getGroupVarints(
+    source: ByteArray,
+    offset: Int,
+    values: LongArray,
+    valuesOffset: Int,
+    count: Int,
+    zigzag: Boolean = false
+  ): Int =
+    VarintCodec.getGroupVarints(source, offset, values, valuesOffset, count, zigzag)
+
+  /**
+   * 将[values]中[valuesOffset]开始的[count]个值按group varint编码写入[buffer]的当前位置
+   */
+  @JvmOverloads
+  @JvmStatic
+  fun putGroupVarints(buffer: ByteBuffer, values: LongArray, valuesOffset: Int, count: Int, zigzag: Boolean = false) {
+    VarintCodec.putGroupVarints(buffer, values, valuesOffset, count, zigzag)
+  }
+
+  /**
+   * 从[buffer]的当前位置读取[count]个group varint编码的值，写入[values]的[valuesOffset]开始处
+   *
+   * @throws IllegalArgumentException 标记中的字节数非法时抛出
+   * @throws java.nio.BufferUnderflowException 到limit为止的字节不足时抛出
+   */
+  @JvmOverloads
+  @JvmStatic
+  fun getGroupVarints(buffer: ByteBuffer, values: LongArray, valuesOffset: Int, count: Int, zigzag: Boolean = false) {
+    VarintCodec.getGroupVarints(buffer, values, valuesOffset, count, zigzag)
+  }
+
+  // ===================================================================================================================
+
+  /**
+   * 对象序列化为紧凑的二进制格式，支持基本类型、字符串、集合、Pair/Triple/Quadruple，以及注册到
+   * [BinarySerializer.shared]中的类型，结果比[objectToBytes]小得多，也更快
+   *
+   * @throws cn.labzen.tool.exception.CodecException 存在不支持（未注册）的类型时抛出
+   */
+  @JvmStatic
+  fun serialize(obj: Any?): ByteArray =
+    BinarySerializer.shared().serialize(obj)
+
+  /**
+   * 还原[serialize]序列化的对象，只会创建内置支持或已注册的类型
+   *
+   * @throws cn.labzen.tool.exception.CodecException 数据非法时抛出
    */
   @JvmStatic
-  fun bytesToLong(bytes: ByteArray): Long =
-    bytes.mapIndexed { index, byte ->
-      (byte.toLong() and 0xff) shl (index * 8)
-    }.sum()
+  fun deserialize(bytes: ByteArray): Any? =
+    BinarySerializer.shared().deserialize(bytes)
 
   /**
    * 任意对象（Serializable)转换为字节数组
    */
+  @Deprecated("Java序列化速度慢、结果大，且反序列化时可以创建任意类的实例，建议使用serialize")
   @JvmStatic
   fun objectToBytes(obj: Any): ByteArray =
     ByteArrayOutputStream().use { byteOS ->
@@ -169,6 +795,7 @@ object Bytes {
   /**
    * 字节数组还原任意对象（Serializable)
    */
+  @Deprecated("Java反序列化可以创建任意类的实例，存在安全风险，建议使用deserialize")
   @JvmStatic
   fun bytesToObject(bytes: ByteArray): Any =
     ByteArrayInputStream(bytes).use { byteIS ->
@@ -0,0 +1,174 @@
+package cn.labzen.tool.util
+
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * [Strings.studlyCase]、[Strings.camelCase]、[Strings.snakeCase]、[Strings.kebabCase]的转换实现
+ *
+ * > 源字符串全部为ASCII字符时，一次遍历直接写入预先分配好的char[]，不再切分出单词列表；含有非ASCII字符时，
+ * > 大小写转换可能改变字符串长度（如'ß'转大写为"SS"），仍按单词切分的方式处理，结果与之前保持一致
+ *
+ * > 可选的结果缓存：同一标识符重复转换时直接返回缓存的字符串实例。每种转换方式各自缓存，超出容量时清空后重新缓存
+ */
+internal class CaseConverter private constructor(
+  private val separator: Char,
+  private val style: Int
+) {
+
+  private val cache = ConcurrentHashMap<String, String>()
+
+  fun convert(source: String, cached: Boolean): String {
+    if (!cached) {
+      return convert(source)
+    }
+
+    return cache[source] ?: convert(source).also {
+      if (cache.size >= CACHE_CAPACITY) {
+        cache.clear()
+      }
+      cache.putIfAbsent(source, it)
+    }
+  }
+
+  private fun convert(source: String): String {
+    if (source.isEmpty()) return source
+
+    return ascii(source) ?: slicing(source)
+  }
+
+  /**
+   * ASCII字符串的一次遍历转换，遇到非ASCII字符时返回null
+   */
+  private fun ascii(source: String): String? {
+    val size = source.length
+    val chars = CharArray(if (separator == NO_SEPARATOR) size else size * 2)
+    var length = 0
+    var wordLength = 0
+    var words = 0
+
+    for (i in 0 until size) {
+      val c = source[i]
+      if (c.code >= ASCII_LIMIT) {
+        return null
+      }
+      if (isSeparator(c)) {
+        wordLength = 0
+        continue
+      }
+      if (wordLength > 0 && c in 'A'..'Z') {
+        wordLength = 0
+      }
+      if (wordLength == 0) {
+        if (words > 0 && separator != NO_SEPARATOR) {
+          chars[length++] = separator
+        }
+        words++
+      }
+
+      chars[length++] = when (style) {
+        LOWER -> lower(c)
+        UPPER -> upper(c)
+        STUDLY -> if (wordLength == 0) upper(c) else lower(c)
+        CAMEL -> if (wordLength == 0 && words > 1) upper(c) else lower(c)
+        else -> c
+      }
+      wordLength++
+    }
+
+    return String(chars, 0, length)
+  }
+
+  /**
+   * 切分单词后逐个转换，用于含有非ASCII字符的字符串
+   */
+  private fun slicing(source: String): String {
+    val words = mutableListOf<String>()
+    val current = StringBuilder()
+
+    var i = 0
+    while (i < source.length) {
+      val char = source[i]
+      if (isSeparator(char)) {
+        if (current.isNotEmpty()) {
+          words.add(current.toString())
+          current.clear()
+        }
+        i++
+        continue
+      }
+
+      if (char.isUpperCase() && current.isNotEmpty()) {
+        words.add(current.toString())
+        current.clear()
+      }
+
+      current.append(char)
+      i++
+    }
+
+    if (current.isNotEmpty()) {
+      words.add(current.toString())
+    }
+
+    return when (style) {
+      LOWER -> words.joinToString(separator.toString()) { it.lowercase() }
+      UPPER -> words.joinToString(separator.toString()) { it.uppercase() }
+      STUDLY -> words.joinToString("") { capitalize(it.lowercase()) }
+      CAMEL -> words.joinToString("") { capitalize(it.lowercase()) }.let {
+        if (it.isEmpty()) it else lower(it[0]) + it.substring(1)
+      }
+      else -> words.joinToString(separator.toString())
+    }
+  }
+
+  companion object {
+
+    private const val ASCII_LIMIT = 128
+    private const val NO_SEPARATOR = '\u0000'
+    private const val CACHE_CAPACITY = 4096
+
+    private const val KEEP = 0
+    private const val LOWER = 1
+    private const val UPPER = 2
+    private const val STUDLY = 3
+    private const val CAMEL = 4
+
+    val STUDLY_CASE = CaseConverter(NO_SEPARATOR, STUDLY)
+    val CAMEL_CASE = CaseConverter(NO_SEPARATOR, CAMEL)
+    private val SNAKE_CASE = arrayOf(
+      CaseConverter('_', KEEP),
+      CaseConverter('_', LOWER),
+      CaseConverter('_', UPPER)
+    )
+    private val KEBAB_CASE = arrayOf(
+      CaseConverter('-', KEEP),
+      CaseConverter('-', LOWER),
+      CaseConverter('-', UPPER)
+    )
+
+    fun snakeCase(toLowercase: Boolean?): CaseConverter =
+      SNAKE_CASE[styleOf(toLowercase)]
+
+    fun kebabCase(toLowercase: Boolean?): CaseConverter =
+      KEBAB_CASE[styleOf(toLowercase)]
+
+    private fun styleOf(toLowercase: Boolean?): Int =
+      when (toLowercase) {
+        null -> KEEP
+        true -> LOWER
+        false -> UPPER
+      }
+
+    private fun isSeparator(c: Char): Boolean =
+      c == ' ' || c == '-' || c == '_' || c == '\r' || c == '\n' || c == '\t'
+
+    private fun lower(c: Char): Char =
+      if (c in 'A'..'Z') c + ('a' - 'A') else c
+
+    private fun upper(c: Char): Char =
+      if (c in 'a'..'z') c - ('a' - 'A') else c
+
+    private fun capitalize(word: String): String =
+      if (word.isEmpty()) word else upper(word[0]) + word.substring(1)
+  }
+}
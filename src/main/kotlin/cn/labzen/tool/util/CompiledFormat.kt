@@ -0,0 +1,284 @@
+package cn.labzen.tool.util
+
+import java.io.IOException
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * 预编译的格式化字符串，规则与[Strings.format]完全一致
+ *
+ * > 编译时一次性切分出各段字面量与占位符{}（包括转义规则 \{} 与 \\{}），格式化时只需按顺序追加到预估好容量的StringBuilder中，
+ * > 不再重复查找占位符，适合被反复使用的固定格式
+ *
+ * ```java
+ * CompiledFormat format = CompiledFormat.compile("user {} logged in from {}");
+ * // return "user labzen logged in from 127.0.0.1"
+ * format.format("labzen", "127.0.0.1");
+ * ```
+ *
+ * @property pattern String 格式化字符串
+ */
+class CompiledFormat private constructor(val pattern: String) {
+
+  /**
+   * 每个占位符之前的字面量（已处理转义）
+   */
+  private val literals: Array<String>
+
+  /**
+   * 每个占位符之前的字面量在[pattern]中的起始下标，参数不足时，从这里开始原样输出剩余部分
+   */
+  private val starts: IntArray
+
+  /**
+   * 占位符是否需要填充参数，\{} 转义后的占位符不需要
+   */
+  private val slots: BooleanArray
+
+  /**
+   * 最后一个占位符之后的字面量在[pattern]中的起始下标
+   */
+  private val tail: Int
+
+  /**
+   * 需要填充参数的占位符数量
+   */
+  val placeholders: Int
+
+  init {
+    val literals = mutableListOf<String>()
+    val starts = mutableListOf<Int>()
+    val slots = mutableListOf<Boolean>()
+
+    var start = 0
+    var cur = pattern.indexOf(DELIMITER_STR)
+    while (cur != -1) {
+      starts.add(start)
+      val escaped = cur > 0 && pattern[cur - 1] == ESCAPE_CHAR
+      if (escaped && cur > 1 && pattern[cur - 2] == ESCAPE_CHAR) {
+        // \\{} 保留一个'\'，占位符正常填充
+        literals.add(pattern.substring(start, cur - 1))
+        slots.add(true)
+        start = cur + 2
+      } else if (escaped) {
+        // \{} 输出'{'，'}'作为后续的字面量
+        literals.add(pattern.substring(start, cur - 1) + DELIMITER_START)
+        slots.add(false)
+        start = cur + 1
+      } else {
+        literals.add(pattern.substring(start, cur))
+        slots.add(true)
+        start = cur + 2
+      }
+      cur = pattern.indexOf(DELIMITER_STR, start)
+    }
+
+    this.literals = literals.toTypedArray()
+    this.starts = starts.toIntArray()
+    this.slots = slots.toBooleanArray()
+    this.tail = start
+    this.placeholders = slots.count { it }
+  }
+
+  /**
+   * 使用参数替换掉占位符，参数多余时忽略，不足时剩余部分原样输出
+   *
+   * @param arguments Array<out Any?> 参数
+   * @return String 格式化后的字符串
+   */
+  fun format(vararg arguments: Any?): String =
+    render(arguments)
+
+  /**
+   * 使用参数替换掉占位符，参数多余时忽略，不足时剩余部分原样输出
+   *
+   * @param arguments Iterable<Any?> 参数
+   * @return String 格式化后的字符串
+   */
+  fun format(arguments: Iterable<Any?>): String {
+    val buf = newBuilder()
+    val iterator = arguments.iterator()
+    for (i in literals.indices) {
+      if (!iterator.hasNext()) {
+        return buf.append(pattern, starts[i], pattern.length).toString()
+      }
+      buf.append(literals[i])
+      if (slots[i]) {
+        Appendables.appendArgument(buf, iterator.next())
+      }
+    }
+    return buf.append(pattern, tail, pattern.length).toString()
+  }
+
+  internal fun render(arguments: Array<out Any?>): String =
+    newBuilder().also { renderTo(it, arguments) }.toString()
+
+  internal fun renderTo(target: Appendable, arguments: Array<out Any?>) {
+    write(target, arguments.size) { i -> Appendables.appendArgument(target, arguments[i]) }
+  }
+
+  // ===================================================================================================================
+  // 直接写入到目标中，不产生中间字符串。1~4个参数的重载不会创建可变参数数组，单个基本类型参数的重载不会装箱
+
+  /**
+   * 将格式化结果写入到[target]中
+   *
+   * @param target StringBuilder 目标
+   * @param arguments Array<out Any?> 参数
+   * @return StringBuilder [target]
+   */
+  fun formatTo(target: StringBuilder, vararg arguments: Any?): StringBuilder =
+    target.also { renderTo(it, arguments) }
+
+  fun formatTo(target: StringBuilder, argument: Any?): StringBuilder =
+    target.also { write(it, 1) { _ -> Appendables.appendArgument(it, argument) } }
+
+  fun formatTo(target: StringBuilder, first: Any?, second: Any?): StringBuilder =
+    target.also { writeFixed(it, 2, first, second, null, null) }
+
+  fun formatTo(target: StringBuilder, first: Any?, second: Any?, third: Any?): StringBuilder =
+    target.also { writeFixed(it, 3, first, second, third, null) }
+
+  fun formatTo(target: StringBuilder, first: Any?, second: Any?, third: Any?, fourth: Any?): StringBuilder =
+    target.also { writeFixed(it, 4, first, second, third, fourth) }
+
+  fun formatTo(target: StringBuilder, argument: Int): StringBuilder =
+    target.also { write(it, 1) { _ -> it.append(argument) } }
+
+  fun formatTo(target: StringBuilder, argument: Long): StringBuilder =
+    target.also { write(it, 1) { _ -> it.append(argument) } }
+
+  fun formatTo(target: StringBuilder, argument: Double): StringBuilder =
+    target.also { write(it, 1) { _ -> it.append(argument) } }
+
+  fun formatTo(target: StringBuilder, argument: Boolean): StringBuilder =
+    target.also { write(it, 1) { _ -> it.append(argument) } }
+
+  fun formatTo(target: StringBuilder, argument: Char): StringBuilder =
+    target.also { write(it, 1) { _ -> it.append(argument) } }
+
+  /**
+   * 将格式化结果写入到[target]中，如Writer、CharBuffer等
+   *
+   * @param target Appendable 目标
+   * @param arguments Array<out Any?> 参数
+   * @return Appendable [target]
+   */
+  @Throws(IOException::class)
+  fun formatTo(target: Appendable, vararg arguments: Any?): Appendable =
+    target.also { renderTo(it, arguments) }
+
+  @Throws(IOException::class)
+  fun formatTo(target: Appendable, argument: Any?): Appendable =
+    target.also { write(it, 1) { _ -> Appendables.appendArgument(it, argument) } }
+
+  @Throws(IOException::class)
+  fun formatTo(target: Appendable, first: Any?, second: Any?): Appendable =
+    target.also { writeFixed(it, 2, first, second, null, null) }
+
+  @Throws(IOException::class)
+  fun formatTo(target: Appendable, first: Any?, second: Any?, third: Any?): Appendable =
+    target.also { writeFixed(it, 3, first, second, third, null) }
+
+  @Throws(IOException::class)
+  fun formatTo(target: Appendable, first: Any?, second: Any?, third: Any?, fourth: Any?): Appendable =
+    target.also { writeFixed(it, 4, first, second, third, fourth) }
+
+  @Throws(IOException::class)
+  fun formatTo(target: Appendable, argument: Int): Appendable =
+    target.also { write(it, 1) { _ -> Appendables.append(it, argument) } }
+
+  @Throws(IOException::class)
+  fun formatTo(target: Appendable, argument: Long): Appendable =
+    target.also { write(it, 1) { _ -> Appendables.append(it, argument) } }
+
+  @Throws(IOException::class)
+  fun formatTo(target: Appendable, argument: Double): Appendable =
+    target.also { write(it, 1) { _ -> Appendables.append(it, argument) } }
+
+  @Throws(IOException::class)
+  fun formatTo(target: Appendable, argument: Boolean): Appendable =
+    target.also { write(it, 1) { _ -> Appendables.append(it, argument) } }
+
+  @Throws(IOException::class)
+  fun formatTo(target: Appendable, argument: Char): Appendable =
+    target.also { write(it, 1) { _ -> Appendables.append(it, argument) } }
+
+  private fun newBuilder() =
+    StringBuilder(pattern.length + placeholders * ARGUMENT_LENGTH_HINT)
+
+  private fun writeFixed(target: Appendable, count: Int, first: Any?, second: Any?, third: Any?, fourth: Any?) {
+    write(target, count) { i ->
+      Appendables.appendArgument(
+        target,
+        when (i) {
+          0 -> first
+          1 -> second
+          2 -> third
+          else -> fourth
+        }
+      )
+    }
+  }
+
+  /**
+   * 按顺序写入字面量与参数，参数不足[count]时，剩余部分原样输出
+   *
+   * @param argument 写入第i个参数
+   */
+  private inline fun write(target: Appendable, count: Int, argument: (Int) -> Unit) {
+    var ai = 0
+    for (i in literals.indices) {
+      if (ai >= count) {
+        Appendables.append(target, pattern, starts[i], pattern.length)
+        return
+      }
+      Appendables.append(target, literals[i])
+      if (slots[i]) {
+        argument(ai++)
+      }
+    }
+    Appendables.append(target, pattern, tail, pattern.length)
+  }
+
+  override fun toString(): String = pattern
+
+  companion object {
+
+    private const val DELIMITER_START = '{'
+    private const val DELIMITER_STR = "{}"
+    private const val ESCAPE_CHAR = '\\'
+
+    /**
+     * 预估每个参数转为字符串后的长度，用于确定StringBuilder的初始容量
+     */
+    private const val ARGUMENT_LENGTH_HINT = 16
+
+    /**
+     * 缓存的最大数量，超出时清空后重新缓存，避免动态拼接的格式化字符串无限占用内存
+     */
+    private const val CACHE_CAPACITY = 1024
+
+    private val cache = ConcurrentHashMap<String, CompiledFormat>()
+
+    /**
+     * 编译格式化字符串
+     *
+     * @param pattern String 格式化字符串
+     * @return CompiledFormat
+     */
+    @JvmStatic
+    fun compile(pattern: String): CompiledFormat =
+      CompiledFormat(pattern)
+
+    /**
+     * 从缓存中获取已编译的格式化字符串，不存在时编译并缓存
+     */
+    internal fun cached(pattern: String): CompiledFormat =
+      cache[pattern] ?: CompiledFormat(pattern).also {
+        if (cache.size >= CACHE_CAPACITY) {
+          cache.clear()
+        }
+        cache.putIfAbsent(pattern, it)
+      }
+  }
+}
@@ -1,6 +1,8 @@
 package cn.labzen.tool.util
 
 import cn.labzen.tool.definition.Constants.Companion.PATTERN_OF_DATE_TIME
+import cn.labzen.tool.definition.Constants.Companion.PATTERN_OF_DATE_TIME_MILL
+import cn.labzen.tool.feature.CachedClockFormatter
 import cn.labzen.tool.util.DateTimes.DateTimeDifferenceSymbols.*
 import java.text.SimpleDateFormat
 import java.time.LocalDate
@@ -64,11 +66,17 @@ object DateTimes {
 
   /**
    * 获取当前时间字符串，默认格式：yyyy-MM-dd HH:mm:ss
+   *
+   * > 默认格式及 yyyy-MM-dd HH:mm:ss.SSS 格式由[CachedClockFormatter]提供，不再每次创建对象格式化
    */
   @JvmStatic
   @JvmOverloads
   fun formatNow(pattern: String? = null): String =
-    LocalDateTime.now().format(pattern?.let { DateTimeFormatter.ofPattern(it) } ?: DEFAULT_DATE_TIME_FORMATTER)
+    when (pattern) {
+      null, PATTERN_OF_DATE_TIME -> CachedClockFormatter.now()
+      PATTERN_OF_DATE_TIME_MILL -> CachedClockFormatter.nowWithMillis()
+      else -> LocalDateTime.now().format(DateTimeFormatter.ofPattern(pattern))
+    }
 
   /**
    * 将时间格式化为 yyyy-MM-dd HH:mm:ss 格式字符串
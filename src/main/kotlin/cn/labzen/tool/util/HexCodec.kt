@@ -0,0 +1,329 @@
+package cn.labzen.tool.util
+
+import java.io.IOException
+import java.io.InputStream
+import java.io.OutputStream
+import java.io.Reader
+import java.io.Writer
+import java.nio.ByteBuffer
+import java.nio.charset.StandardCharsets
+
+/**
+ * [Bytes]中十六进制编解码的查表实现
+ *
+ * > 编码时每个字节查一次512项的表，直接得到两个字符；解码时每两个字符查一次128 * 128项的表得到字节值，非法字符对在表中为-1，
+ * > 循环中只累积错误标记，结束后检查一次，出错时才回头确定非法的字符；流式解码时直接从字符缓冲区成批解码到调用方的数组中；
+ * > 不再为每个字节创建子字符串或模板字符串，结果直接写入调用方提供的char[]/byte[]中。编码为String时先写入ASCII字节，
+ * > 再按ISO-8859-1构造字符串，对于压缩字符串只是一次数组复制
+ */
+internal object HexCodec {
+
+  private const val INVALID: Byte = -1
+  private const val ASCII_LIMIT = 128
+  private const val PAIR_MASK = ASCII_LIMIT * ASCII_LIMIT - 1
+
+  /**
+   * 每个字节对应的两个字符，下标为 (byte and 0xFF) shl 1
+   */
+  private val UPPER_PAIRS = pairs("0123456789ABCDEF")
+  private val LOWER_PAIRS = pairs("0123456789abcdef")
+
+  private val DIGITS = ByteArray(ASCII_LIMIT) { INVALID }.also {
+    for (i in 0 until 10) it['0'.code + i] = i.toByte()
+    for (i in 0 until 6) {
+      it['A'.code + i] = (10 + i).toByte()
+      it['a'.code + i] = (10 + i).toByte()
+    }
+  }
+
+  /**
+   * 两个字符（都小于128）对应的字节值，下标为 (high shl 7) or low，任一字符非法时为-1
+   */
+  private val DIGIT_PAIRS = ShortArray(ASCII_LIMIT * ASCII_LIMIT) {
+    val high = DIGITS[it shr 7].toInt()
+    val low = DIGITS[it and 0x7F].toInt()
+    if (high < 0 || low < 0) -1 else ((high shl 4) or low).toShort()
+  }
+
+  private fun pairs(alphabet: String): ByteArray =
+    ByteArray(512).also {
+      for (b in 0 until 256) {
+        it[b shl 1] = alphabet[b shr 4].code.toByte()
+        it[(b shl 1) + 1] = alphabet[b and 0x0F].code.toByte()
+      }
+    }
+
+  private fun pairsOf(uppercase: Boolean): ByteArray =
+    if (uppercase) UPPER_PAIRS else LOWER_PAIRS
+
+  // ===================================================================================================================
+
+  fun encode(bytes: ByteArray, offset: Int, length: Int, uppercase: Boolean): String {
+    checkRange(bytes.size, offset, length)
+    val ascii = ByteArray(length shl 1)
+    encodeAscii(bytes, offset, length, ascii, 0, uppercase)
+    return String(ascii, StandardCharsets.ISO_8859_1)
+  }
+
+  /**
+   * 编码为ASCII字节，写入[target]的[targetOffset]开始处，返回写入的字节数
+   */
+  fun encode(
+    bytes: ByteArray,
+    offset: Int,
+    length: Int,
+    target: ByteArray,
+    targetOffset: Int,
+    uppercase: Boolean
+  ): Int {
+    checkRange(bytes.size, offset, length)
+    checkRange(target.size, targetOffset, length shl 1)
+    encodeAscii(bytes, offset, length, target, targetOffset, uppercase)
+    return length shl 1
+  }
+
+  /**
+   * 编码为字符，写入[target]的[targetOffset]开始处，返回写入的字符数
+   */
+  fun encode(
+    bytes: ByteArray,
+    offset: Int,
+    length: Int,
+    target: CharArray,
+    targetOffset: Int,
+    uppercase: Boolean
+  ): Int {
+    checkRange(bytes.size, offset, length)
+    checkRange(target.size, targetOffset, length shl 1)
+    val pairs = pairsOf(uppercase)
+    var t = targetOffset
+    for (i in offset until offset + length) {
+      val p = (bytes[i].toInt() and 0xFF) shl 1
+      target[t++] = pairs[p].toInt().toChar()
+      target[t++] = pairs[p + 1].toInt().toChar()
+    }
+    return length shl 1
+  }
+
+  private fun encodeAscii(
+    bytes: ByteArray,
+    offset: Int,
+    length: Int,
+    target: ByteArray,
+    targetOffset: Int,
+    uppercase: Boolean
+  ) {
+    val pairs = pairsOf(uppercase)
+    var t = targetOffset
+    for (i in offset until offset + length) {
+      val p = (bytes[i].toInt() and 0xFF) shl 1
+      target[t++] = pairs[p]
+      target[t++] = pairs[p + 1]
+    }
+  }
+
+  fun encode(buffer: ByteBuffer, uppercase: Boolean): String {
+    val length = buffer.remaining()
+    if (buffer.hasArray()) {
+      val encoded = encode(buffer.array(), buffer.arrayOffset() + buffer.position(), length, uppercase)
+      buffer.position(buffer.limit())
+      return encoded
+    }
+
+    val pairs = pairsOf(uppercase)
+    val ascii = ByteArray(length shl 1)
+    var t = 0
+    while (buffer.hasRemaining()) {
+      val p = (buffer.get().toInt() and 0xFF) shl 1
+      ascii[t++] = pairs[p]
+      ascii[t++] = pairs[p + 1]
+    }
+    return String(ascii, StandardCharsets.ISO_8859_1)
+  }
+
+  // ===================================================================================================================
+
+  fun decode(hex: CharSequence): ByteArray {
+    require(hex.length % 2 == 0) { "十六进制字符串的长度必须是偶数：${hex.length}" }
+    return ByteArray(hex.length shr 1).also { decode(hex, 0, hex.length, it, 0) }
+  }
+
+  fun decode(hex: CharSequence, offset: Int, length: Int, target: ByteArray, targetOffset: Int): Int {
+    checkRange(hex.length, offset, length)
+    require(length % 2 == 0) { "十六进制字符串的长度必须是偶数：$length" }
+    val size = length shr 1
+    checkRange(target.size, targetOffset, size)
+
+    // 循环中不做分支：非法的字符对查表得到-1，超出ASCII的字符使127 - code为负数，全部或到errors中，结束后只检查一次
+    var errors = 0
+    var i = offset
+    for (t in targetOffset until targetOffset + size) {
+      val high = hex[i].code
+      val low = hex[i + 1].code
+      val value = pairOf(high, low)
+      errors = errors or value or (ASCII_LIMIT - 1 - (high or low))
+      target[t] = value.toByte()
+      i += 2
+    }
+    if (errors < 0) invalid(hex, offset, length)
+    return size
+  }
+
+  /**
+   * 两个字符组成的字节值，任一字符非法时为-1；超出ASCII的字符只保留低7位，需要调用方另行检查
+   */
+  private fun pairOf(high: Int, low: Int): Int =
+    DIGIT_PAIRS[((high shl 7) or low) and PAIR_MASK].toInt()
+
+  private fun lookup(c: Char): Int =
+    if (c.code < ASCII_LIMIT) DIGITS[c.code].toInt() else -1
+
+  /**
+   * 找出第一个非法的字符，抛出异常
+   */
+  private fun invalid(hex: CharSequence, offset: Int, length: Int): Nothing {
+    var bad = offset
+    while (bad < offset + length - 1 && lookup(hex[bad]) >= 0) bad++
+    throw NumberFormatException("非法的十六进制字符 '${hex[bad]}'，位置：$bad")
+  }
+
+  private fun checkRange(size: Int, offset: Int, length: Int) {
+    if (offset < 0 || length < 0 || offset > size - length) {
+      throw IndexOutOfBoundsException("size: $size, offset: $offset, length: $length")
+    }
+  }
+
+  // ===================================================================================================================
+
+  private const val BUFFER_SIZE = 4096
+
+  /**
+   * 写入的字节编码为十六进制字符后写入[writer]，关闭时同时关闭[writer]
+   */
+  class EncodingOutputStream(private val writer: Writer, uppercase: Boolean) : OutputStream() {
+
+    private val pairs = pairsOf(uppercase)
+    private val chars = CharArray(BUFFER_SIZE)
+    private var count = 0
+
+    override fun write(b: Int) {
+      if (count + 2 > chars.size) flushBuffer()
+      val p = (b and 0xFF) shl 1
+      chars[count++] = pairs[p].toInt().toChar()
+      chars[count++] = pairs[p + 1].toInt().toChar()
+    }
+
+    override fun write(b: ByteArray, off: Int, len: Int) {
+      checkRange(b.size, off, len)
+      for (i in off until off + len) {
+        if (count + 2 > chars.size) flushBuffer()
+        val p = (b[i].toInt() and 0xFF) shl 1
+        chars[count++] = pairs[p].toInt().toChar()
+        chars[count++] = pairs[p + 1].toInt().toChar()
+      }
+    }
+
+    override fun flush() {
+      flushBuffer()
+      writer.flush()
+    }
+
+    override fun close() {
+      flushBuffer()
+      writer.close()
+    }
+
+    private fun flushBuffer() {
+      if (count > 0) {
+        writer.write(chars, 0, count)
+        count = 0
+      }
+    }
+  }
+
+  /**
+   * 从[reader]读取十六进制字符并解码为字节，忽略其中的空白字符（如换行），关闭时同时关闭[reader]
+   */
+  class DecodingInputStream(private val reader: Reader) : InputStream() {
+
+    private val chars = CharArray(BUFFER_SIZE)
+    private var length = 0
+    private var position = 0
+    private var consumed = 0L
+    private var eof = false
+
+    override fun read(): Int {
+      val high = next()
+      if (high < 0) return -1
+      val low = next()
+      if (low < 0) throw IOException("十六进制字符个数不是偶数")
+      return (high shl 4) or low
+    }
+
+    override fun read(b: ByteArray, off: Int, len: Int): Int {
+      checkRange(b.size, off, len)
+      if (len == 0) return 0
+
+      val end = off + len
+      var t = off
+      while (t < end) {
+        // 缓冲区中连续的十六进制字符直接成对解码到b中
+        val chars = chars
+        var p = position
+        while (t < end && p + 1 < length) {
+          val high = chars[p].code
+          val low = chars[p + 1].code
+          val value = pairOf(high, low)
+          if ((value or (ASCII_LIMIT - 1 - (high or low))) < 0) break
+          b[t++] = value.toByte()
+          p += 2
+        }
+        consumed += p - position
+        position = p
+        if (t == end) break
+
+        // 空白字符、跨越缓冲区的字符对、非法字符以及结束，逐个字符处理
+        val value = read()
+        if (value < 0) break
+        b[t++] = value.toByte()
+      }
+      return if (t == off) -1 else t - off
+    }
+
+    override fun close() {
+      reader.close()
+    }
+
+    /**
+     * 下一个十六进制字符的数值，结束时返回-1
+     */
+    private fun next(): Int {
+      while (true) {
+        if (position >= length && !fill()) return -1
+
+        val c = chars[position++]
+        consumed++
+        if (c.isWhitespace()) continue
+
+        val d = lookup(c)
+        if (d < 0) throw IOException("非法的十六进制字符 '$c'，位置：${consumed - 1}")
+        return d
+      }
+    }
+
+    private fun fill(): Boolean {
+      if (eof) return false
+      var read = reader.read(chars)
+      while (read == 0) {
+        read = reader.read(chars)
+      }
+      if (read < 0) {
+        eof = true
+        return false
+      }
+      length = read
+      position = 0
+      return true
+    }
+  }
+}
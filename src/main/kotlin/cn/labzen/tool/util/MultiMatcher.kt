@@ -0,0 +1,341 @@
+package cn.labzen.tool.util
+
+import cn.labzen.tool.exception.StringException
+import cn.labzen.tool.kotlin.throwRuntimeIf
+import java.util.*
+
+/**
+ * 多模式匹配器（Aho–Corasick），由一组子字符串一次性构建，之后可反复用于在任意字符串中查找这些子字符串
+ *
+ * > 无论子字符串有多少个，每次查找都只需对源字符串做一次线性遍历，适合用成百上千的关键字检查大量文本的场景，
+ * > 避免对每个关键字重复扫描源字符串
+ *
+ * ```java
+ * MultiMatcher matcher = MultiMatcher.of(Lists.newArrayList("he", "she", "his", "hers"));
+ * // return true
+ * matcher.any("ushers");
+ * // return 3 ("she", "he", "hers")
+ * matcher.count("ushers");
+ * // return "u**rs"
+ * matcher.replaceAll("ushers", "**");
+ * ```
+ *
+ * @property needles List<String> 子字符串（去重后，保持原有顺序）
+ * @property caseSensitive Boolean 区分大小写
+ */
+class MultiMatcher private constructor(val needles: List<String>, val caseSensitive: Boolean) {
+
+  /**
+   * 各状态的失败跳转
+   */
+  private val fail: IntArray
+
+  /**
+   * 在该状态结束的最长子字符串下标，没有时为-1
+   */
+  private val output: IntArray
+
+  /**
+   * 沿失败跳转链，下一个有输出的状态，没有时为0（根）
+   */
+  private val dictionary: IntArray
+
+  /**
+   * 状态转移的开放寻址哈希表，键为 (状态 shl 16) or 字符
+   */
+  private val edgeKeys: LongArray
+  private val edgeValues: IntArray
+  private val edgeMask: Int
+
+  /**
+   * 根状态下ASCII字符的直接转移表
+   */
+  private val rootAscii = IntArray(ASCII_LIMIT) { -1 }
+
+  private val lengths: IntArray
+  private val maxLength: Int
+
+  init {
+    (needles.any { it.isEmpty() }).throwRuntimeIf { StringException("匹配的子字符串不能为空") }
+
+    // 构建字典树，构建期间使用普通的Map即可
+    val children = mutableListOf<TreeMap<Char, Int>>(TreeMap())
+    val outputs = mutableListOf(-1)
+    needles.forEachIndexed { index, needle ->
+      var state = 0
+      for (c in needle) {
+        val folded = fold(c)
+        state = children[state][folded] ?: children.size.also {
+          children[state][folded] = it
+          children.add(TreeMap())
+          outputs.add(-1)
+        }
+      }
+      outputs[state] = index
+    }
+
+    val size = children.size
+    fail = IntArray(size)
+    output = outputs.toIntArray()
+    dictionary = IntArray(size)
+
+    val edges = children.sumOf { it.size }
+    var capacity = 16
+    while (capacity < edges * 2) capacity = capacity shl 1
+    edgeKeys = LongArray(capacity) { EMPTY }
+    edgeValues = IntArray(capacity)
+    edgeMask = capacity - 1
+
+    // 广度优先计算失败跳转与输出链
+    val queue = ArrayDeque<Int>()
+    children[0].forEach { (c, child) ->
+      putEdge(0, c, child)
+      if (c.code < ASCII_LIMIT) rootAscii[c.code] = child
+      queue.add(child)
+    }
+    while (queue.isNotEmpty()) {
+      val state = queue.poll()
+      children[state].forEach { (c, child) ->
+        putEdge(state, c, child)
+        var f = fail[state]
+        while (f > 0 && children[f][c] == null) {
+          f = fail[f]
+        }
+        val target = children[f][c]
+        fail[child] = if (target != null && target != child) target else 0
+        dictionary[child] = if (output[fail[child]] >= 0) fail[child] else dictionary[fail[child]]
+        queue.add(child)
+      }
+    }
+
+    lengths = IntArray(needles.size) { needles[it].length }
+    maxLength = lengths.maxOrNull() ?: 0
+  }
+
+  // ===================================================================================================================
+
+  /**
+   * 是否包含任意一个子字符串
+   */
+  fun any(source: CharSequence): Boolean {
+    var found = false
+    scan(source, 0) { _, _ ->
+      found = true
+      false
+    }
+    return found
+  }
+
+  /**
+   * 是否包含全部的子字符串（允许重叠）
+   */
+  fun all(source: CharSequence): Boolean {
+    if (needles.isEmpty()) return true
+
+    val seen = BitSet(needles.size)
+    var remaining = needles.size
+    scan(source, 0) { needle, _ ->
+      if (!seen.get(needle)) {
+        seen.set(needle)
+        remaining--
+      }
+      remaining > 0
+    }
+    return remaining == 0
+  }
+
+  /**
+   * 子字符串出现的总次数（允许重叠）
+   */
+  fun count(source: CharSequence): Int {
+    var count = 0
+    scan(source, 0) { _, _ ->
+      count++
+      true
+    }
+    return count
+  }
+
+  /**
+   * 所有出现的子字符串及其位置（允许重叠），按结束位置排序，结束位置相同时长的在前
+   */
+  fun matches(source: CharSequence): List<Match> {
+    val matches = mutableListOf<Match>()
+    scan(source, 0) { needle, end ->
+      matches.add(Match(end - lengths[needle], end, needles[needle]))
+      true
+    }
+    return matches
+  }
+
+  /**
+   * 将出现的子字符串全部替换为[replacement]。有重叠时优先替换开始位置靠前的，开始位置相同时替换较长的
+   *
+   * @param source String 字符串
+   * @param replacement String 替换成的字符串
+   * @return String 替换后的字符串
+   */
+  fun replaceAll(source: String, replacement: String): String {
+    // 记录每个开始位置上最长匹配的结束位置
+    var longest: IntArray? = null
+    scan(source, 0) { needle, end ->
+      val ends = longest ?: IntArray(source.length).also { longest = it }
+      val start = end - lengths[needle]
+      if (end > ends[start]) ends[start] = end
+      true
+    }
+    val ends = longest ?: return source
+
+    val buf = StringBuilder(source.length)
+    var copied = 0
+    var i = 0
+    while (i < source.length) {
+      if (ends[i] > 0) {
+        buf.append(source, copied, i).append(replacement)
+        i = ends[i]
+        copied = i
+      } else {
+        i++
+      }
+    }
+    return buf.append(source, copied, source.length).toString()
+  }
+
+  /**
+   * 删除出现的全部子字符串，规则同[replaceAll]
+   */
+  fun removeAll(source: String): String =
+    replaceAll(source, "")
+
+  /**
+   * 是否以任意一个子字符串开头
+   */
+  fun isPrefixOf(source: CharSequence): Boolean {
+    var state = 0
+    for (i in 0 until minOf(source.length, maxLength)) {
+      state = edge(state, fold(source[i]))
+      if (state < 0) return false
+      if (output[state] >= 0) return true
+    }
+    return false
+  }
+
+  /**
+   * 是否以任意一个子字符串结尾
+   */
+  fun isSuffixOf(source: CharSequence): Boolean {
+    val last = source.length
+    var found = false
+    scan(source, maxOf(0, last - maxLength)) { _, end ->
+      if (end == last) found = true
+      !found
+    }
+    return found
+  }
+
+  // ===================================================================================================================
+
+  /**
+   * 从[from]开始遍历[source]，每找到一个子字符串时回调[found]，参数为子字符串下标与结束位置（不含），返回false时停止遍历
+   */
+  private inline fun scan(source: CharSequence, from: Int, found: (Int, Int) -> Boolean) {
+    if (needles.isEmpty()) return
+
+    var state = 0
+    for (i in from until source.length) {
+      val c = fold(source[i])
+      while (true) {
+        val next = if (state == 0 && c.code < ASCII_LIMIT) rootAscii[c.code] else edge(state, c)
+        if (next >= 0) {
+          state = next
+          break
+        }
+        if (state == 0) break
+        state = fail[state]
+      }
+
+      var s = if (output[state] >= 0) state else dictionary[state]
+      while (s > 0) {
+        if (!found(output[s], i + 1)) return
+        s = dictionary[s]
+      }
+    }
+  }
+
+  private fun fold(c: Char): Char =
+    if (caseSensitive) c else foldCase(c)
+
+  private fun edge(state: Int, c: Char): Int {
+    val key = state.toLong() shl 16 or c.code.toLong()
+    var slot = slotOf(key)
+    while (true) {
+      val k = edgeKeys[slot]
+      if (k == key) return edgeValues[slot]
+      if (k == EMPTY) return -1
+      slot = (slot + 1) and edgeMask
+    }
+  }
+
+  private fun putEdge(state: Int, c: Char, child: Int) {
+    val key = state.toLong() shl 16 or c.code.toLong()
+    var slot = slotOf(key)
+    while (edgeKeys[slot] != EMPTY) {
+      slot = (slot + 1) and edgeMask
+    }
+    edgeKeys[slot] = key
+    edgeValues[slot] = child
+  }
+
+  private fun slotOf(key: Long): Int =
+    ((key * HASH_MULTIPLIER) ushr 32).toInt() and edgeMask
+
+  /**
+   * 一次匹配结果
+   *
+   * @property start Int 开始位置
+   * @property end Int 结束位置（不含）
+   * @property needle String 匹配到的子字符串
+   */
+  data class Match(val start: Int, val end: Int, val needle: String)
+
+  companion object {
+
+    private const val ASCII_LIMIT = 128
+    private const val EMPTY = -1L
+    private const val HASH_MULTIPLIER = -0x61c8864680b583ebL
+
+    private fun foldCase(c: Char): Char =
+      if (c.code < ASCII_LIMIT) {
+        if (c in 'A'..'Z') c + ('a' - 'A') else c
+      } else {
+        Character.toLowerCase(Character.toUpperCase(c))
+      }
+
+    /**
+     * 构建多模式匹配器
+     *
+     * @param needles Collection<String> 需要查找的子字符串，不能包含空字符串
+     * @param caseSensitive Boolean 区分大小写，默认true
+     * @return MultiMatcher
+     * @throws StringException
+     */
+    @JvmStatic
+    @JvmOverloads
+    fun of(needles: Collection<String>, caseSensitive: Boolean = true): MultiMatcher =
+      MultiMatcher(
+        if (caseSensitive) needles.distinct() else needles.distinctBy { needle -> needle.map(::foldCase) },
+        caseSensitive
+      )
+
+    /**
+     * 构建区分大小写的多模式匹配器
+     *
+     * @param needles Array<out String> 需要查找的子字符串，不能包含空字符串
+     * @return MultiMatcher
+     * @throws StringException
+     */
+    @JvmStatic
+    fun of(vararg needles: String): MultiMatcher =
+      MultiMatcher(needles.distinct(), true)
+  }
+}
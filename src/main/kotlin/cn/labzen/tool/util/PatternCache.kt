@@ -0,0 +1,92 @@
+@file:Suppress("unused")
+
+package cn.labzen.tool.util
+
+import java.util.concurrent.atomic.LongAdder
+import java.util.regex.Pattern
+
+/**
+ * 已编译正则表达式的共享缓存，[Strings]中所有接收正则表达式字符串的方法都通过这里获取[Pattern]
+ *
+ * > 按最近最少使用（LRU）淘汰，最多缓存[CAPACITY]个，避免动态拼接的正则表达式无限占用内存；
+ * > 通过[stats]可查看命中与未命中次数，判断缓存是否有效
+ *
+ * ```java
+ * // 与 Pattern.compile("\\d+") 相同，重复调用时直接返回缓存的实例
+ * Pattern pattern = PatternCache.compile("\\d+");
+ * ```
+ */
+object PatternCache {
+
+  /**
+   * 缓存的最大数量
+   */
+  const val CAPACITY = 256
+
+  private val cache = object : LinkedHashMap<String, Pattern>(CAPACITY * 4 / 3 + 1, 0.75f, true) {
+    override fun removeEldestEntry(eldest: MutableMap.MutableEntry<String, Pattern>?): Boolean =
+      size > CAPACITY
+  }
+
+  private val hits = LongAdder()
+  private val misses = LongAdder()
+
+  /**
+   * 获取编译后的正则表达式，不存在时编译并缓存
+   *
+   * @param regex String 正则表达式
+   * @return Pattern
+   * @throws java.util.regex.PatternSyntaxException 正则表达式语法错误时抛出
+   */
+  @JvmStatic
+  fun compile(regex: String): Pattern {
+    synchronized(cache) {
+      cache[regex]
+    }?.let {
+      hits.increment()
+      return it
+    }
+
+    misses.increment()
+    // 编译在锁外进行，并发编译同一个表达式时保留先放入的实例
+    val compiled = Pattern.compile(regex)
+    synchronized(cache) {
+      return cache.putIfAbsent(regex, compiled) ?: compiled
+    }
+  }
+
+  /**
+   * 当前的缓存统计
+   */
+  @JvmStatic
+  fun stats(): Stats =
+    Stats(hits.sum(), misses.sum(), synchronized(cache) { cache.size })
+
+  /**
+   * 清空缓存与统计
+   */
+  @JvmStatic
+  fun clear() {
+    synchronized(cache) {
+      cache.clear()
+    }
+    hits.reset()
+    misses.reset()
+  }
+
+  /**
+   * 缓存统计
+   *
+   * @property hits Long 命中次数
+   * @property misses Long 未命中（编译）次数
+   * @property size Int 当前缓存的数量
+   */
+  data class Stats(val hits: Long, val misses: Long, val size: Int) {
+
+    /**
+     * 命中率，没有请求时为0
+     */
+    fun hitRate(): Double =
+      (hits + misses).let { if (it == 0L) 0.0 else hits.toDouble() / it }
+  }
+}
@@ -0,0 +1,394 @@
+package cn.labzen.tool.util
+
+import java.io.IOException
+import java.io.InputStream
+import java.io.OutputStream
+import java.io.Reader
+import java.io.Writer
+import java.nio.CharBuffer
+import java.nio.charset.StandardCharsets
+
+/**
+ * [Bytes]中Base64、Base32编解码的实现，二者都是把字节按固定位数（6位、5位）分组后查表
+ *
+ * > 每组[bytesPerGroup]个字节（Base64为3，Base32为5）读入一个long，再按[bits]位依次取出[charsPerGroup]个字符（4、8）；
+ * > 解码反之。编码结果先写入ASCII字节，再按ISO-8859-1构造字符串，不创建中间字符串
+ *
+ * > 解码时补位的'='可有可无，需要补位的编码（[padding]）在输出时补齐
+ *
+ * @param alphabet 字母表，长度为2的[bits]次方
+ * @param bits 每个字符表示的位数
+ * @param padding 编码时是否用'='补齐最后一组
+ * @param caseInsensitive 解码时是否不区分大小写
+ * @param aliases 解码时额外接受的字符及其对应的值
+ */
+internal class RadixCodec(
+  alphabet: String,
+  private val bits: Int,
+  private val padding: Boolean,
+  caseInsensitive: Boolean = false,
+  aliases: Map<Char, Int> = emptyMap()
+) : StreamingTextCodec {
+
+  private val charsPerGroup = if (bits == 6) 4 else 8
+  private val bytesPerGroup = charsPerGroup * bits / 8
+  private val mask = (1 shl bits) - 1
+
+  private val symbols = ByteArray(alphabet.length) { alphabet[it].code.toByte() }
+
+  private val digits = ByteArray(ASCII_LIMIT) { INVALID }.also { digits ->
+    alphabet.forEachIndexed { i, c ->
+      digits[c.code] = i.toByte()
+      if (caseInsensitive) {
+        digits[c.lowercaseChar().code] = i.toByte()
+      }
+    }
+    aliases.forEach { (c, value) -> digits[c.code] = value.toByte() }
+  }
+
+  override fun maxEncodedLength(length: Int): Int {
+    val groups = length / bytesPerGroup
+    val rest = length % bytesPerGroup
+    val tail = if (rest == 0) 0 else if (padding) charsPerGroup else (rest * 8 + bits - 1) / bits
+    val total = groups.toLong() * charsPerGroup + tail
+    require(total <= Int.MAX_VALUE) { "编码后的长度超出了数组的最大长度：$total" }
+    return total.toInt()
+  }
+
+  override fun maxDecodedLength(length: Int): Int =
+    (length.toLong() * bits / 8).toInt()
+
+  // ===================================================================================================================
+
+  override fun encode(bytes: ByteArray, offset: Int, length: Int, target: ByteArray, targetOffset: Int): Int {
+    checkRange(bytes.size, offset, length)
+    val size = maxEncodedLength(length)
+    checkRange(target.size, targetOffset, size)
+    encodeGroups(bytes, offset, length) { index, symbol -> target[targetOffset + index] = symbol }
+    return size
+  }
+
+  override fun encode(bytes: ByteArray, offset: Int, length: Int, target: CharArray, targetOffset: Int): Int {
+    checkRange(bytes.size, offset, length)
+    val size = maxEncodedLength(length)
+    checkRange(target.size, targetOffset, size)
+    encodeGroups(bytes, offset, length) { index, symbol -> target[targetOffset + index] = symbol.toInt().toChar() }
+    return size
+  }
+
+  /**
+   * 编码的主体，[put]接收字符在结果中的下标与字符的ASCII值；内联展开后对不同的目标类型各生成一份循环
+   */
+  private inline fun encodeGroups(bytes: ByteArray, offset: Int, length: Int, put: (Int, Byte) -> Unit) {
+    val symbols = symbols
+    var s = offset
+    var t = 0
+    val fullEnd = offset + length / bytesPerGroup * bytesPerGroup
+    if (bits == 6) {
+      // Base64：每3个字节为一组，单独展开
+      while (s < fullEnd) {
+        val group = ((bytes[s].toInt() and 0xFF) shl 16) or
+          ((bytes[s + 1].toInt() and 0xFF) shl 8) or
+          (bytes[s + 2].toInt() and 0xFF)
+        put(t, symbols[group ushr 18])
+        put(t + 1, symbols[(group ushr 12) and 0x3F])
+        put(t + 2, symbols[(group ushr 6) and 0x3F])
+        put(t + 3, symbols[group and 0x3F])
+        s += 3
+        t += 4
+      }
+    } else {
+      while (s < fullEnd) {
+        var group = 0L
+        for (k in 0 until bytesPerGroup) {
+          group = (group shl 8) or (bytes[s + k].toLong() and 0xFF)
+        }
+        for (k in charsPerGroup - 1 downTo 0) {
+          put(t + k, symbols[group.toInt() and mask])
+          group = group ushr bits
+        }
+        s += bytesPerGroup
+        t += charsPerGroup
+      }
+    }
+
+    val rest = offset + length - s
+    if (rest > 0) {
+      // 不足一组的字节左对齐后按整组处理，只输出有效的字符
+      var group = 0L
+      for (k in 0 until bytesPerGroup) {
+        group = (group shl 8) or (if (k < rest) bytes[s + k].toLong() and 0xFF else 0)
+      }
+      val chars = (rest * 8 + bits - 1) / bits
+      for (k in 0 until chars) {
+        put(t++, symbols[(group ushr (bits * (charsPerGroup - 1 - k))).toInt() and mask])
+      }
+      if (padding) {
+        for (k in chars until charsPerGroup) {
+          put(t++, PAD.code.toByte())
+        }
+      }
+    }
+  }
+
+  override fun encode(bytes: ByteArray, offset: Int, length: Int): String {
+    val ascii = ByteArray(maxEncodedLength(length))
+    encode(bytes, offset, length, ascii, 0)
+    return String(ascii, StandardCharsets.ISO_8859_1)
+  }
+
+  // ===================================================================================================================
+
+  /**
+   * 去掉末尾补位的'='后的有效字符数
+   */
+  private fun effectiveLength(text: CharSequence, offset: Int, length: Int): Int {
+    var end = offset + length
+    while (end > offset && text[end - 1] == PAD && offset + length - end < charsPerGroup - 1) end--
+    val effective = end - offset
+    if (effective != length) {
+      require(length % charsPerGroup == 0) { "补位后的长度不是${charsPerGroup}的倍数：$length" }
+    }
+    val rest = effective % charsPerGroup
+    require(rest == 0 || rest * bits / 8 != (rest - 1) * bits / 8) { "编码的长度非法：$length" }
+    return effective
+  }
+
+  override fun decode(text: CharSequence): ByteArray {
+    val effective = effectiveLength(text, 0, text.length)
+    val target = ByteArray(maxDecodedLength(effective))
+    decodeEffective(text, 0, effective, target, 0)
+    return target
+  }
+
+  override fun decode(text: CharSequence, offset: Int, length: Int, target: ByteArray, targetOffset: Int): Int {
+    checkRange(text.length, offset, length)
+    val effective = effectiveLength(text, offset, length)
+    checkRange(target.size, targetOffset, maxDecodedLength(effective))
+    return decodeEffective(text, offset, effective, target, targetOffset)
+  }
+
+  private fun decodeEffective(text: CharSequence, offset: Int, length: Int, target: ByteArray, targetOffset: Int): Int {
+    var s = offset
+    var t = targetOffset
+    val fullEnd = offset + length / charsPerGroup * charsPerGroup
+    if (bits == 6) {
+      while (s < fullEnd) {
+        // 非法字符查表得到-1，移位后仍为负数，整组只需检查一次
+        val group = (lookup(text[s]) shl 18) or (lookup(text[s + 1]) shl 12) or
+          (lookup(text[s + 2]) shl 6) or lookup(text[s + 3])
+        if (group < 0) {
+          for (k in 0 until 4) digit(text, s + k)
+        }
+        target[t] = (group ushr 16).toByte()
+        target[t + 1] = (group ushr 8).toByte()
+        target[t + 2] = group.toByte()
+        s += 4
+        t += 3
+      }
+    } else {
+      while (s < fullEnd) {
+        var group = 0L
+        for (k in 0 until charsPerGroup) {
+          group = (group shl bits) or digit(text, s + k).toLong()
+        }
+        for (k in bytesPerGroup - 1 downTo 0) {
+          target[t + k] = group.toByte()
+          group = group ushr 8
+        }
+        s += charsPerGroup
+        t += bytesPerGroup
+      }
+    }
+
+    val rest = offset + length - s
+    if (rest > 0) {
+      var group = 0L
+      for (k in 0 until charsPerGroup) {
+        group = (group shl bits) or (if (k < rest) digit(text, s + k).toLong() else 0)
+      }
+      val bytes = rest * bits / 8
+      for (k in 0 until bytes) {
+        target[t++] = (group ushr (8 * (bytesPerGroup - 1 - k))).toByte()
+      }
+    }
+    return t - targetOffset
+  }
+
+  private fun lookup(c: Char): Int =
+    if (c.code < ASCII_LIMIT) digits[c.code].toInt() else -1
+
+  private fun digit(text: CharSequence, index: Int): Int {
+    val c = text[index]
+    val d = lookup(c)
+    if (d < 0) {
+      throw IllegalArgumentException("非法的字符 '$c'，位置：$index")
+    }
+    return d
+  }
+
+  // ===================================================================================================================
+
+  override fun encodingStream(writer: Writer): OutputStream =
+    EncodingOutputStream(writer)
+
+  override fun decodingStream(reader: Reader): InputStream =
+    DecodingInputStream(reader)
+
+  /**
+   * 写入的字节凑满整组后分段编码并写入[writer]，关闭时编码最后不足一组的字节（按需补位）并关闭[writer]
+   */
+  private inner class EncodingOutputStream(private val writer: Writer) : OutputStream() {
+
+    private val bytes = ByteArray(CHUNK_GROUPS * bytesPerGroup)
+    private val chars = CharArray(CHUNK_GROUPS * charsPerGroup)
+    private var count = 0
+    private var closed = false
+
+    override fun write(b: Int) {
+      bytes[count++] = b.toByte()
+      if (count == bytes.size) flushGroups()
+    }
+
+    override fun write(b: ByteArray, off: Int, len: Int) {
+      checkRange(b.size, off, len)
+      var s = off
+      var remaining = len
+      while (remaining > 0) {
+        val n = minOf(remaining, bytes.size - count)
+        System.arraycopy(b, s, bytes, count, n)
+        count += n
+        s += n
+        remaining -= n
+        if (count == bytes.size) flushGroups()
+      }
+    }
+
+    /**
+     * 只写出已凑满的组，不足一组的字节要等到后续写入或关闭
+     */
+    override fun flush() {
+      flushGroups()
+      writer.flush()
+    }
+
+    override fun close() {
+      if (closed) return
+      closed = true
+      val encoded = encode(bytes, 0, count, chars, 0)
+      writer.write(chars, 0, encoded)
+      count = 0
+      writer.close()
+    }
+
+    private fun flushGroups() {
+      val full = count / bytesPerGroup * bytesPerGroup
+      if (full == 0) return
+      val encoded = encode(bytes, 0, full, chars, 0)
+      writer.write(chars, 0, encoded)
+      System.arraycopy(bytes, full, bytes, 0, count - full)
+      count -= full
+    }
+  }
+
+  /**
+   * 从[reader]读取字符并解码，忽略其中的空白字符（如换行），遇到补位的'='即结束；关闭时同时关闭[reader]
+   */
+  private inner class DecodingInputStream(private val reader: Reader) : InputStream() {
+
+    private val chars = CharArray(CHUNK_GROUPS * charsPerGroup)
+    private val input = CharArray(CHUNK_GROUPS * charsPerGroup)
+    private val decoded = ByteArray(CHUNK_GROUPS * bytesPerGroup)
+    private var decodedLength = 0
+    private var decodedPosition = 0
+
+    /**
+     * [chars]中已收集、尚未解码的有效字符数
+     */
+    private var pending = 0
+    private var eof = false
+
+    override fun read(): Int {
+      if (decodedPosition == decodedLength && !fill()) return -1
+      return decoded[decodedPosition++].toInt() and 0xFF
+    }
+
+    override fun read(b: ByteArray, off: Int, len: Int): Int {
+      checkRange(b.size, off, len)
+      if (len == 0) return 0
+
+      var n = 0
+      while (n < len) {
+        if (decodedPosition == decodedLength && !fill()) break
+        val copy = minOf(len - n, decodedLength - decodedPosition)
+        System.arraycopy(decoded, decodedPosition, b, off + n, copy)
+        decodedPosition += copy
+        n += copy
+      }
+      return if (n == 0) -1 else n
+    }
+
+    override fun close() {
+      reader.close()
+    }
+
+    private fun fill(): Boolean {
+      // 至少凑满一组，或读到结束
+      while (!eof && pending < charsPerGroup) {
+        val read = reader.read(input, 0, chars.size - pending)
+        if (read < 0) {
+          eof = true
+          break
+        }
+        for (k in 0 until read) {
+          val c = input[k]
+          if (c.isWhitespace()) continue
+          if (c == PAD) {
+            // 补位之后的内容被忽略
+            eof = true
+            break
+          }
+          chars[pending++] = c
+        }
+      }
+
+      val length = if (eof) pending else pending / charsPerGroup * charsPerGroup
+      if (length == 0) return false
+
+      decodedLength = try {
+        decodeEffective(CharBuffer.wrap(chars, 0, length), 0, checkTail(length), decoded, 0)
+      } catch (e: IllegalArgumentException) {
+        throw IOException(e.message, e)
+      }
+      decodedPosition = 0
+      System.arraycopy(chars, length, chars, 0, pending - length)
+      pending -= length
+      return true
+    }
+
+    private fun checkTail(length: Int): Int {
+      val rest = length % charsPerGroup
+      if (rest != 0 && rest * bits / 8 == (rest - 1) * bits / 8) {
+        throw IOException("编码的长度非法，末尾多出${rest}个字符")
+      }
+      return length
+    }
+  }
+
+  companion object {
+    private const val INVALID: Byte = -1
+    private const val ASCII_LIMIT = 128
+    private const val PAD = '='
+
+    /**
+     * 流式编解码时每次处理的组数
+     */
+    private const val CHUNK_GROUPS = 1024
+
+    private fun checkRange(size: Int, offset: Int, length: Int) {
+      if (offset < 0 || length < 0 || offset > size - length) {
+        throw IndexOutOfBoundsException("size: $size, offset: $offset, length: $length")
+      }
+    }
+  }
+}
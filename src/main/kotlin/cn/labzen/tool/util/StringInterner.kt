@@ -0,0 +1,178 @@
+@file:Suppress("unused")
+
+package cn.labzen.tool.util
+
+import cn.labzen.tool.exception.ArgumentsException
+import cn.labzen.tool.kotlin.throwRuntimeIf
+import java.util.concurrent.atomic.LongAdder
+
+/**
+ * 有界的字符串去重池，内容相同的字符串总是返回同一个实例，适用于导入CSV、Excel时大量重复的城市、状态、分类等取值
+ *
+ * > 按内容的哈希值（与String.hashCode()一致）直接映射到固定数量的槽位，哈希冲突的字符串互相替换，只保留最近使用的一个，
+ * > 内存占用有上限；不使用锁，槽位中保存的是不可变对象，并发读写最多导致一次未命中
+ *
+ * > 命中时不创建任何对象：传入char[]区间或CharSequence时直接与池中的字符串比较内容，只有未命中时才创建新的String
+ *
+ * ```java
+ * StringInterner interner = new StringInterner(1024);
+ * char[] row = "杭州,已完成".toCharArray();
+ * // 两次返回同一个实例
+ * String city = interner.intern(row, 0, 2);
+ * String same = interner.intern("杭州");
+ * ```
+ *
+ * @param capacity Int 槽位数量，向上取整为2的幂
+ */
+class StringInterner(capacity: Int) {
+
+  private class Entry(val hash: Int, val value: String, val footprint: Int)
+
+  private val table: Array<Entry?>
+  private val mask: Int
+
+  private val hits = LongAdder()
+  private val misses = LongAdder()
+  private val saved = LongAdder()
+
+  init {
+    (capacity <= 0 || capacity > MAXIMUM_CAPACITY).throwRuntimeIf {
+      ArgumentsException("去重池的容量超出了范围：1 - $MAXIMUM_CAPACITY")
+    }
+    var size = 1
+    while (size < capacity) size = size shl 1
+    table = arrayOfNulls(size)
+    mask = size - 1
+  }
+
+  /**
+   * 返回与[source]内容相同的规范字符串，[source]本身是String且未命中时，将其作为规范字符串
+   */
+  fun intern(source: CharSequence): String {
+    val hash = if (source is String || source is StringSlice) source.hashCode() else hashOf(source)
+    val slot = slotOf(hash)
+    val entry = table[slot]
+    if (entry != null && entry.hash == hash && contentEquals(entry.value, source)) {
+      return hit(entry, entry.value !== source)
+    }
+
+    return miss(slot, hash, source.toString())
+  }
+
+  /**
+   * 返回与[chars]中[offset]开始的[length]个字符内容相同的规范字符串
+   */
+  fun intern(chars: CharArray, offset: Int, length: Int): String {
+    (offset < 0 || length < 0 || offset + length > chars.size).throwRuntimeIf {
+      ArgumentsException("字符数组区间越界：[size=${chars.size}, offset=$offset, length=$length]")
+    }
+
+    var hash = 0
+    for (i in offset until offset + length) {
+      hash = 31 * hash + chars[i].code
+    }
+    val slot = slotOf(hash)
+    val entry = table[slot]
+    if (entry != null && entry.hash == hash && contentEquals(entry.value, chars, offset, length)) {
+      return hit(entry, true)
+    }
+
+    return miss(slot, hash, String(chars, offset, length))
+  }
+
+  /**
+   * 当前的去重统计
+   */
+  fun stats(): Stats {
+    var size = 0
+    for (entry in table) {
+      if (entry != null) size++
+    }
+    return Stats(hits.sum(), misses.sum(), saved.sum(), size)
+  }
+
+  /**
+   * 清空去重池与统计
+   */
+  fun clear() {
+    table.fill(null)
+    hits.reset()
+    misses.reset()
+    saved.reset()
+  }
+
+  /**
+   * @param duplicated 是否避免了一个重复的字符串，传入的就是池中的实例时为false
+   */
+  private fun hit(entry: Entry, duplicated: Boolean): String {
+    hits.increment()
+    if (duplicated) {
+      saved.add(entry.footprint.toLong())
+    }
+    return entry.value
+  }
+
+  private fun miss(slot: Int, hash: Int, value: String): String {
+    misses.increment()
+    table[slot] = Entry(hash, value, footprintOf(value))
+    return value
+  }
+
+  private fun slotOf(hash: Int): Int =
+    (hash xor (hash ushr 16)) and mask
+
+  /**
+   * 去重统计
+   *
+   * @property hits Long 命中次数
+   * @property misses Long 未命中（新建或收录字符串）次数
+   * @property savedBytes Long 命中时避免的重复字符串占用的内存估算（字节），按压缩字符串的布局计算（Latin-1字符1字节，其余2字节）
+   * @property size Int 当前池中的字符串数量
+   */
+  data class Stats(val hits: Long, val misses: Long, val savedBytes: Long, val size: Int)
+
+  companion object {
+
+    private const val MAXIMUM_CAPACITY = 1 shl 24
+
+    /**
+     * String对象头与字段，以及其byte[]对象头的大小（64位JVM，开启压缩指针）
+     */
+    private const val STRING_SHALLOW_SIZE = 24
+    private const val ARRAY_HEADER_SIZE = 16
+
+    private fun hashOf(source: CharSequence): Int {
+      var hash = 0
+      for (i in 0 until source.length) {
+        hash = 31 * hash + source[i].code
+      }
+      return hash
+    }
+
+    private fun contentEquals(value: String, source: CharSequence): Boolean =
+      when (source) {
+        is String -> value == source
+        is StringSlice -> source.contentEquals(value)
+        else -> value.contentEquals(source)
+      }
+
+    private fun contentEquals(value: String, chars: CharArray, offset: Int, length: Int): Boolean {
+      if (value.length != length) return false
+      for (i in 0 until length) {
+        if (value[i] != chars[offset + i]) return false
+      }
+      return true
+    }
+
+    private fun footprintOf(value: String): Int {
+      var bytesPerChar = 1
+      for (c in value) {
+        if (c.code > 0xFF) {
+          bytesPerChar = 2
+          break
+        }
+      }
+      return STRING_SHALLOW_SIZE + ((ARRAY_HEADER_SIZE + value.length * bytesPerChar + 7) and 7.inv())
+    }
+  }
+}
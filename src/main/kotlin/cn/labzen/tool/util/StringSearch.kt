@@ -0,0 +1,182 @@
+package cn.labzen.tool.util
+
+/**
+ * 子字符串查找内核，供[Strings.times]、[Strings.cut]、[Strings.lastUntil]、[Strings.frontUntil]使用
+ *
+ * > 区分大小写时直接使用String.indexOf/lastIndexOf，JVM对其有内建的SIMD实现，单字符与短子字符串都无需再做处理；
+ * > 但它们不能限定查找的终点，查找范围只是源字符串的一部分（如[StringSlice]）时，改为在范围内逐个比较首字符
+ *
+ * > 不区分大小写时，子字符串在构建时一次性折叠（先转大写再转小写，与Kotlin的ignoreCase比较规则一致），源字符串中的字符
+ * > 通过ASCII折叠表转换，不再对每个字符调用Character.toUpperCase/toLowerCase；子字符串较长时使用Boyer–Moore–Horspool
+ * > 算法，按折叠后字符的低8位建立跳转表，每次不匹配时可跳过多个字符
+ *
+ * > 同一子字符串需要反复查找时（如统计出现次数），复用同一个实例，跳转表只需构建一次
+ */
+internal class StringSearch private constructor(private val needle: String, private val caseSensitive: Boolean) {
+
+  private val length = needle.length
+
+  /**
+   * 折叠后的子字符串，区分大小写时为null
+   */
+  private val folded: CharArray? =
+    if (caseSensitive) null else CharArray(length) { fold(needle[it]) }
+
+  /**
+   * Boyer–Moore–Horspool跳转表，子字符串较短或区分大小写时为null
+   */
+  private val shifts: IntArray? =
+    if (folded == null || length < HORSPOOL_MIN_LENGTH) null else IntArray(SHIFT_TABLE_SIZE) { length }.also {
+      // 低8位相同的字符共用一个位置，按下标递增依次覆盖，保留的是其中最小（最安全）的跳转距离
+      for (i in 0 until length - 1) {
+        it[folded[i].code and SHIFT_MASK] = length - 1 - i
+      }
+    }
+
+  /**
+   * 在[source]的[from]到[to]（不含）范围内查找，返回第一次出现的位置，没有时返回-1
+   */
+  fun indexOf(source: String, from: Int = 0, to: Int = source.length): Int {
+    val start = maxOf(from, 0)
+    if (length == 0) {
+      return if (start <= to) start else -1
+    }
+    if (folded == null) {
+      // 只有查找范围到源字符串末尾时，String.indexOf才不会扫描范围之外的字符
+      return if (to >= source.length) source.indexOf(needle, start) else indexOfExact(source, start, to)
+    }
+
+    return when {
+      length == 1 -> indexOfChar(source, start, to, folded[0])
+      shifts == null -> indexOfShort(source, start, to, folded)
+      else -> indexOfHorspool(source, start, to, folded, shifts)
+    }
+  }
+
+  /**
+   * 在[source]的[from]到[to]（不含）范围内查找，返回最后一次出现的位置，没有时返回-1
+   */
+  fun lastIndexOf(source: String, from: Int = 0, to: Int = source.length): Int {
+    val start = maxOf(from, 0)
+    if (folded == null) {
+      // 同理，只有查找范围从源字符串开头开始时，才交给String.lastIndexOf
+      if (start > 0 && length > 0) return lastIndexOfExact(source, start, to)
+      val found = source.lastIndexOf(needle, to - length)
+      return if (found < start) -1 else found
+    }
+
+    var i = minOf(to, source.length) - length
+    if (length == 0) {
+      return if (i < start) -1 else i
+    }
+
+    val first = folded[0]
+    while (i >= start) {
+      if (fold(source[i]) == first && regionMatches(source, i, folded)) {
+        return i
+      }
+      i--
+    }
+    return -1
+  }
+
+  /**
+   * 在[source]的[from]到[to]（不含）范围内，不重叠的出现次数
+   */
+  fun count(source: String, from: Int = 0, to: Int = source.length): Int {
+    if (length == 0) return 0
+
+    var count = 0
+    var position = indexOf(source, from, to)
+    while (position >= 0) {
+      count++
+      position = indexOf(source, position + length, to)
+    }
+    return count
+  }
+
+  // ===================================================================================================================
+
+  /**
+   * 区分大小写，只在[from]到[to]的范围内查找，用于[StringSlice]等源字符串远长于查找范围的情况
+   */
+  private fun indexOfExact(source: String, from: Int, to: Int): Int {
+    val first = needle[0]
+    for (i in from..to - length) {
+      if (source[i] == first && source.regionMatches(i + 1, needle, 1, length - 1)) return i
+    }
+    return -1
+  }
+
+  private fun lastIndexOfExact(source: String, from: Int, to: Int): Int {
+    val first = needle[0]
+    for (i in minOf(to, source.length) - length downTo from) {
+      if (source[i] == first && source.regionMatches(i + 1, needle, 1, length - 1)) return i
+    }
+    return -1
+  }
+
+  private fun indexOfChar(source: String, from: Int, to: Int, target: Char): Int {
+    for (i in from until to) {
+      if (fold(source[i]) == target) return i
+    }
+    return -1
+  }
+
+  private fun indexOfShort(source: String, from: Int, to: Int, folded: CharArray): Int {
+    val first = folded[0]
+    for (i in from..to - length) {
+      if (fold(source[i]) == first && regionMatches(source, i, folded)) return i
+    }
+    return -1
+  }
+
+  private fun indexOfHorspool(source: String, from: Int, to: Int, folded: CharArray, shifts: IntArray): Int {
+    val last = length - 1
+    val tail = folded[last]
+    val end = to - length
+    var i = from
+    while (i <= end) {
+      val c = fold(source[i + last])
+      if (c == tail) {
+        var j = last - 1
+        while (j >= 0 && fold(source[i + j]) == folded[j]) {
+          j--
+        }
+        if (j < 0) return i
+      }
+      i += shifts[c.code and SHIFT_MASK]
+    }
+    return -1
+  }
+
+  private fun regionMatches(source: String, offset: Int, folded: CharArray): Boolean {
+    for (j in 1 until length) {
+      if (fold(source[offset + j]) != folded[j]) return false
+    }
+    return true
+  }
+
+  companion object {
+
+    private const val ASCII_LIMIT = 128
+
+    /**
+     * 子字符串长度达到该值时才使用Boyer–Moore–Horspool，更短时跳转距离有限，不足以抵消构建跳转表的开销
+     */
+    private const val HORSPOOL_MIN_LENGTH = 4
+    private const val SHIFT_TABLE_SIZE = 256
+    private const val SHIFT_MASK = SHIFT_TABLE_SIZE - 1
+
+    private val ASCII_FOLDED = CharArray(ASCII_LIMIT) {
+      val c = it.toChar()
+      if (c in 'A'..'Z') c + ('a' - 'A') else c
+    }
+
+    private fun fold(c: Char): Char =
+      if (c.code < ASCII_LIMIT) ASCII_FOLDED[c.code] else Character.toLowerCase(Character.toUpperCase(c))
+
+    fun of(needle: String, caseSensitive: Boolean): StringSearch =
+      StringSearch(needle, caseSensitive)
+  }
+}
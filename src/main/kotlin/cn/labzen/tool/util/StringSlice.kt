@@ -0,0 +1,185 @@
+@file:Suppress("unused")
+
+package cn.labzen.tool.util
+
+import cn.labzen.tool.exception.StringException
+import cn.labzen.tool.kotlin.throwRuntimeIf
+
+/**
+ * 字符串切片，以起始下标与长度表示[source]中的一段内容，不复制字符
+ *
+ * > 连续对字符串做截取、修剪、切分等处理时（如解析器中），使用切片代替中间产生的String，只在最终需要时调用[toString]复制一次；
+ * > [toString]的结果会被缓存，切片覆盖整个源字符串时直接返回源字符串
+ *
+ * > [hashCode]与内容相同的String一致；[equals]只在两个切片之间比较内容，与String比较内容时使用[contentEquals]
+ *
+ * ```java
+ * StringSlice slice = StringSlice.of("key = value; other");
+ * // return "value"
+ * Strings.trim(Strings.frontUntil(Strings.lastUntil(slice, "="), ";"), " ").toString();
+ * ```
+ */
+class StringSlice private constructor(
+  private val source: String,
+  private val offset: Int,
+  override val length: Int
+) : CharSequence, Comparable<StringSlice> {
+
+  private var hash = 0
+  private var string: String? = null
+
+  /**
+   * 切片在源字符串中的开始下标
+   */
+  val start: Int
+    get() = offset
+
+  /**
+   * 切片在源字符串中的结束下标（不含）
+   */
+  val end: Int
+    get() = offset + length
+
+  /**
+   * 源字符串
+   */
+  fun source(): String = source
+
+  override fun get(index: Int): Char {
+    if (index < 0 || index >= length) {
+      throw IndexOutOfBoundsException("index: $index, length: $length")
+    }
+    return source[offset + index]
+  }
+
+  override fun subSequence(startIndex: Int, endIndex: Int): StringSlice =
+    slice(startIndex, endIndex)
+
+  /**
+   * 切片中的一段，下标相对于当前切片
+   *
+   * @param startIndex Int 开始下标
+   * @param endIndex Int 结束下标（不含）
+   * @return StringSlice
+   */
+  fun slice(startIndex: Int, endIndex: Int): StringSlice {
+    if (startIndex < 0 || endIndex > length || startIndex > endIndex) {
+      throw IndexOutOfBoundsException("start: $startIndex, end: $endIndex, length: $length")
+    }
+    return if (startIndex == 0 && endIndex == length) {
+      this
+    } else {
+      StringSlice(source, offset + startIndex, endIndex - startIndex)
+    }
+  }
+
+  fun isEmpty(): Boolean = length == 0
+
+  @JvmOverloads
+  fun indexOf(c: Char, from: Int = 0): Int {
+    val found = source.indexOf(c, offset + maxOf(from, 0))
+    return if (found < 0 || found >= end) -1 else found - offset
+  }
+
+  @JvmOverloads
+  fun indexOf(looking4: String, from: Int = 0): Int {
+    val found = StringSearch.of(looking4, true).indexOf(source, offset + maxOf(from, 0), end)
+    return if (found < 0) -1 else found - offset
+  }
+
+  fun lastIndexOf(looking4: String): Int {
+    val found = StringSearch.of(looking4, true).lastIndexOf(source, offset, end)
+    return if (found < 0) -1 else found - offset
+  }
+
+  fun startsWith(prefix: String): Boolean =
+    prefix.length <= length && source.startsWith(prefix, offset)
+
+  fun endsWith(suffix: String): Boolean =
+    suffix.length <= length && source.startsWith(suffix, end - suffix.length)
+
+  /**
+   * 去掉两侧的空白字符（规则同String.trim()）
+   */
+  fun trim(): StringSlice {
+    var from = offset
+    var to = end
+    while (from < to && source[from] <= ' ') from++
+    while (from < to && source[to - 1] <= ' ') to--
+    return slice(from - offset, to - offset)
+  }
+
+  /**
+   * 内容是否与[other]相同
+   */
+  fun contentEquals(other: CharSequence?): Boolean {
+    if (other == null || other.length != length) return false
+    if (other is String) return source.regionMatches(offset, other, 0, length)
+    if (other is StringSlice) return source.regionMatches(offset, other.source, other.offset, length)
+    for (i in 0 until length) {
+      if (source[offset + i] != other[i]) return false
+    }
+    return true
+  }
+
+  /**
+   * 将切片内容追加到[target]中，不产生中间字符串
+   */
+  fun appendTo(target: StringBuilder): StringBuilder =
+    target.append(source, offset, end)
+
+  override fun equals(other: Any?): Boolean =
+    this === other || (other is StringSlice && contentEquals(other))
+
+  /**
+   * 与内容相同的String.hashCode()一致
+   */
+  override fun hashCode(): Int {
+    var h = hash
+    if (h == 0 && length > 0) {
+      for (i in offset until end) {
+        h = 31 * h + source[i].code
+      }
+      hash = h
+    }
+    return h
+  }
+
+  override fun compareTo(other: StringSlice): Int {
+    val limit = minOf(length, other.length)
+    for (i in 0 until limit) {
+      val c1 = source[offset + i]
+      val c2 = other.source[other.offset + i]
+      if (c1 != c2) return c1 - c2
+    }
+    return length - other.length
+  }
+
+  override fun toString(): String =
+    string ?: (if (offset == 0 && length == source.length) source else source.substring(offset, end)).also {
+      string = it
+    }
+
+  companion object {
+
+    /**
+     * 整个字符串的切片
+     */
+    @JvmStatic
+    fun of(source: String): StringSlice =
+      StringSlice(source, 0, source.length)
+
+    /**
+     * 字符串中[start]到[end]（不含）的切片
+     *
+     * @throws StringException 下标越界时抛出
+     */
+    @JvmStatic
+    fun of(source: String, start: Int, end: Int): StringSlice {
+      (start < 0 || end > source.length || start > end).throwRuntimeIf {
+        StringException("字符串切片下标越界：[size=${source.length}, start=$start, end=$end]")
+      }
+      return StringSlice(source, start, end - start)
+    }
+  }
+}
@@ -4,6 +4,8 @@ import cn.labzen.tool.bean.Pair
 import cn.labzen.tool.exception.StringException
 import cn.labzen.tool.kotlin.throwRuntimeIf
 import com.google.common.base.Ascii
+import java.io.IOException
+import java.io.Reader
 import kotlin.math.abs
 
 object Strings {
@@ -26,13 +28,13 @@ object Strings {
   /**
    * 如果参数[source]字符串值，匹配[pattern]，则替换为[replacement]，否则返回[source]
    * @param source String? 任意对象
-   * @param pattern String 匹配正则表达式
+   * @param pattern String 匹配正则表达式，编译结果缓存在[PatternCache]中
    * @param replacement String 替代字符串
    * @return String? 匹配[pattern]的字符串替换为[replacement]，否则原样返回
    */
   @JvmStatic
   fun value(source: String?, pattern: String, replacement: String): String? =
-    if (source?.matches(Regex(pattern)) == true) replacement else source
+    if (source != null && PatternCache.compile(pattern).matcher(source).matches()) replacement else source
 
   // ===================================================================================================================
 
@@ -249,30 +251,67 @@ object Strings {
    */
   @JvmStatic
   @JvmOverloads
-  fun trim(source: String, redundant: String, place: Int = 0): String {
-    if (redundant === "") return source
+  fun trim(source: String, redundant: String, place: Int = 0): String =
+    trimming(source, 0, source.length, redundant, place) { start, end ->
+      if (start > 0 || end < source.length) source.substring(start, end) else source
+    }
+
+  /**
+   * 对切片修剪指定的字符串redundant，规则同[trim]，返回的切片与[source]共享源字符串
+   *
+   * @param source StringSlice 字符串切片
+   * @param redundant String 需被修剪的字符串
+   * @param place Int 修剪方向，0修剪两侧，负数修剪右侧，正数修剪左侧，默认0
+   * @return StringSlice
+   */
+  @JvmStatic
+  @JvmOverloads
+  fun trim(source: StringSlice, redundant: String, place: Int = 0): StringSlice =
+    trimming(source.source(), source.start, source.end, redundant, place) { start, end ->
+      source.slice(start - source.start, end - source.start)
+    }
+
+  /**
+   * 在[source]的[from]到[to]（不含）范围内修剪，将修剪后的范围交给[result]
+   */
+  private inline fun <T> trimming(
+    source: String,
+    from: Int,
+    to: Int,
+    redundant: String,
+    place: Int,
+    result: (Int, Int) -> T
+  ): T {
+    if (redundant.isEmpty()) return result(from, to)
 
-    val length = source.length
     val step = redundant.length
-    var start = 0
-    var end = length
+    var start = from
+    var end = to
 
     if (place >= 0) {
-      while (start < end && source.indexOf(redundant, start) == start) {
+      while (start + step <= end && source.startsWith(redundant, start)) {
         start += step
       }
     }
 
     if (place <= 0) {
-      while (start < end && source.lastIndexOf(redundant, end - 1) == (end - step)) {
+      while (end - step >= start && lastIndexOf(source, redundant, end - 1, to) == end - step) {
         end -= step
       }
     }
 
-    return if (start > 0 || end < length)
-      source.substring(start, end)
-    else
-      source
+    return result(start, end)
+  }
+
+  /**
+   * 在[source]中[to]之前，从[from]开始向前查找[looking4]
+   */
+  private fun lastIndexOf(source: String, looking4: String, from: Int, to: Int): Int {
+    var found = source.lastIndexOf(looking4, from)
+    while (found >= 0 && found + looking4.length > to) {
+      found = source.lastIndexOf(looking4, found - 1)
+    }
+    return found
   }
 
   // ===================================================================================================================
@@ -321,10 +360,28 @@ object Strings {
    * @throws StringException 如果截取子字符串的长度超过可截取范围，则抛出异常
    */
   @JvmStatic
-  fun sub(source: String, start: Int, length: Int): String {
-    val size = source.length
+  fun sub(source: String, start: Int, length: Int): String =
+    subbing(source.length, start, length, "") { from, to -> source.substring(from, to) }
+
+  /**
+   * 截取切片中指定下标开始之前/之后的部分，规则同[sub]，返回的切片与[source]共享源字符串
+   *
+   * @param source StringSlice 字符串切片
+   * @param start Int 开始下标
+   * @param length Int 截取长度及方向
+   * @return StringSlice 子切片
+   * @throws StringException 如果截取子字符串的长度超过可截取范围，则抛出异常
+   */
+  @JvmStatic
+  fun sub(source: StringSlice, start: Int, length: Int): StringSlice =
+    subbing(source.length, start, length, source.slice(0, 0)) { from, to -> source.slice(from, to) }
+
+  /**
+   * 计算[sub]的截取范围，将范围交给[result]，截取长度为0时返回[empty]
+   */
+  private inline fun <T> subbing(size: Int, start: Int, length: Int, empty: T, result: (Int, Int) -> T): T {
     if (length == 0 || size == 0) {
-      return ""
+      return empty
     }
     (abs(length) > size).throwRuntimeIf { StringException("截取子字符串长度大于源字符串") }
 
@@ -335,7 +392,7 @@ object Strings {
     (forward && po2 < 0).throwRuntimeIf { StringException("字符串截取开始下标越界：[size=$size, start=$po2, end=$po1]") }
     (!forward && po2 > size).throwRuntimeIf { StringException("字符串截取结束下标越界：[size=$size, start=$po1, end=$po2]") }
 
-    return if (forward) source.substring(po2 + 1, po1 + 1) else source.substring(po1, po2)
+    return if (forward) result(po2 + 1, po1 + 1) else result(po1, po2)
   }
 
   /**
@@ -352,30 +409,70 @@ object Strings {
   @JvmStatic
   fun between(source: String, start: Char, end: Char): List<String> {
     val ret = mutableListOf<String>()
-    var tmp: StringBuilder? = null
-    var foundOne = false
-    source.toCharArray().forEach {
-      when {
-        !foundOne && it == start -> {
-          tmp = StringBuilder()
-          foundOne = true
-        }
-
-        foundOne && it == end -> {
-          ret.add(tmp.toString())
-          tmp = null
-          foundOne = false
-        }
+    var position = 0
+    while (true) {
+      val from = source.indexOf(start, position)
+      if (from < 0) break
+      val to = source.indexOf(end, from + 1)
+      if (to < 0) break
 
-        else -> {
-          tmp?.append(it)
-          tmp?.run {
-          }
-        }
-      }
+      ret.add(source.substring(from + 1, to))
+      position = to + 1
     }
 
-    return ret.toList()
+    return ret
+  }
+
+  /**
+   * 惰性地获取指定的字符区间的内容，规则与[between]一致
+   *
+   * > 每段内容都是[source]的只读视图（不复制字符），只在遍历到时才继续查找下一段，适用于从大段文本中提取标记的场景；
+   * > 需要长期持有某段内容时，调用其toString()复制出来
+   * ```java
+   * // "abc", "def"
+   * for (CharSequence tag : SequencesKt.asIterable(Strings.betweenSequence("[abc] xyz [def]", '[', ']'))) {
+   * }
+   * ```
+   * @param source CharSequence 字符串
+   * @param start Char 开始字符
+   * @param end Char 结束字符
+   * @return Sequence<CharSequence> 只能遍历一次
+   */
+  @JvmStatic
+  fun betweenSequence(source: CharSequence, start: Char, end: Char): Sequence<CharSequence> =
+    Betweens.CharSequenceIterator(source, start, end).asSequence()
+
+  private const val BETWEEN_MAX_LENGTH = 65536
+
+  /**
+   * 流式地从[reader]中获取指定的字符区间的内容，规则与[between]一致
+   *
+   * > 分块读取，只保留当前正在截取的一段内容，可以常量内存处理任意大小的文件。[reader]由调用方负责关闭，
+   * > 遍历过程中读取出错时抛出[java.io.UncheckedIOException]
+   *
+   * > 每段内容最多保留[maxLength]个字符，超过的一段（包括缺少[end]、一直延续到末尾的一段）被整段跳过，不会出现在结果中，
+   * > 内存占用不超过[maxLength]加上8K字符的读取缓冲
+   * ```java
+   * try (Reader reader = Files.newBufferedReader(path)) {
+   *   Strings.betweenSequence(reader, '[', ']').iterator().forEachRemaining(tag -> {});
+   * }
+   * ```
+   * @param reader Reader 字符输入流
+   * @param start Char 开始字符
+   * @param end Char 结束字符
+   * @param maxLength Int 每段内容的最大字符数，默认64K
+   * @return Sequence<String> 只能遍历一次
+   */
+  @JvmStatic
+  @JvmOverloads
+  fun betweenSequence(
+    reader: Reader,
+    start: Char,
+    end: Char,
+    maxLength: Int = BETWEEN_MAX_LENGTH
+  ): Sequence<String> {
+    (maxLength < 0).throwRuntimeIf { StringException("截取内容的最大长度不能为负数") }
+    return Betweens.ReaderIterator(reader, start, end, maxLength).asSequence()
   }
 
   /**
@@ -393,21 +490,39 @@ object Strings {
    */
   @JvmStatic
   @JvmOverloads
-  fun cut(source: String, separator: String, caseSensitive: Boolean = true): Pair<String, String>? =
-    if (times(source, separator, caseSensitive) == 1) {
-      source.split(separator).let { Pair(it[0], it[1]) }
-    } else null
+  fun cut(source: String, separator: String, caseSensitive: Boolean = true): Pair<String, String>? {
+    if (separator.isEmpty()) return null
 
-  // ===================================================================================================================
+    val search = StringSearch.of(separator, caseSensitive)
+    val idx = search.indexOf(source)
+    if (idx < 0 || search.indexOf(source, idx + separator.length) >= 0) return null
+
+    return Pair(source.substring(0, idx), source.substring(idx + separator.length))
+  }
+
+  /**
+   * 按分隔符切分切片为两部分，规则同[cut]，返回的两个切片与[source]共享源字符串
+   *
+   * @param source StringSlice 字符串切片
+   * @param separator String 分隔符，必须唯一，否则返回null
+   * @param caseSensitive Boolean 区分大小写，默认true
+   * @return Pair<StringSlice, StringSlice> 分隔符两边的切片
+   */
+  @JvmStatic
+  @JvmOverloads
+  fun cut(source: StringSlice, separator: String, caseSensitive: Boolean = true): Pair<StringSlice, StringSlice>? {
+    if (separator.isEmpty()) return null
 
-  private const val DELIMITER_START = '{'
-  private const val DELIMITER_STR = "{}"
-  private const val ESCAPE_CHAR = '\\'
+    val search = StringSearch.of(separator, caseSensitive)
+    val idx = search.indexOf(source.source(), source.start, source.end)
+    if (idx < 0 || search.indexOf(source.source(), idx + separator.length, source.end) >= 0) return null
 
-  private fun formatArguments(buf: StringBuilder, o: Any?) {
-    buf.append(o?.toString() ?: "[null]")
+    val at = idx - source.start
+    return Pair(source.slice(0, at), source.slice(at + separator.length, source.length))
   }
 
+  // ===================================================================================================================
+
   /**
    * 格式化字符串，使用可变数量参数代替掉字符串中出现的{}
    * ```
@@ -431,49 +546,8 @@ object Strings {
    * @return String 格式化后的字符串
    */
   @JvmStatic
-  fun format(pattern: String, arguments: Iterable<Any?>): String {
-    var start = 0
-    var cur: Int
-    var ai = 0
-    val buf = StringBuilder()
-
-    val args = arguments.toList()
-
-    while (ai < args.size) {
-      val arg = args[ai]?.toString()
-      cur = pattern.indexOf(DELIMITER_STR, start)
-
-      if (cur == -1) break
-
-      var escaped = false
-      if (cur > 0) {
-        val c = at(pattern, cur - 1)
-        escaped = c == ESCAPE_CHAR
-      }
-      if (escaped) {
-        val c = at(pattern, cur - 2)
-        start = if (c == ESCAPE_CHAR) {
-          buf.append(pattern, start, cur - 1)
-          formatArguments(buf, arg)
-          cur + 2
-        } else {
-          ai--
-          buf.append(pattern, start, cur - 1)
-          buf.append(DELIMITER_START)
-          cur + 1
-        }
-      } else {
-        buf.append(pattern, start, cur)
-        formatArguments(buf, arg)
-        start = cur + 2
-      }
-
-      ai++
-    }
-
-    buf.append(pattern, start, pattern.length)
-    return buf.toString()
-  }
+  fun format(pattern: String, arguments: Iterable<Any?>): String =
+    CompiledFormat.cached(pattern).format(arguments)
 
   /**
    * 格式化字符串，使用可变数量参数代替掉字符串中出现的{}
@@ -500,7 +574,127 @@ object Strings {
    * @return String 格式化后的字符串
    */
   @JvmStatic
-  fun format(pattern: String, vararg arguments: Any?): String = format(pattern, arguments.asList())
+  fun format(pattern: String, vararg arguments: Any?): String = CompiledFormat.cached(pattern).render(arguments)
+
+  /**
+   * 格式化字符串，并直接写入到[target]中，不产生中间字符串，规则与[format]一致
+   * ```
+   * // sb: "a=1,b=2"
+   * Strings.formatTo(sb, "a={},b={}", 1, 2)
+   * ```
+   * > 1~4个参数的重载不会创建可变参数数组，单个基本类型参数的重载不会装箱
+   *
+   * @param target StringBuilder 目标
+   * @param pattern String 格式化字符串
+   * @param arguments Array<out Any?> 参数
+   * @return StringBuilder [target]
+   */
+  @JvmStatic
+  fun formatTo(target: StringBuilder, pattern: String, vararg arguments: Any?): StringBuilder =
+    target.also { CompiledFormat.cached(pattern).renderTo(it, arguments) }
+
+  @JvmStatic
+  fun formatTo(target: StringBuilder, pattern: String, argument: Any?): StringBuilder =
+    CompiledFormat.cached(pattern).formatTo(target, argument)
+
+  @JvmStatic
+  fun formatTo(target: StringBuilder, pattern: String, first: Any?, second: Any?): StringBuilder =
+    CompiledFormat.cached(pattern).formatTo(target, first, second)
+
+  @JvmStatic
+  fun formatTo(target: StringBuilder, pattern: String, first: Any?, second: Any?, third: Any?): StringBuilder =
+    CompiledFormat.cached(pattern).formatTo(target, first, second, third)
+
+  @JvmStatic
+  fun formatTo(
+    target: StringBuilder,
+    pattern: String,
+    first: Any?,
+    second: Any?,
+    third: Any?,
+    fourth: Any?
+  ): StringBuilder =
+    CompiledFormat.cached(pattern).formatTo(target, first, second, third, fourth)
+
+  @JvmStatic
+  fun formatTo(target: StringBuilder, pattern: String, argument: Int): StringBuilder =
+    CompiledFormat.cached(pattern).formatTo(target, argument)
+
+  @JvmStatic
+  fun formatTo(target: StringBuilder, pattern: String, argument: Long): StringBuilder =
+    CompiledFormat.cached(pattern).formatTo(target, argument)
+
+  @JvmStatic
+  fun formatTo(target: StringBuilder, pattern: String, argument: Double): StringBuilder =
+    CompiledFormat.cached(pattern).formatTo(target, argument)
+
+  @JvmStatic
+  fun formatTo(target: StringBuilder, pattern: String, argument: Boolean): StringBuilder =
+    CompiledFormat.cached(pattern).formatTo(target, argument)
+
+  @JvmStatic
+  fun formatTo(target: StringBuilder, pattern: String, argument: Char): StringBuilder =
+    CompiledFormat.cached(pattern).formatTo(target, argument)
+
+  /**
+   * 格式化字符串，并直接写入到[target]（如Writer、CharBuffer等）中，不产生中间字符串，规则与[format]一致
+   *
+   * > 1~4个参数的重载不会创建可变参数数组，单个基本类型参数的重载不会装箱
+   *
+   * @param target Appendable 目标
+   * @param pattern String 格式化字符串
+   * @param arguments Array<out Any?> 参数
+   * @return Appendable [target]
+   */
+  @JvmStatic
+  @Throws(IOException::class)
+  fun formatTo(target: Appendable, pattern: String, vararg arguments: Any?): Appendable =
+    target.also { CompiledFormat.cached(pattern).renderTo(it, arguments) }
+
+  @JvmStatic
+  @Throws(IOException::class)
+  fun formatTo(target: Appendable, pattern: String, argument: Any?): Appendable =
+    CompiledFormat.cached(pattern).formatTo(target, argument)
+
+  @JvmStatic
+  @Throws(IOException::class)
+  fun formatTo(target: Appendable, pattern: String, first: Any?, second: Any?): Appendable =
+    CompiledFormat.cached(pattern).formatTo(target, first, second)
+
+  @JvmStatic
+  @Throws(IOException::class)
+  fun formatTo(target: Appendable, pattern: String, first: Any?, second: Any?, third: Any?): Appendable =
+    CompiledFormat.cached(pattern).formatTo(target, first, second, third)
+
+  @JvmStatic
+  @Throws(IOException::class)
+  fun formatTo(target: Appendable, pattern: String, first: Any?, second: Any?, third: Any?, fourth: Any?): Appendable =
+    CompiledFormat.cached(pattern).formatTo(target, first, second, third, fourth)
+
+  @JvmStatic
+  @Throws(IOException::class)
+  fun formatTo(target: Appendable, pattern: String, argument: Int): Appendable =
+    CompiledFormat.cached(pattern).formatTo(target, argument)
+
+  @JvmStatic
+  @Throws(IOException::class)
+  fun formatTo(target: Appendable, pattern: String, argument: Long): Appendable =
+    CompiledFormat.cached(pattern).formatTo(target, argument)
+
+  @JvmStatic
+  @Throws(IOException::class)
+  fun formatTo(target: Appendable, pattern: String, argument: Double): Appendable =
+    CompiledFormat.cached(pattern).formatTo(target, argument)
+
+  @JvmStatic
+  @Throws(IOException::class)
+  fun formatTo(target: Appendable, pattern: String, argument: Boolean): Appendable =
+    CompiledFormat.cached(pattern).formatTo(target, argument)
+
+  @JvmStatic
+  @Throws(IOException::class)
+  fun formatTo(target: Appendable, pattern: String, argument: Char): Appendable =
+    CompiledFormat.cached(pattern).formatTo(target, argument)
 
   // ===================================================================================================================
 
@@ -530,22 +724,50 @@ object Strings {
    */
   @JvmStatic
   @JvmOverloads
-  fun times(source: String, looking4: String, caseSensitive: Boolean = true): Int {
-    if (looking4 === "") return 0
+  fun times(source: String, looking4: String, caseSensitive: Boolean = true): Int =
+    StringSearch.of(looking4, caseSensitive).count(source)
 
-    var times = 0
-    var position = 0
-    while (true) {
-      position = source.indexOf(looking4, position, !caseSensitive)
-      if (position == -1) {
-        break
-      }
-      position += looking4.length
-      times++
-    }
+  // ===================================================================================================================
 
-    return times
-  }
+  private const val DEDUP_CAPACITY = 16384
+
+  /**
+   * 共享的字符串去重池
+   */
+  private val interner = StringInterner(DEDUP_CAPACITY)
+
+  /**
+   * 字符串去重，内容相同时返回同一个实例，用于导入数据时大量重复的取值（城市、状态、分类等），减少堆中重复的字符串
+   * ```java
+   * // 返回同一个实例
+   * Strings.dedup(new String("杭州")) == Strings.dedup(new StringBuilder("杭州"));
+   * ```
+   * @param source CharSequence 字符串
+   * @return String 规范字符串，命中时不创建新的对象
+   * @see StringInterner
+   */
+  @JvmStatic
+  fun dedup(source: CharSequence): String =
+    interner.intern(source)
+
+  /**
+   * 字符数组区间的去重，命中时不创建新的String，规则同[dedup]
+   *
+   * @param chars CharArray 字符数组
+   * @param offset Int 开始下标
+   * @param length Int 长度
+   * @return String 规范字符串
+   */
+  @JvmStatic
+  fun dedup(chars: CharArray, offset: Int, length: Int): String =
+    interner.intern(chars, offset, length)
+
+  /**
+   * 共享去重池的统计，包括命中次数与估算节省的内存
+   */
+  @JvmStatic
+  fun dedupStats(): StringInterner.Stats =
+    interner.stats()
 
   // ===================================================================================================================
 
@@ -559,7 +781,45 @@ object Strings {
    * @return String
    */
   @JvmStatic
-  fun simplify(source: String): String = source.replace(Regex("\\s+"), " ").trim()
+  fun simplify(source: String): String {
+    var start = 0
+    var end = source.length
+    while (start < end && source[start].isWhitespace()) start++
+    while (end > start && source[end - 1].isWhitespace()) end--
+
+    // 只有两侧需要修剪，或中间有需要替换/合并的空白字符时，才创建新的字符串
+    var clean = true
+    var i = start
+    while (i < end && clean) {
+      val c = source[i]
+      if (isRegexSpace(c) && (c != ' ' || isRegexSpace(source[i + 1]))) clean = false
+      i++
+    }
+    if (clean) {
+      return if (start == 0 && end == source.length) source else source.substring(start, end)
+    }
+
+    val chars = CharArray(end - start)
+    var length = 0
+    var inSpace = false
+    for (j in start until end) {
+      val c = source[j]
+      if (isRegexSpace(c)) {
+        if (!inSpace) chars[length++] = ' '
+        inSpace = true
+      } else {
+        chars[length++] = c
+        inSpace = false
+      }
+    }
+    return String(chars, 0, length)
+  }
+
+  /**
+   * 正则表达式中\s匹配的字符：[ \t\n\x0B\f\r]
+   */
+  private fun isRegexSpace(c: Char): Boolean =
+    c == ' ' || c in '\t'..'\r'
 
   // ===================================================================================================================
 
@@ -632,64 +892,6 @@ object Strings {
       Ascii.toUpperCase(this)
     }
 
-  private val sectionSpaceCharacters = arrayOf(' ', '-', '_', '\r', '\n', '\t')
-  private fun slicingStrings(source: String, toLowercase: Boolean? = null): List<String> {
-    if (source.isEmpty()) return emptyList()
-
-    val result = mutableListOf<String>()
-    val currentString = StringBuilder()
-
-    var i = 0
-    while (i < source.length) {
-      val char = source[i]
-      if (sectionSpaceCharacters.contains(char)) {
-        if (currentString.isNotEmpty()) {
-          result.add(
-            when (toLowercase) {
-              null -> currentString.toString()
-              true -> currentString.toString().lowercase()
-              false -> currentString.toString().uppercase()
-            }
-          )
-          currentString.clear()
-        }
-
-        // 跳过连续的特殊字符
-        while (i < source.length && sectionSpaceCharacters.contains(source[i])) {
-          i++
-        }
-        continue
-      }
-
-      if (char.isUpperCase() && currentString.isNotEmpty()) {
-        result.add(
-          when (toLowercase) {
-            null -> currentString.toString()
-            true -> currentString.toString().lowercase()
-            false -> currentString.toString().uppercase()
-          }
-        )
-        currentString.clear()
-      }
-
-      currentString.append(char)
-      i++
-    }
-
-    // 添加最后一个
-    if (currentString.isNotEmpty()) {
-      result.add(
-        when (toLowercase) {
-          null -> currentString.toString()
-          true -> currentString.toString().lowercase()
-          false -> currentString.toString().uppercase()
-        }
-      )
-    }
-
-    return result
-  }
-
   /**
    * 转换成驼峰式，首字母大写
    * ```
@@ -703,11 +905,13 @@ object Strings {
    * Strings.studlyCase("   "));
    * ```
    * @param source String 字符串
+   * @param cached Boolean 是否缓存转换结果，适用于反复转换同一批标识符（如字段名）的场景，默认false
    * @return String 大写驼峰命名
    */
   @JvmStatic
-  fun studlyCase(source: String): String =
-    slicingStrings(source, true).joinToString("") { w -> toUpperCase(w, 0, 1) }
+  @JvmOverloads
+  fun studlyCase(source: String, cached: Boolean = false): String =
+    CaseConverter.STUDLY_CASE.convert(source, cached)
 
   /**
    * 转换成驼峰式，首字母小写
@@ -722,11 +926,13 @@ object Strings {
    * Strings.camelCase("   "));
    * ```
    * @param source String 字符串
+   * @param cached Boolean 是否缓存转换结果，适用于反复转换同一批标识符（如字段名）的场景，默认false
    * @return String 小写驼峰命名
    */
   @JvmStatic
-  fun camelCase(source: String): String =
-    toLowerCase(studlyCase(source), 0, 1)
+  @JvmOverloads
+  fun camelCase(source: String, cached: Boolean = false): String =
+    CaseConverter.CAMEL_CASE.convert(source, cached)
 
   /**
    * 转换成Snake Case，以下划线间隔
@@ -742,12 +948,13 @@ object Strings {
    * ```
    * @param source String 字符串
    * @param toLowercase 是否将所有字符转换为小写，默认null；null - 保持原字符，true - 转小写, false - 转大写
+   * @param cached Boolean 是否缓存转换结果，适用于反复转换同一批标识符（如字段名）的场景，默认false
    * @return String 蛇形命名
    */
   @JvmStatic
   @JvmOverloads
-  fun snakeCase(source: String, toLowercase: Boolean? = null): String =
-    slicingStrings(source, toLowercase).joinToString("_")
+  fun snakeCase(source: String, toLowercase: Boolean? = null, cached: Boolean = false): String =
+    CaseConverter.snakeCase(toLowercase).convert(source, cached)
 
   /**
    * 转换成Kebab Case，以短横线间隔
@@ -763,12 +970,13 @@ object Strings {
    * ```
    * @param source String 字符串
    * @param toLowercase 是否将所有字符转换为小写，默认null；null - 保持原字符，true - 转小写, false - 转大写
+   * @param cached Boolean 是否缓存转换结果，适用于反复转换同一批标识符（如字段名）的场景，默认false
    * @return String 短横线命名
    */
   @JvmStatic
   @JvmOverloads
-  fun kebabCase(source: String, toLowercase: Boolean? = null): String =
-    slicingStrings(source, toLowercase).joinToString("-")
+  fun kebabCase(source: String, toLowercase: Boolean? = null, cached: Boolean = false): String =
+    CaseConverter.kebabCase(toLowercase).convert(source, cached)
 
   // ===================================================================================================================
 
@@ -907,6 +1115,36 @@ object Strings {
     return looking4.any { source.contains(it, !caseSensitive) }
   }
 
+  /**
+   * 检查字符串中是否包含全部的子字符串（允许重叠），只需遍历一次源字符串
+   * ```
+   * MultiMatcher matcher = MultiMatcher.of(Lists.newArrayList("ab", "bc", "cD"));
+   * // return true
+   * Strings.haveAll("abcDEF001", matcher);
+   * ```
+   * @param source String 字符串
+   * @param matcher MultiMatcher 由预检查的子字符串构建的匹配器
+   * @return Boolean 子字符串全部包含在source中
+   */
+  @JvmStatic
+  fun haveAll(source: String, matcher: MultiMatcher): Boolean =
+    matcher.all(source)
+
+  /**
+   * 检查字符串中是否包含任意一个子字符串，只需遍历一次源字符串
+   * ```
+   * MultiMatcher matcher = MultiMatcher.of(Lists.newArrayList("aba", "cD", "002"));
+   * // return true
+   * Strings.haveAny("abcDEF001", matcher);
+   * ```
+   * @param source String 字符串
+   * @param matcher MultiMatcher 由预检查的子字符串构建的匹配器
+   * @return Boolean 最少有一个子字符串包含在source中
+   */
+  @JvmStatic
+  fun haveAny(source: String, matcher: MultiMatcher): Boolean =
+    matcher.any(source)
+
   // ===================================================================================================================
 
   /**
@@ -1015,6 +1253,22 @@ object Strings {
     return copy
   }
 
+  /**
+   * 删除字符串中出现的全部子字符串，只需遍历一次源字符串。子字符串有重叠时，优先删除开始位置靠前的，开始位置相同时删除较长的
+   * ```
+   * // return "xyz"
+   * Strings.remove("123xyz456", MultiMatcher.of("123", "456"));
+   * // return "_abc_"
+   * Strings.remove("123xyz456_abc_123xyz456", MultiMatcher.of("123", "456", "xyz"));
+   * ```
+   * @param source String 字符串
+   * @param matcher MultiMatcher 由需要删除的子字符串构建的匹配器
+   * @return String 删除后的字符串
+   */
+  @JvmStatic
+  fun remove(source: String, matcher: MultiMatcher): String =
+    matcher.removeAll(source)
+
   // ===================================================================================================================
 
   /**
@@ -1057,6 +1311,20 @@ object Strings {
   fun startsWith(source: String, caseSensitive: Boolean = true, vararg prefixes: String) =
     startsWith(source, caseSensitive, prefixes.toList())
 
+  /**
+   * 字符串是否以匹配器中任意一个子字符串开头，只需沿匹配器的字典树走一遍前缀
+   * ```
+   * // return true
+   * Strings.startsWith("123xyz456", MultiMatcher.of("789", "456", "123"));
+   * ```
+   * @param source String 字符串
+   * @param matcher MultiMatcher 由子字符串构建的匹配器，大小写是否敏感由匹配器决定
+   * @return Boolean 是否有一个子字符串是source的前缀
+   */
+  @JvmStatic
+  fun startsWith(source: String, matcher: MultiMatcher) =
+    matcher.isPrefixOf(source)
+
   /**
    * 字符串是否以指定的任意一个子字符串结尾
    * ```
@@ -1097,6 +1365,20 @@ object Strings {
   fun endsWith(source: String, caseSensitive: Boolean = true, vararg postfixes: String) =
     endsWith(source, caseSensitive, postfixes.toList())
 
+  /**
+   * 字符串是否以匹配器中任意一个子字符串结尾，只需遍历源字符串末尾不超过最长子字符串长度的部分
+   * ```
+   * // return true
+   * Strings.endsWith("123xyz456", MultiMatcher.of("789", "456", "123"));
+   * ```
+   * @param source String 字符串
+   * @param matcher MultiMatcher 由子字符串构建的匹配器，大小写是否敏感由匹配器决定
+   * @return Boolean 是否有一个子字符串是source的后缀
+   */
+  @JvmStatic
+  fun endsWith(source: String, matcher: MultiMatcher) =
+    matcher.isSuffixOf(source)
+
   /**
    * 确保字符串以给定的前缀开始
    * ```
@@ -1163,6 +1445,17 @@ object Strings {
     else
       source.substring(0, length - filler.length) + filler
 
+  /**
+   * 获取切片指定长度的缩略（不带填充物），返回的切片与[source]共享源字符串
+   *
+   * @param source StringSlice 字符串切片
+   * @param length Int 处理后的长度
+   * @return StringSlice
+   */
+  @JvmStatic
+  fun brief(source: StringSlice, length: Int): StringSlice =
+    source.slice(0, length)
+
   // ===================================================================================================================
 
   /**
@@ -1219,12 +1512,13 @@ object Strings {
    * @param source String 字符串
    * @param looking4 String 截取尾部字符串的标识字符
    * @param extend Boolean 为true时，结果字符串开头带有[looking4]
+   * @param caseSensitive Boolean 区分大小写，默认true
    * @return String 尾部的子字符串，如没有出现[looking4]，返回原字符串
    */
   @JvmStatic
   @JvmOverloads
-  fun lastUntil(source: String, looking4: String, extend: Boolean = false): String {
-    val idx = source.lastIndexOf(looking4)
+  fun lastUntil(source: String, looking4: String, extend: Boolean = false, caseSensitive: Boolean = true): String {
+    val idx = StringSearch.of(looking4, caseSensitive).lastIndexOf(source)
     return when {
       idx < 0 -> source
       extend -> source.substring(idx)
@@ -1232,6 +1526,30 @@ object Strings {
     }
   }
 
+  /**
+   * 获取切片最后的部分，直到出现参数[looking4]为止，规则同[lastUntil]，返回的切片与[source]共享源字符串
+   *
+   * @param source StringSlice 字符串切片
+   * @param looking4 String 截取尾部的标识字符
+   * @param extend Boolean 为true时，结果开头带有[looking4]
+   * @param caseSensitive Boolean 区分大小写，默认true
+   * @return StringSlice 尾部的切片，如没有出现[looking4]，返回原切片
+   */
+  @JvmStatic
+  @JvmOverloads
+  fun lastUntil(
+    source: StringSlice,
+    looking4: String,
+    extend: Boolean = false,
+    caseSensitive: Boolean = true
+  ): StringSlice {
+    val found = StringSearch.of(looking4, caseSensitive).lastIndexOf(source.source(), source.start, source.end)
+    if (found < 0) return source
+
+    val idx = found - source.start
+    return source.slice(if (extend) idx else idx + looking4.length, source.length)
+  }
+
   /**
    * 获取字符串最后的部分，直到出现参数[looking4]为止
    * ```
@@ -1245,22 +1563,47 @@ object Strings {
    * @param source String 字符串
    * @param looking4 String 截取开头字符串的标识字符
    * @param extend Boolean 为true时，结果字符串结尾带有[looking4]
+   * @param caseSensitive Boolean 区分大小写，默认true
    * @return String 开头的子字符串，如没有出现[looking4]，返回原字符串
    */
   @JvmStatic
   @JvmOverloads
-  fun frontUntil(source: String, looking4: String, extend: Boolean = false): String {
-    val idx = source.indexOf(looking4)
+  fun frontUntil(source: String, looking4: String, extend: Boolean = false, caseSensitive: Boolean = true): String {
+    val idx = StringSearch.of(looking4, caseSensitive).indexOf(source)
 
     return when {
       idx < 0 -> source
-      idx == 0 && extend -> looking4
+      idx == 0 && extend -> if (caseSensitive) looking4 else source.substring(0, looking4.length)
       idx == 0 -> ""
       extend -> source.substring(0, idx + looking4.length)
       else -> source.substring(0, idx)
     }
   }
 
+  /**
+   * 获取切片开头的部分，直到出现参数[looking4]为止，规则同[frontUntil]，返回的切片与[source]共享源字符串
+   *
+   * @param source StringSlice 字符串切片
+   * @param looking4 String 截取开头的标识字符
+   * @param extend Boolean 为true时，结果结尾带有[looking4]
+   * @param caseSensitive Boolean 区分大小写，默认true
+   * @return StringSlice 开头的切片，如没有出现[looking4]，返回原切片
+   */
+  @JvmStatic
+  @JvmOverloads
+  fun frontUntil(
+    source: StringSlice,
+    looking4: String,
+    extend: Boolean = false,
+    caseSensitive: Boolean = true
+  ): StringSlice {
+    val found = StringSearch.of(looking4, caseSensitive).indexOf(source.source(), source.start, source.end)
+    if (found < 0) return source
+
+    val idx = found - source.start
+    return source.slice(0, if (extend) idx + looking4.length else idx)
+  }
+
   // ===================================================================================================================
 
   /**
@@ -0,0 +1,51 @@
+package cn.labzen.tool.util
+
+import java.io.InputStream
+import java.io.OutputStream
+import java.io.Reader
+import java.io.Writer
+
+/**
+ * 字节与文本之间的编解码，[Bytes]中Base64、Base32、Base58等编码的统一入口
+ */
+internal interface TextCodec {
+
+  /**
+   * [length]个字节编码后的最大字符数，用于为[encode]准备目标空间
+   */
+  fun maxEncodedLength(length: Int): Int
+
+  /**
+   * [length]个字符解码后的最大字节数，用于为[decode]准备目标空间
+   */
+  fun maxDecodedLength(length: Int): Int
+
+  fun encode(bytes: ByteArray, offset: Int, length: Int): String
+
+  /**
+   * @return Int 写入[target]的字节数
+   */
+  fun encode(bytes: ByteArray, offset: Int, length: Int, target: ByteArray, targetOffset: Int): Int
+
+  /**
+   * @return Int 写入[target]的字符数
+   */
+  fun encode(bytes: ByteArray, offset: Int, length: Int, target: CharArray, targetOffset: Int): Int
+
+  fun decode(text: CharSequence): ByteArray
+
+  /**
+   * @return Int 写入[target]的字节数
+   */
+  fun decode(text: CharSequence, offset: Int, length: Int, target: ByteArray, targetOffset: Int): Int
+}
+
+/**
+ * 可以分组流式编解码的[TextCodec]，Base58需要对整个数据做进制转换，不在此列
+ */
+internal interface StreamingTextCodec : TextCodec {
+
+  fun encodingStream(writer: Writer): OutputStream
+
+  fun decodingStream(reader: Reader): InputStream
+}
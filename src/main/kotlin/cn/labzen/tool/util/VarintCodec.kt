@@ -0,0 +1,362 @@
+package cn.labzen.tool.util
+
+import java.lang.invoke.MethodHandles
+import java.nio.BufferUnderflowException
+import java.nio.ByteBuffer
+import java.nio.ByteOrder
+
+/**
+ * [Bytes]中变长整数编码的实现
+ *
+ * > varint：无符号LEB128，每字节低7位存数值，最高位表示后面还有字节，小端在前，long最多10个字节；
+ * > 有符号数先做zigzag变换（0, -1, 1, -2 ... 映射为 0, 1, 2, 3 ...），使绝对值小的负数也只占很少的字节
+ *
+ * > group varint：每4个值为一组，组前是2个字节（小端）的标记，每个值占4位，表示该值的字节数（0 - 8，值为0时不占字节），
+ * > 之后依次是每个值的小端字节。解码时按标记一次读出整个值，没有逐字节的分支判断，适合大批量的解码；
+ * > 最后一组不足4个值时，缺少的值标记为0，值的个数需要调用方另外保存
+ *
+ * > 所有方法都直接读写调用方提供的数组或缓冲区，不为每个值创建对象
+ */
+internal object VarintCodec {
+
+  const val MAX_VARINT_BYTES = 10
+
+  private const val GROUP_SIZE = 4
+  private const val GROUP_TAG_BYTES = 2
+
+  /**
+   * 字节数对应的掩码，下标为字节数（0 - 8）
+   */
+  private val MASKS = LongArray(9) { if (it == 8) -1L else (1L shl (it * 8)) - 1 }
+
+  private val LONG_LE = MethodHandles.byteArrayViewVarHandle(LongArray::class.java, ByteOrder.LITTLE_ENDIAN)
+
+  fun zigzag(value: Long): Long =
+    (value shl 1) xor (value shr 63)
+
+  fun unzigzag(value: Long): Long =
+    (value ushr 1) xor -(value and 1)
+
+  fun varintSize(value: Long): Int {
+    // 有效位数按7位一组向上取整，0占1个字节
+    val bits = 64 - (value or 1).countLeadingZeroBits()
+    return (bits + 6) / 7
+  }
+
+  fun maxGroupVarintBytes(count: Int): Int =
+    (count + GROUP_SIZE - 1) / GROUP_SIZE * GROUP_TAG_BYTES + count * 8
+
+  // ===================================================================================================================
+
+  fun putVarint(target: ByteArray, offset: Int, value: Long): Int {
+    var v = value
+    var i = offset
+    while (v and 0x7FL.inv() != 0L) {
+      target[i++] = ((v.toInt() and 0x7F) or 0x80).toByte()
+      v = v ushr 7
+    }
+    target[i++] = v.toByte()
+    return i
+  }
+
+  fun getVarint(source: ByteArray, offset: Int): Long {
+    var i = offset
+    var b = source[i++].toInt()
+    if (b >= 0) return b.toLong()
+
+    var result = (b and 0x7F).toLong()
+    var shift = 7
+    while (true) {
+      b = source[i++].toInt()
+      result = result or ((b and 0x7F).toLong() shl shift)
+      if (b >= 0) return result
+      shift += 7
+      if (shift >= MAX_VARINT_BYTES * 7) throw malformed(offset)
+    }
+  }
+
+  fun putVarint(buffer: ByteBuffer, value: Long) {
+    var v = value
+    while (v and 0x7FL.inv() != 0L) {
+      buffer.put(((v.toInt() and 0x7F) or 0x80).toByte())
+      v = v ushr 7
+    }
+    buffer.put(v.toByte())
+  }
+
+  fun getVarint(buffer: ByteBuffer): Long {
+    val start = buffer.position()
+    var b = buffer.get().toInt()
+    if (b >= 0) return b.toLong()
+
+    var result = (b and 0x7F).toLong()
+    var shift = 7
+    while (true) {
+      b = buffer.get().toInt()
+      result = result or ((b and 0x7F).toLong() shl shift)
+      if (b >= 0) return result
+      shift += 7
+      if (shift >= MAX_VARINT_BYTES * 7) throw malformed(start)
+    }
+  }
+
+  // ===================================================================================================================
+
+  fun putVarints(values: LongArray, valuesOffset: Int, count: Int, target: ByteArray, offset: Int, zigzag: Boolean): Int {
+    checkRange(values.size, valuesOffset, count)
+    var i = offset
+    for (index in valuesOffset until valuesOffset + count) {
+      val value = values[index]
+      i = putVarint(target, i, if (zigzag) zigzag(value) else value)
+    }
+    return i
+  }
+
+  fun getVarints(source: ByteArray, offset: Int, values: LongArray, valuesOffset: Int, count: Int, zigzag: Boolean): Int {
+    checkRange(values.size, valuesOffset, count)
+    var i = offset
+    for (index in valuesOffset until valuesOffset + count) {
+      // 单字节的值最常见，单独处理，避免进入循环
+      var b = source[i++].toInt()
+      var result: Long
+      if (b >= 0) {
+        result = b.toLong()
+      } else {
+        val start = i - 1
+        result = (b and 0x7F).toLong()
+        var shift = 7
+        do {
+          if (shift >= MAX_VARINT_BYTES * 7) throw malformed(start)
+          b = source[i++].toInt()
+          result = result or ((b and 0x7F).toLong() shl shift)
+          shift += 7
+        } while (b < 0)
+      }
+      values[index] = if (zigzag) unzigzag(result) else result
+    }
+    return i
+  }
+
+  fun putVarints(buffer: ByteBuffer, values: LongArray, valuesOffset: Int, count: Int, zigzag: Boolean) {
+    checkRange(values.size, valuesOffset, count)
+    if (buffer.hasArray() && buffer.remaining() >= count * MAX_VARINT_BYTES) {
+      val start = buffer.arrayOffset() + buffer.position()
+      val end = putVarints(values, valuesOffset, count, buffer.array(), start, zigzag)
+      buffer.position(buffer.position() + end - start)
+      return
+    }
+
+    for (index in valuesOffset until valuesOffset + count) {
+      val value = values[index]
+      putVarint(buffer, if (zigzag) zigzag(value) else value)
+    }
+  }
+
+  fun getVarints(buffer: ByteBuffer, values: LongArray, valuesOffset: Int, count: Int, zigzag: Boolean) {
+    checkRange(values.size, valuesOffset, count)
+    if (buffer.hasArray() && buffer.remaining() >= count * MAX_VARINT_BYTES) {
+      val start = buffer.arrayOffset() + buffer.position()
+      val end = getVarints(buffer.array(), start, values, valuesOffset, count, zigzag)
+      buffer.position(buffer.position() + end - start)
+      return
+    }
+
+    for (index in valuesOffset until valuesOffset + count) {
+      val value = getVarint(buffer)
+      values[index] = if (zigzag) unzigzag(value) else value
+    }
+  }
+
+  // ===================================================================================================================
+
+  fun putGroupVarints(
+    values: LongArray,
+    valuesOffset: Int,
+    count: Int,
+    target: ByteArray,
+    offset: Int,
+    zigzag: Boolean
+  ): Int {
+    checkRange(values.size, valuesOffset, count)
+    var i = offset
+    var index = valuesOffset
+    val end = valuesOffset + count
+    while (index < end) {
+      val tagOffset = i
+      i += GROUP_TAG_BYTES
+      var tag = 0
+      for (slot in 0 until minOf(GROUP_SIZE, end - index)) {
+        val value = values[index++].let { if (zigzag) zigzag(it) else it }
+        val size = (64 - value.countLeadingZeroBits() + 7) ushr 3
+        tag = tag or (size shl (slot shl 2))
+        var v = value
+        for (k in 0 until size) {
+          target[i++] = v.toByte()
+          v = v ushr 8
+        }
+      }
+      target[tagOffset] = tag.toByte()
+      target[tagOffset + 1] = (tag ushr 8).toByte()
+    }
+    return i
+  }
+
+  fun getGroupVarints(
+    source: ByteArray,
+    offset: Int,
+    values: LongArray,
+    valuesOffset: Int,
+    count: Int,
+    zigzag: Boolean
+  ): Int =
+    getGroupVarints(source, offset, source.size, values, valuesOffset, count, zigzag)
+
+  /**
+   * @param limit Int 只读取[limit]之前的字节
+   */
+  private fun getGroupVarints(
+    source: ByteArray,
+    offset: Int,
+    limit: Int,
+    values: LongArray,
+    valuesOffset: Int,
+    count: Int,
+    zigzag: Boolean
+  ): Int {
+    checkRange(values.size, valuesOffset, count)
+    var i = offset
+    var index = valuesOffset
+    val end = valuesOffset + count
+    // 整组的值（最多4 * 8字节）之后仍有至少8个字节时，每个值直接按小端读出一个long再按掩码截取，越过值末尾读到的字节不影响结果
+    val fastLimit = limit - GROUP_TAG_BYTES - GROUP_SIZE * 8 - 8
+    while (end - index >= GROUP_SIZE && i in 0..fastLimit) {
+      val tag = (source[i].toInt() and 0xFF) or ((source[i + 1].toInt() and 0xFF) shl 8)
+      i += GROUP_TAG_BYTES
+      var size = tag and 0x0F
+      val v0 = LONG_LE.get(source, i) as Long and mask(size, i)
+      i += size
+      size = (tag ushr 4) and 0x0F
+      val v1 = LONG_LE.get(source, i) as Long and mask(size, i)
+      i += size
+      size = (tag ushr 8) and 0x0F
+      val v2 = LONG_LE.get(source, i) as Long and mask(size, i)
+      i += size
+      size = tag ushr 12
+      val v3 = LONG_LE.get(source, i) as Long and mask(size, i)
+      i += size
+      if (zigzag) {
+        values[index] = unzigzag(v0)
+        values[index + 1] = unzigzag(v1)
+        values[index + 2] = unzigzag(v2)
+        values[index + 3] = unzigzag(v3)
+      } else {
+        values[index] = v0
+        values[index + 1] = v1
+        values[index + 2] = v2
+        values[index + 3] = v3
+      }
+      index += GROUP_SIZE
+    }
+
+    // 末尾剩余的组逐字节读取
+    while (index < end) {
+      if (i + GROUP_TAG_BYTES > limit) {
+        throw IndexOutOfBoundsException("size: $limit, offset: $i, length: $GROUP_TAG_BYTES")
+      }
+      val tag = (source[i].toInt() and 0xFF) or ((source[i + 1].toInt() and 0xFF) shl 8)
+      i += GROUP_TAG_BYTES
+      for (slot in 0 until minOf(GROUP_SIZE, end - index)) {
+        val size = (tag ushr (slot shl 2)) and 0x0F
+        if (size > 8) throw malformed(i)
+        if (i + size > limit) throw IndexOutOfBoundsException("size: $limit, offset: $i, length: $size")
+
+        var value = 0L
+        for (k in size - 1 downTo 0) {
+          value = (value shl 8) or (source[i + k].toLong() and 0xFF)
+        }
+        i += size
+        values[index++] = if (zigzag) unzigzag(value) else value
+      }
+    }
+    return i
+  }
+
+  /**
+   * 只按标记累加[count]个值的字节数，检查[offset]开始的编码是否都在[limit]之前
+   */
+  private fun groupVarintsFit(source: ByteArray, offset: Int, limit: Int, count: Int): Boolean {
+    var i = offset
+    var remaining = count
+    while (remaining > 0) {
+      if (i + GROUP_TAG_BYTES > limit) return false
+      val tag = (source[i].toInt() and 0xFF) or ((source[i + 1].toInt() and 0xFF) shl 8)
+      i += GROUP_TAG_BYTES
+      for (slot in 0 until minOf(GROUP_SIZE, remaining)) {
+        val size = (tag ushr (slot shl 2)) and 0x0F
+        if (size > 8) throw malformed(i)
+        i += size
+      }
+      remaining -= GROUP_SIZE
+    }
+    return i <= limit
+  }
+
+  private fun mask(size: Int, offset: Int): Long {
+    if (size > 8) throw malformed(offset)
+    return MASKS[size]
+  }
+
+  fun putGroupVarints(buffer: ByteBuffer, values: LongArray, valuesOffset: Int, count: Int, zigzag: Boolean) {
+    if (buffer.hasArray() && buffer.remaining() >= maxGroupVarintBytes(count)) {
+      val start = buffer.arrayOffset() + buffer.position()
+      val end = putGroupVarints(values, valuesOffset, count, buffer.array(), start, zigzag)
+      buffer.position(buffer.position() + end - start)
+    } else {
+      // 直接内存或空间可能不足时，先编码到临时数组再写入，空间不足时与ByteBuffer.put一样抛出BufferOverflowException
+      val encoded = ByteArray(maxGroupVarintBytes(count))
+      val length = putGroupVarints(values, valuesOffset, count, encoded, 0, zigzag)
+      buffer.put(encoded, 0, length)
+    }
+  }
+
+  fun getGroupVarints(buffer: ByteBuffer, values: LongArray, valuesOffset: Int, count: Int, zigzag: Boolean) {
+    if (buffer.hasArray()) {
+      val start = buffer.arrayOffset() + buffer.position()
+      val limit = buffer.arrayOffset() + buffer.limit()
+      val source = buffer.array()
+      // 只允许读到limit为止：先按标记检查字节是否足够，不足时在写入values之前抛出
+      checkRange(values.size, valuesOffset, count)
+      if (!groupVarintsFit(source, start, limit, count)) throw BufferUnderflowException()
+      val end = getGroupVarints(source, start, limit, values, valuesOffset, count, zigzag)
+      buffer.position(buffer.position() + end - start)
+      return
+    }
+
+    checkRange(values.size, valuesOffset, count)
+    var index = valuesOffset
+    val end = valuesOffset + count
+    while (index < end) {
+      val tag = (buffer.get().toInt() and 0xFF) or ((buffer.get().toInt() and 0xFF) shl 8)
+      for (slot in 0 until minOf(GROUP_SIZE, end - index)) {
+        val size = (tag ushr (slot shl 2)) and 0x0F
+        if (size > 8) throw malformed(buffer.position())
+        var value = 0L
+        for (k in 0 until size) {
+          value = value or ((buffer.get().toLong() and 0xFF) shl (k shl 3))
+        }
+        values[index++] = if (zigzag) unzigzag(value) else value
+      }
+    }
+  }
+
+  // ===================================================================================================================
+
+  private fun malformed(offset: Int) =
+    IllegalArgumentException("非法的变长整数编码，位置：$offset")
+
+  private fun checkRange(size: Int, offset: Int, length: Int) {
+    if (offset < 0 || length < 0 || offset > size - length) {
+      throw IndexOutOfBoundsException("size: $size, offset: $offset, length: $length")
+    }
+  }
+}
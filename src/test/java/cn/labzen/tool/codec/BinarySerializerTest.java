@@ -0,0 +1,163 @@
+package cn.labzen.tool.codec;
+
+import cn.labzen.tool.bean.Pair;
+import cn.labzen.tool.bean.StrictTriple;
+import cn.labzen.tool.bean.Quadruple;
+import cn.labzen.tool.exception.ArgumentsException;
+import cn.labzen.tool.exception.CodecException;
+import cn.labzen.tool.util.Bytes;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BinarySerializerTest {
+
+  @Test
+  void testBuiltin() {
+    Map<String, Object> map = new LinkedHashMap<>();
+    map.put("name", "杭州😀");
+    map.put("count", 42);
+    map.put("ids", new long[]{1, -2, Long.MAX_VALUE});
+    map.put(null, Arrays.asList(1.5, 2.5f, (short) 3, (byte) 4, 'c', true, null, Long.MIN_VALUE));
+    map.put("set", new LinkedHashSet<>(Arrays.asList("a", "b")));
+
+    Object restored = Bytes.deserialize(Bytes.serialize(map));
+    assertTrue(restored instanceof LinkedHashMap);
+    Map<?, ?> result = (Map<?, ?>) restored;
+    assertEquals(map.keySet(), result.keySet());
+    assertEquals("杭州😀", result.get("name"));
+    assertEquals(42, result.get("count"));
+    assertArrayEquals(new long[]{1, -2, Long.MAX_VALUE}, (long[]) result.get("ids"));
+    assertEquals(map.get(null), result.get(null));
+    assertEquals(map.get("set"), result.get("set"));
+
+    Pair<String, Integer> pair = new Pair<>("id", 7);
+    assertEquals(pair, Bytes.deserialize(Bytes.serialize(pair)));
+    StrictTriple<String, Integer, Boolean> triple = new StrictTriple<>("a", 1, false);
+    assertEquals(triple, Bytes.deserialize(Bytes.serialize(triple)));
+    Quadruple<Object, Object, Object, Object> quadruple = new Quadruple<>(null, "x", Collections.emptyList(), pair);
+    assertEquals(quadruple, Bytes.deserialize(Bytes.serialize(quadruple)));
+
+    // 比Java序列化小得多
+    assertTrue(Bytes.serialize(pair).length < 10);
+    assertArrayEquals(new byte[]{5, 0}, Bytes.serialize(0));
+    assertNull(Bytes.deserialize(Bytes.serialize(null)));
+  }
+
+  @Test
+  void testRegister() {
+    BinarySerializer serializer = new BinarySerializer()
+      .register(1, Point.class, new PointCodec())
+      .register(2, DayOfWeek.class)
+      // 数据类按主构造函数自动生成编解码器，注册后优先于内置的处理
+      .register(3, Pair.class);
+
+    List<Object> values = Arrays.asList(new Point(3, -4), DayOfWeek.FRIDAY, new Pair<>(new Point(1, 2), "p"));
+    byte[] bytes = serializer.serialize(values);
+    assertEquals(values, serializer.deserialize(bytes));
+    assertEquals(Point.class, serializer.deserialize(serializer.serialize(new Point(0, 0)), Point.class).getClass());
+
+    // 复用调用方的缓冲区
+    BinaryOutput output = new BinaryOutput(serializer);
+    serializer.serialize(values, output);
+    assertArrayEquals(bytes, output.toByteArray());
+    output.reset().writeString("head").writeObject(DayOfWeek.MONDAY);
+    BinaryInput input = new BinaryInput(output.array(), 0, output.size(), serializer);
+    assertEquals("head", input.readString());
+    assertEquals(DayOfWeek.MONDAY, input.readObject());
+    assertEquals(0, input.remaining());
+
+    assertThrows(ArgumentsException.class, () -> serializer.register(1, String.class, new StringCodec()));
+    assertThrows(ArgumentsException.class, () -> serializer.register(4, DayOfWeek.class));
+    assertThrows(ArgumentsException.class, () -> serializer.register(5, Object.class));
+    assertThrows(CodecException.class, () -> serializer.serialize(new Object()));
+    assertThrows(CodecException.class, () -> Bytes.deserialize(bytes));
+    assertThrows(CodecException.class, () -> serializer.deserialize(Arrays.copyOf(bytes, bytes.length - 1)));
+    assertThrows(CodecException.class, () -> serializer.deserialize(Arrays.copyOf(bytes, bytes.length + 1)));
+    assertThrows(CodecException.class, () -> serializer.deserialize(bytes, String.class));
+  }
+
+  @Test
+  void testEnumWithBody() {
+    BinarySerializer serializer = new BinarySerializer().register(1, Operation.class);
+    List<Operation> values = Arrays.asList(Operation.PLUS, Operation.MINUS);
+    assertEquals(values, serializer.deserialize(serializer.serialize(values)));
+    assertSame(Operation.MINUS, serializer.deserialize(serializer.serialize(Operation.MINUS), Operation.class));
+  }
+
+  @Test
+  void testNesting() {
+    List<Object> list = new ArrayList<>();
+    list.add(list);
+    assertThrows(CodecException.class, () -> Bytes.serialize(list));
+    // 异常后线程内复用的缓冲区仍然可用
+    assertEquals("ok", Bytes.deserialize(Bytes.serialize("ok")));
+  }
+
+  enum Operation {
+    PLUS {
+      @Override
+      int apply(int a, int b) {
+        return a + b;
+      }
+    },
+    MINUS {
+      @Override
+      int apply(int a, int b) {
+        return a - b;
+      }
+    };
+
+    abstract int apply(int a, int b);
+  }
+
+  static class Point {
+
+    final int x;
+    final int y;
+
+    Point(int x, int y) {
+      this.x = x;
+      this.y = y;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof Point && ((Point) o).x == x && ((Point) o).y == y;
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * x + y;
+    }
+  }
+
+  static class PointCodec implements BinaryCodec<Point> {
+
+    @Override
+    public void write(BinaryOutput output, Point value) {
+      output.writeInt(value.x).writeInt(value.y);
+    }
+
+    @Override
+    public Point read(BinaryInput input) {
+      return new Point(input.readInt(), input.readInt());
+    }
+  }
+
+  static class StringCodec implements BinaryCodec<String> {
+
+    @Override
+    public void write(BinaryOutput output, String value) {
+      output.writeString(value);
+    }
+
+    @Override
+    public String read(BinaryInput input) {
+      return input.readString();
+    }
+  }
+}
@@ -0,0 +1,34 @@
+package cn.labzen.tool.feature;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+
+public class CachedClockFormatterTest {
+
+  @Test
+  void testNow() {
+    DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    LocalDateTime before = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+    String text = CachedClockFormatter.now();
+    LocalDateTime after = LocalDateTime.now();
+
+    LocalDateTime parsed = LocalDateTime.parse(text, formatter);
+    Assertions.assertFalse(parsed.isBefore(before.minusSeconds(1)));
+    Assertions.assertFalse(parsed.isAfter(after));
+  }
+
+  @Test
+  void testNowWithMillis() {
+    DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
+    for (int i = 0; i < 2000; i++) {
+      String text = CachedClockFormatter.nowWithMillis();
+      Assertions.assertEquals(23, text.length());
+      LocalDateTime parsed = LocalDateTime.parse(text, formatter);
+      Assertions.assertTrue(Math.abs(ChronoUnit.MILLIS.between(parsed, LocalDateTime.now())) < 100);
+    }
+  }
+}
@@ -0,0 +1,345 @@
+package cn.labzen.tool.feature;
+
+import cn.labzen.tool.exception.ArgumentsException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+public class SnowflakeTest {
+
+  @Test
+  void testSequential() {
+    Snowflake synchronizedSnowflake = new Snowflake(1, 2);
+    Snowflake lockFreeSnowflake = new Snowflake(1, 2, true);
+
+    long previous = 0;
+    long previousLockFree = 0;
+    for (int i = 0; i < 20000; i++) {
+      long id = synchronizedSnowflake.id();
+      long lockFreeId = lockFreeSnowflake.id();
+      Assertions.assertTrue(id > previous);
+      Assertions.assertTrue(lockFreeId > previousLockFree);
+      Assertions.assertEquals(2, (id >> 12) & 31);
+      Assertions.assertEquals(1, (lockFreeId >> 17) & 31);
+      previous = id;
+      previousLockFree = lockFreeId;
+    }
+  }
+
+  @Test
+  void testConcurrent() throws InterruptedException {
+    assertUniqueUnderContention(new Snowflake(3, 4));
+    assertUniqueUnderContention(new Snowflake(3, 4, true));
+  }
+
+  @Test
+  void testBatch() {
+    for (boolean lockFree : new boolean[]{false, true}) {
+      Snowflake snowflake = new Snowflake(1, 1, lockFree);
+
+      long[] ids = snowflake.ids(10000);
+      Assertions.assertEquals(10000, ids.length);
+      for (int i = 1; i < ids.length; i++) {
+        Assertions.assertTrue(ids[i] > ids[i - 1]);
+      }
+      Assertions.assertTrue(snowflake.id() > ids[ids.length - 1]);
+      Assertions.assertEquals(0, snowflake.ids(0).length);
+
+      Snowflake.Reservation reservation = snowflake.reserve(5000);
+      Assertions.assertEquals(5000, reservation.remaining());
+      Set<Long> reserved = new HashSet<>();
+      while (reservation.hasNext()) {
+        reserved.add(reservation.nextLong());
+        reserved.add(snowflake.id());
+      }
+      Assertions.assertEquals(10000, reserved.size());
+      Assertions.assertEquals(0, reservation.remaining());
+      Assertions.assertThrows(NoSuchElementException.class, reservation::nextLong);
+    }
+  }
+
+  @Test
+  void testLayout() {
+    SnowflakeLayout layout = SnowflakeLayout.builder()
+                                            .unit(SnowflakeLayout.TickUnit.TEN_MILLISECONDS)
+                                            .timestampBits(38)
+                                            .dataCenterIdBits(2)
+                                            .workerIdBits(8)
+                                            .sequenceBits(15)
+                                            .build();
+    Assertions.assertEquals(255, layout.getMaxWorkerId());
+    Assertions.assertEquals(32767, layout.getSequenceMask());
+    Assertions.assertEquals(25, layout.getTimestampShift());
+
+    Snowflake snowflake = new Snowflake(3, 200, true, layout);
+    long previous = 0;
+    for (long id : snowflake.ids(100000)) {
+      Assertions.assertTrue(id > previous);
+      Assertions.assertEquals(200, (id >> 15) & 255);
+      Assertions.assertEquals(3, (id >> 23) & 3);
+      previous = id;
+    }
+
+    Assertions.assertThrows(ArgumentsException.class, () -> new Snowflake(4, 0, false, layout));
+    Assertions.assertThrows(ArgumentsException.class, () -> SnowflakeLayout.builder().sequenceBits(13).build());
+    Assertions.assertThrows(ArgumentsException.class, () -> SnowflakeLayout.builder().timestampBits(0).sequenceBits(53).build());
+  }
+
+  @Test
+  void testRollbackPolicy() {
+    Snowflake snowflake = new Snowflake(1, 3, true, SnowflakeLayout.DEFAULT, SnowflakeRollbackPolicy.borrow(100, 7));
+    long previous = 0;
+    for (long id : snowflake.ids(20000)) {
+      Assertions.assertTrue(id > previous);
+      previous = id;
+    }
+    Assertions.assertEquals(0, snowflake.rollbacks());
+    Assertions.assertEquals(0, snowflake.borrowedMillis());
+
+    Assertions.assertThrows(ArgumentsException.class, () -> SnowflakeRollbackPolicy.borrow(-1));
+    Assertions.assertThrows(ArgumentsException.class,
+                            () -> new Snowflake(1, 3, true, SnowflakeLayout.DEFAULT, SnowflakeRollbackPolicy.borrow(100, 3)));
+    Assertions.assertThrows(ArgumentsException.class,
+                            () -> new Snowflake(1, 3, true, SnowflakeLayout.DEFAULT, SnowflakeRollbackPolicy.borrow(100, 32)));
+  }
+
+  @Test
+  void testRollbackBorrow() {
+    AtomicLong clock = new AtomicLong(SystemClock.now());
+    long start = clock.get();
+    Snowflake snowflake = new Snowflake(1, 3, true, SnowflakeLayout.DEFAULT, SnowflakeRollbackPolicy.borrow(100, 7),
+                                        SnowflakeWaitStrategy.SPIN, clock::get);
+    long previous = snowflake.id();
+
+    // 回退50毫秒，在借用额度内：沿用原时间截，序列用尽后向未来借用2个时间截
+    clock.set(start - 50);
+    for (long id : snowflake.ids(4095 + 4096 * 2)) {
+      Assertions.assertTrue(id > previous);
+      Assertions.assertEquals(3, Snowflake.decode(id).getWorkerId());
+      previous = id;
+    }
+    Assertions.assertEquals(start + 2, Snowflake.decode(previous).getTimestamp());
+    Assertions.assertEquals(1, snowflake.rollbacks());
+    Assertions.assertEquals(2, snowflake.borrowedMillis());
+
+    // 物理时钟追上后恢复正常，再次回退会重新计数
+    clock.set(start + 3);
+    previous = assertIncreasing(snowflake, previous, 3, 10);
+    clock.set(start - 10);
+    previous = assertIncreasing(snowflake, previous, 3, 10);
+    Assertions.assertEquals(2, snowflake.rollbacks());
+    Assertions.assertEquals(2, snowflake.borrowedMillis());
+  }
+
+  @Test
+  void testRollbackBorrowExhausted() {
+    AtomicLong clock = new AtomicLong(SystemClock.now());
+    long start = clock.get();
+    // 等待时推进模拟的时钟
+    AtomicInteger waits = new AtomicInteger();
+    SnowflakeWaitStrategy advance = nanos -> {
+      waits.incrementAndGet();
+      clock.incrementAndGet();
+    };
+    Snowflake snowflake = new Snowflake(1, 3, true, SnowflakeLayout.DEFAULT, SnowflakeRollbackPolicy.borrow(2),
+                                        advance, clock::get);
+    long previous = snowflake.id();
+
+    // 回退量等于借用额度，序列用尽后不能再借用，只能等待物理时钟
+    clock.set(start - 2);
+    for (long id : snowflake.ids(4096)) {
+      Assertions.assertTrue(id > previous);
+      previous = id;
+    }
+    Assertions.assertEquals(start + 1, Snowflake.decode(previous).getTimestamp());
+    Assertions.assertEquals(3, waits.get());
+    Assertions.assertEquals(1, snowflake.rollbacks());
+    Assertions.assertEquals(0, snowflake.borrowedMillis());
+
+    // 超出借用额度且没有备用WorkerId时抛出异常
+    clock.set(start - 10);
+    Assertions.assertThrows(ArgumentsException.class, snowflake::id);
+  }
+
+  @Test
+  void testRollbackBackupWorker() {
+    AtomicLong clock = new AtomicLong(SystemClock.now());
+    long start = clock.get();
+    for (boolean lockFree : new boolean[]{false, true}) {
+      clock.set(start);
+      Snowflake snowflake = new Snowflake(1, 3, lockFree, SnowflakeLayout.DEFAULT, SnowflakeRollbackPolicy.borrow(100, 7),
+                                          SnowflakeWaitStrategy.SPIN, clock::get);
+      Set<Long> ids = new HashSet<>();
+      long primary = assertIncreasing(snowflake, 0, 3, 100);
+      ids.add(primary);
+
+      // 回退超过借用额度，切换到备用WorkerId，按物理时钟继续
+      clock.set(start - 500);
+      long backup = assertIncreasing(snowflake, 0, 7, 100);
+      Assertions.assertEquals(start - 500, Snowflake.decode(backup).getTimestamp());
+      clock.set(start - 499);
+      backup = assertIncreasing(snowflake, backup, 7, 100);
+      ids.add(backup);
+
+      // 物理时钟尚未超过原WorkerId的进度时，仍使用备用WorkerId
+      clock.set(start);
+      backup = assertIncreasing(snowflake, backup, 7, 100);
+      ids.add(backup);
+
+      // 超过后切回原WorkerId，备用ID不再出现
+      clock.set(start + 1);
+      primary = assertIncreasing(snowflake, primary, 3, 100);
+      ids.add(primary);
+      Assertions.assertEquals(4, ids.size());
+      Assertions.assertEquals(1, snowflake.rollbacks());
+      Assertions.assertEquals(0, snowflake.borrowedMillis());
+
+      // 备用WorkerId已使用到的时间截之前，不能再次切换到备用ID
+      clock.set(start - 600);
+      Assertions.assertThrows(ArgumentsException.class, snowflake::id);
+      Assertions.assertEquals(2, snowflake.rollbacks());
+    }
+  }
+
+  @Test
+  void testWaitStrategy() throws InterruptedException {
+    SnowflakeWaitStrategy[] strategies = {SnowflakeWaitStrategy.SPIN, SnowflakeWaitStrategy.PARK, SnowflakeWaitStrategy.YIELD};
+    for (SnowflakeWaitStrategy strategy : strategies) {
+      assertUniqueUnderContention(new Snowflake(2, 2, true, SnowflakeLayout.DEFAULT, SnowflakeRollbackPolicy.WAIT, strategy));
+      assertUniqueUnderContention(new Snowflake(2, 2, false, SnowflakeLayout.DEFAULT, SnowflakeRollbackPolicy.WAIT, strategy));
+    }
+  }
+
+  @Test
+  void testStriped() throws InterruptedException {
+    StripedSnowflake striped = new StripedSnowflake(5, 8, 4);
+    Assertions.assertEquals(4, striped.getSize());
+    assertUniqueUnderContention(striped::id);
+
+    // 线程数与条带数相同时，每个线程独享一个workerId
+    StripedSnowflake exclusive = new StripedSnowflake(5, 8, 4);
+    Map<Thread, Set<Long>> workerIds = new ConcurrentHashMap<>();
+    Thread[] workers = new Thread[4];
+    for (int t = 0; t < workers.length; t++) {
+      workers[t] = new Thread(() -> {
+        for (int i = 0; i < 10000; i++) {
+          long workerId = Snowflake.decode(exclusive.id()).getWorkerId();
+          workerIds.computeIfAbsent(Thread.currentThread(), k -> ConcurrentHashMap.newKeySet()).add(workerId);
+        }
+      });
+      workers[t].start();
+    }
+    for (Thread worker : workers) {
+      worker.join();
+    }
+    Set<Long> distinct = new HashSet<>();
+    for (Set<Long> ids : workerIds.values()) {
+      Assertions.assertEquals(1, ids.size());
+      distinct.addAll(ids);
+    }
+    Assertions.assertEquals(new HashSet<>(Arrays.asList(8L, 9L, 10L, 11L)), distinct);
+
+    Assertions.assertThrows(ArgumentsException.class, () -> new StripedSnowflake(5, Arrays.asList(1L, 1L)));
+    Assertions.assertThrows(ArgumentsException.class, () -> new StripedSnowflake(5, 30, 4));
+  }
+
+  @Test
+  void testDecode() {
+    Snowflake snowflake = new Snowflake(3, 9);
+    long before = SystemClock.now();
+    long id = snowflake.id();
+
+    Snowflake.Decoded decoded = Snowflake.decode(id);
+    Assertions.assertEquals(id, decoded.getId());
+    Assertions.assertEquals(3, decoded.getDataCenterId());
+    Assertions.assertEquals(9, decoded.getWorkerId());
+    Assertions.assertTrue(decoded.getTimestamp() >= before - 1);
+    Assertions.assertTrue(decoded.getTimestamp() <= SystemClock.now() + 1);
+
+    Instant instant = Instant.ofEpochMilli(decoded.getTimestamp());
+    Assertions.assertTrue(Snowflake.minIdAt(instant) <= id);
+    Assertions.assertTrue(Snowflake.maxIdAt(instant) >= id);
+    Assertions.assertEquals(Snowflake.maxIdAt(instant) + 1, Snowflake.minIdAt(instant.plusMillis(1)));
+    Assertions.assertThrows(ArgumentsException.class, () -> Snowflake.minIdAt(Instant.EPOCH));
+  }
+
+  @Test
+  void testCodec() {
+    Assertions.assertEquals("0000000000000", SnowflakeCodec.toBase32(0));
+    Assertions.assertEquals("7ZZZZZZZZZZZZ", SnowflakeCodec.toBase32(Long.MAX_VALUE));
+    Assertions.assertEquals("00000000000", SnowflakeCodec.toBase62(0));
+    Assertions.assertEquals("AzL8n0Y58m7", SnowflakeCodec.toBase62(Long.MAX_VALUE));
+
+    Snowflake snowflake = new Snowflake(1, 1);
+    long[] ids = snowflake.ids(5000);
+    String previous32 = "";
+    String previous62 = "";
+    for (long id : ids) {
+      String base32 = SnowflakeCodec.toBase32(id);
+      String base62 = SnowflakeCodec.toBase62(id);
+      Assertions.assertEquals(id, SnowflakeCodec.fromBase32(base32));
+      Assertions.assertEquals(id, SnowflakeCodec.fromBase32(base32.toLowerCase()));
+      Assertions.assertEquals(id, SnowflakeCodec.fromBase62(base62));
+      Assertions.assertTrue(base32.compareTo(previous32) > 0);
+      Assertions.assertTrue(base62.compareTo(previous62) > 0);
+      previous32 = base32;
+      previous62 = base62;
+    }
+
+    Assertions.assertThrows(ArgumentsException.class, () -> SnowflakeCodec.toBase32(-1));
+    Assertions.assertThrows(ArgumentsException.class, () -> SnowflakeCodec.fromBase32("8000000000000"));
+    Assertions.assertThrows(ArgumentsException.class, () -> SnowflakeCodec.fromBase62("zzzzzzzzzzz"));
+    Assertions.assertThrows(ArgumentsException.class, () -> SnowflakeCodec.fromBase62("0000000000-"));
+  }
+
+  /**
+   * 生成[count]个id，检查均大于[previous]且严格递增、WorkerId为[workerId]，返回最后一个id
+   */
+  private long assertIncreasing(Snowflake snowflake, long previous, long workerId, int count) {
+    for (int i = 0; i < count; i++) {
+      long id = snowflake.id();
+      Assertions.assertTrue(id > previous);
+      Assertions.assertEquals(workerId, Snowflake.decode(id).getWorkerId());
+      previous = id;
+    }
+    return previous;
+  }
+
+  private void assertUniqueUnderContention(Snowflake snowflake) throws InterruptedException {
+    assertUniqueUnderContention(snowflake::id);
+  }
+
+  private void assertUniqueUnderContention(LongSupplier generator) throws InterruptedException {
+    int threads = 16;
+    int perThread = 10000;
+    Set<Long> ids = ConcurrentHashMap.newKeySet();
+    CountDownLatch latch = new CountDownLatch(threads);
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    for (int t = 0; t < threads; t++) {
+      executor.execute(() -> {
+        for (int i = 0; i < perThread; i++) {
+          ids.add(generator.getAsLong());
+        }
+        latch.countDown();
+      });
+    }
+    Assertions.assertTrue(latch.await(30, TimeUnit.SECONDS));
+    executor.shutdown();
+
+    Assertions.assertEquals(threads * perThread, ids.size());
+  }
+}
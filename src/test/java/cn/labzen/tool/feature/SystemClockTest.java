@@ -0,0 +1,54 @@
+package cn.labzen.tool.feature;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class SystemClockTest {
+
+  @Test
+  void testNow() {
+    long precision = SystemClock.precision();
+    Assertions.assertTrue(precision >= 1);
+
+    long now = SystemClock.now();
+    Assertions.assertTrue(Math.abs(System.currentTimeMillis() - now) <= precision + 50);
+
+    long nanos = SystemClock.nowNanos();
+    Assertions.assertTrue(SystemClock.nowNanos() >= nanos);
+  }
+
+  @Test
+  void testWakeAfterIdle() throws InterruptedException {
+    SystemClock.now();
+    // 超过空闲时长没有读取，后台线程已挂起，读到的时间仍不能滞后
+    Thread.sleep(1500);
+
+    long before = System.currentTimeMillis();
+    long now = SystemClock.now();
+    Assertions.assertTrue(now >= before);
+
+    Thread.sleep(20);
+    Assertions.assertTrue(SystemClock.now() - before >= 10);
+  }
+
+  @Test
+  void testMonotonicAcrossWake() throws InterruptedException {
+    for (int round = 0; round < 2; round++) {
+      SystemClock.now();
+      Thread.sleep(1500);
+
+      // 唤醒前后连续读取，从系统时间切换回缓存的时间时不能倒退
+      long previousNanos = SystemClock.nowNanos();
+      long previous = SystemClock.now();
+      long end = System.nanoTime() + 50_000_000L;
+      while (System.nanoTime() < end) {
+        long nanos = SystemClock.nowNanos();
+        long now = SystemClock.now();
+        Assertions.assertTrue(nanos >= previousNanos);
+        Assertions.assertTrue(now >= previous);
+        previousNanos = nanos;
+        previous = now;
+      }
+    }
+  }
+}
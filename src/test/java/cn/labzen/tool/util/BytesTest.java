@@ -1,12 +1,22 @@
 package cn.labzen.tool.util;
 
+import cn.labzen.tool.definition.ByteEncodings;
+import cn.labzen.tool.definition.StreamingByteEncodings;
 import com.google.common.collect.Maps;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
-import java.io.Serializable;
+import java.io.*;
 import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
 import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
 
 import static cn.labzen.tool.util.Bytes.*;
 
@@ -24,6 +34,49 @@ public class BytesTest {
     Assertions.assertEquals("00000011", binary);
   }
 
+  @Test
+  void testHexCodec() throws IOException {
+    byte[] bytes = {0x00, 0x7f, (byte) 0x80, (byte) 0xff, 0x1a};
+    Assertions.assertEquals("007F80FF1A", bytesToHexString(bytes));
+    Assertions.assertEquals("7f80", bytesToHexString(bytes, 1, 2, false));
+    Assertions.assertArrayEquals(bytes, hexStringToBytes(" 007f80FF1a "));
+
+    ByteBuffer buffer = ByteBuffer.allocateDirect(8).put(bytes).flip();
+    Assertions.assertEquals("007F80FF1A", bytesToHexString(buffer));
+    Assertions.assertFalse(buffer.hasRemaining());
+
+    char[] chars = new char[12];
+    Assertions.assertEquals(4, encodeHex(bytes, 3, 2, chars, 1, false));
+    Assertions.assertEquals("ff1a", new String(chars, 1, 4));
+    byte[] ascii = new byte[4];
+    encodeHex(bytes, 0, 2, ascii, 0);
+    Assertions.assertEquals("007F", new String(ascii, StandardCharsets.US_ASCII));
+
+    byte[] decoded = new byte[3];
+    Assertions.assertEquals(2, decodeHex("x7F80x", 1, 4, decoded, 1));
+    Assertions.assertEquals((byte) 0x7f, decoded[1]);
+    Assertions.assertEquals((byte) 0x80, decoded[2]);
+
+    Assertions.assertThrows(IllegalArgumentException.class, () -> hexStringToBytes("abc"));
+    Assertions.assertThrows(IllegalArgumentException.class, () -> hexStringToBytes("0g"));
+    Assertions.assertThrows(IndexOutOfBoundsException.class, () -> encodeHex(bytes, 0, 5, chars, 4));
+
+    byte[] large = new byte[10000];
+    new Random(7).nextBytes(large);
+    StringWriter writer = new StringWriter();
+    try (OutputStream out = hexEncodingStream(writer, false)) {
+      out.write(large, 0, 5000);
+      out.write(large, 5000, 5000);
+    }
+    Assertions.assertEquals(bytesToHexString(large, false), writer.toString());
+
+    String wrapped = writer.toString().replaceAll("(.{64})", "$1\n");
+    try (InputStream in = hexDecodingStream(new StringReader(wrapped))) {
+      Assertions.assertArrayEquals(large, in.readAllBytes());
+    }
+    Assertions.assertThrows(IOException.class, () -> hexDecodingStream(new StringReader("0a1")).readAllBytes());
+  }
+
   @Test
   void testAscii() {
     String original = "ascii0123";
@@ -42,6 +95,205 @@ public class BytesTest {
     Assertions.assertEquals(original, integer);
   }
 
+  @Test
+  void testByteOrder() {
+    byte[] bytes = new byte[30];
+    int offset = putShort(bytes, 0, (short) 0x0102);
+    offset = putInt(bytes, offset, 0x03040506, ByteOrder.LITTLE_ENDIAN);
+    offset = putLong(bytes, offset, -2L);
+    offset = putFloat(bytes, offset, 1.5f, ByteOrder.LITTLE_ENDIAN);
+    Assertions.assertEquals(26, putDouble(bytes, offset, Math.PI));
+
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    Assertions.assertEquals(0x0102, buffer.getShort(0));
+    Assertions.assertEquals(0x06, bytes[2]);
+    Assertions.assertEquals(0x03040506, buffer.order(ByteOrder.LITTLE_ENDIAN).getInt(2));
+    Assertions.assertEquals(1.5f, buffer.getFloat(14));
+    Assertions.assertEquals(-2L, buffer.order(ByteOrder.BIG_ENDIAN).getLong(6));
+    Assertions.assertEquals(Math.PI, buffer.getDouble(18));
+
+    Assertions.assertEquals((short) 0x0102, getShort(bytes, 0));
+    Assertions.assertEquals(0x03040506, getInt(bytes, 2, ByteOrder.LITTLE_ENDIAN));
+    Assertions.assertEquals(-2L, getLong(bytes, 6));
+    Assertions.assertEquals(1.5f, getFloat(bytes, 14, ByteOrder.LITTLE_ENDIAN));
+    Assertions.assertEquals(Math.PI, getDouble(bytes, 18));
+
+    Assertions.assertArrayEquals(new byte[]{0x04, 0x03, 0x02, 0x01}, intToBytes(0x01020304));
+    Assertions.assertEquals(0x0201, bytesToInt(new byte[]{0x01, 0x02}));
+    Assertions.assertEquals(0xff, bytesToLong(new byte[]{(byte) 0xff}));
+
+    Assertions.assertThrows(IndexOutOfBoundsException.class, () -> putInt(bytes, 27, 1));
+    Assertions.assertThrows(IndexOutOfBoundsException.class, () -> getLong(bytes, -1));
+  }
+
+  @Test
+  void testVarint() {
+    Assertions.assertEquals(1, varintSize(0));
+    Assertions.assertEquals(2, varintSize(300));
+    Assertions.assertEquals(10, varintSize(-1));
+    Assertions.assertEquals(1, zigzag(-1));
+    Assertions.assertEquals(-2, unzigzag(zigzag(-2)));
+
+    byte[] bytes = new byte[12];
+    Assertions.assertEquals(3, putVarint(bytes, 1, 300));
+    Assertions.assertEquals((byte) 0xac, bytes[1]);
+    Assertions.assertEquals(0x02, bytes[2]);
+    Assertions.assertEquals(300, getVarint(bytes, 1));
+    Assertions.assertEquals(4, putSignedVarint(bytes, 3, -64));
+    Assertions.assertEquals(-64, getSignedVarint(bytes, 3));
+
+    long[] values = {0, 1, -1, 127, 128, 1L << 40, Long.MAX_VALUE, Long.MIN_VALUE, 42};
+    for (boolean signed : new boolean[]{false, true}) {
+      byte[] encoded = new byte[values.length * 10];
+      int end = putVarints(values, 0, values.length, encoded, 0, signed);
+      long[] decoded = new long[values.length];
+      Assertions.assertEquals(end, getVarints(encoded, 0, decoded, 0, values.length, signed));
+      Assertions.assertArrayEquals(values, decoded);
+
+      ByteBuffer buffer = ByteBuffer.allocateDirect(end);
+      putVarints(buffer, values, 0, values.length, signed);
+      buffer.flip();
+      decoded = new long[values.length];
+      getVarints(buffer, decoded, 0, values.length, signed);
+      Assertions.assertArrayEquals(values, decoded);
+
+      byte[] grouped = new byte[maxGroupVarintBytes(values.length)];
+      end = putGroupVarints(values, 0, values.length, grouped, 0, signed);
+      decoded = new long[values.length];
+      Assertions.assertEquals(end, getGroupVarints(grouped, 0, decoded, 0, values.length, signed));
+      Assertions.assertArrayEquals(values, decoded);
+
+      buffer = ByteBuffer.allocate(end);
+      putGroupVarints(buffer, values, 0, values.length, signed);
+      buffer.flip();
+      decoded = new long[values.length];
+      getGroupVarints(buffer, decoded, 0, values.length, signed);
+      Assertions.assertArrayEquals(values, decoded);
+      Assertions.assertFalse(buffer.hasRemaining());
+    }
+
+    // limit之后的字节即使仍在底层数组中也不能读取，字节不足时values保持不变
+    long[] many = new long[16];
+    Arrays.fill(many, Long.MAX_VALUE);
+    byte[] backing = new byte[maxGroupVarintBytes(many.length) + 64];
+    int length = putGroupVarints(many, 0, many.length, backing, 0);
+    ByteBuffer truncated = ByteBuffer.wrap(backing, 0, length - 1);
+    long[] untouched = new long[many.length];
+    Assertions.assertThrows(BufferUnderflowException.class,
+      () -> getGroupVarints(truncated, untouched, 0, untouched.length));
+    Assertions.assertArrayEquals(new long[many.length], untouched);
+    Assertions.assertEquals(0, truncated.position());
+    Assertions.assertThrows(IndexOutOfBoundsException.class,
+      () -> getGroupVarints(Arrays.copyOf(backing, length - 1), 0, untouched, 0, untouched.length));
+
+    // 3个小于256的值，2字节标记 + 3字节
+    Assertions.assertEquals(5, putGroupVarints(new long[]{1, 2, 255}, 0, 3, new byte[30], 0));
+
+    byte[] malformed = new byte[11];
+    Arrays.fill(malformed, (byte) 0x80);
+    Assertions.assertThrows(IllegalArgumentException.class, () -> getVarint(malformed, 0));
+    Assertions.assertThrows(IndexOutOfBoundsException.class, () -> getVarint(new byte[]{(byte) 0x80}, 0));
+  }
+
+  @Test
+  void testBaseEncodings() throws IOException {
+    // RFC 4648的测试向量
+    byte[] foobar = "foobar".getBytes(StandardCharsets.US_ASCII);
+    Assertions.assertEquals("Zm9vYmFy", toBase64(foobar));
+    Assertions.assertEquals("Zm9vYg==", toBase64(Arrays.copyOf(foobar, 4)));
+    Assertions.assertEquals("Zm9vYg", toBase64Url(Arrays.copyOf(foobar, 4)));
+    Assertions.assertEquals("MZXW6YTBOI======", toBase32(foobar));
+    Assertions.assertEquals("CSQPYRK1E8", encode(ByteEncodings.BASE32_CROCKFORD, foobar));
+    Assertions.assertEquals("JxF12TrwUP45BMd", toBase58("Hello World".getBytes(StandardCharsets.US_ASCII)));
+    Assertions.assertEquals("1112", toBase58(new byte[]{0, 0, 0, 1}));
+
+    Assertions.assertArrayEquals(Arrays.copyOf(foobar, 4), fromBase64("Zm9vYg"));
+    Assertions.assertArrayEquals(Arrays.copyOf(foobar, 4), fromBase64Url("Zm9vYg=="));
+    Assertions.assertArrayEquals(foobar, fromBase32("MZXW6YTBOI"));
+    Assertions.assertArrayEquals(foobar, decode(ByteEncodings.BASE32_CROCKFORD, "csqpyrklE8"));
+    Assertions.assertArrayEquals(new byte[]{0, 0, 0, 1}, fromBase58("1112"));
+
+    byte[] bytes = new byte[1000];
+    new Random(11).nextBytes(bytes);
+    Assertions.assertEquals(Base64.getEncoder().encodeToString(bytes), toBase64(bytes));
+    Assertions.assertEquals(Base64.getUrlEncoder().withoutPadding().encodeToString(bytes), toBase64Url(bytes));
+    for (ByteEncodings encoding : ByteEncodings.values()) {
+      String text = encode(encoding, bytes, 3, 100);
+      char[] chars = new char[encoding.maxEncodedLength(100) + 1];
+      int length = encode(encoding, bytes, 3, 100, chars, 1);
+      Assertions.assertEquals(text, new String(chars, 1, length));
+      byte[] ascii = new byte[encoding.maxEncodedLength(100)];
+      Assertions.assertEquals(length, encode(encoding, bytes, 3, 100, ascii, 0));
+      Assertions.assertEquals(text, new String(ascii, 0, length, StandardCharsets.US_ASCII));
+
+      byte[] decoded = new byte[encoding.maxDecodedLength(length) + 2];
+      Assertions.assertEquals(100, decode(encoding, "<" + text + ">", 1, length, decoded, 2));
+      Assertions.assertArrayEquals(Arrays.copyOfRange(bytes, 3, 103), Arrays.copyOfRange(decoded, 2, 102));
+    }
+
+    Assertions.assertThrows(IllegalArgumentException.class, () -> fromBase64("Zm9vY"));
+    Assertions.assertThrows(IllegalArgumentException.class, () -> fromBase64("Zm9v*g=="));
+    Assertions.assertThrows(IllegalArgumentException.class, () -> fromBase58("0OIl"));
+    Assertions.assertThrows(IndexOutOfBoundsException.class,
+      () -> encode(ByteEncodings.BASE64, bytes, 0, 6, new char[7], 0));
+
+    for (StreamingByteEncodings encoding : StreamingByteEncodings.values()) {
+      StringWriter writer = new StringWriter();
+      try (OutputStream out = encodingStream(encoding, writer)) {
+        out.write(bytes, 0, 1);
+        out.write(bytes, 1, 998);
+        out.write(bytes[999]);
+      }
+      Assertions.assertEquals(encode(encoding.getEncoding(), bytes), writer.toString());
+
+      String wrapped = writer.toString().replaceAll("(.{76})", "$1\r\n");
+      try (InputStream in = decodingStream(encoding, new StringReader(wrapped))) {
+        Assertions.assertArrayEquals(bytes, in.readAllBytes());
+      }
+    }
+    Assertions.assertThrows(IOException.class,
+      () -> decodingStream(StreamingByteEncodings.BASE64, new StringReader("Zm9v*g==")).readAllBytes());
+  }
+
+  @Test
+  void testBase64Paths() {
+    // String整体解码走java.util.Base64，其他CharSequence与带偏移量的解码走查表，二者对畸形输入的判断应一致
+    String[] edges = {"", "=", "==", "Zg", "Zh", "Zg=", "Zg==", "Zh==", "Zg===", "Zm9", "Zm9=", "Zm8=", "Zm9vY",
+      "Zm9vYg=", "Zm9vY===", "Zm9v====", "Zm9vYmFy=", "Zm=v", " Zm9v", "Zm9v ", "Zm9v\r\nYg==", "Zm+/", "Zm-_",
+      "Zm9vé", "Zm9vŁ"};
+    Random random = new Random(17);
+    String alphabet = "AZaz09+/-_=\n *éŁ";
+    for (ByteEncodings encoding : new ByteEncodings[]{ByteEncodings.BASE64, ByteEncodings.BASE64_URL}) {
+      for (String edge : edges) {
+        assertSameDecoding(encoding, edge);
+      }
+      for (int i = 0; i < 20000; i++) {
+        char[] chars = new char[random.nextInt(13)];
+        for (int k = 0; k < chars.length; k++) {
+          chars[k] = alphabet.charAt(random.nextInt(alphabet.length()));
+        }
+        assertSameDecoding(encoding, new String(chars));
+      }
+    }
+  }
+
+  private static void assertSameDecoding(ByteEncodings encoding, String text) {
+    String whole = decodeOutcome(() -> decode(encoding, text));
+    Assertions.assertEquals(whole, decodeOutcome(() -> decode(encoding, new StringBuilder(text))), text);
+    Assertions.assertEquals(whole, decodeOutcome(() -> {
+      byte[] target = new byte[encoding.maxDecodedLength(text.length())];
+      return Arrays.copyOf(target, decode(encoding, "<" + text + ">", 1, text.length(), target, 0));
+    }), text);
+  }
+
+  private static String decodeOutcome(Supplier<byte[]> decoding) {
+    try {
+      return Arrays.toString(decoding.get());
+    } catch (IllegalArgumentException e) {
+      return "illegal";
+    }
+  }
+
   @Test
   void testBigInt() {
     BigInteger original = new BigInteger("4546928818324112");
@@ -0,0 +1,59 @@
+package cn.labzen.tool.util;
+
+import cn.labzen.tool.exception.StringException;
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MultiMatcherTest {
+
+  @Test
+  void testMatch() {
+    MultiMatcher matcher = MultiMatcher.of("he", "she", "his", "hers");
+    assertTrue(matcher.any("ushers"));
+    assertFalse(matcher.any("usual"));
+    assertFalse(matcher.all("ushers"));
+    assertTrue(matcher.all("ushers his"));
+    assertEquals(3, matcher.count("ushers"));
+
+    List<MultiMatcher.Match> matches = matcher.matches("ushers");
+    assertEquals(new MultiMatcher.Match(1, 4, "she"), matches.get(0));
+    assertEquals(new MultiMatcher.Match(2, 4, "he"), matches.get(1));
+    assertEquals(new MultiMatcher.Match(2, 6, "hers"), matches.get(2));
+
+    assertEquals("u**rs", matcher.replaceAll("ushers", "**"));
+    assertEquals("u* *", matcher.replaceAll("ushe his", "*"));
+    assertEquals("abc", matcher.replaceAll("abc", "*"));
+
+    assertThrows(StringException.class, () -> MultiMatcher.of("a", ""));
+  }
+
+  @Test
+  void testCaseInsensitive() {
+    MultiMatcher matcher = MultiMatcher.of(Lists.newArrayList("ab", "AB", "Cd"), false);
+    assertEquals(2, matcher.getNeedles().size());
+    assertTrue(matcher.all("xxABxxcD"));
+    assertEquals("xx--xx--", matcher.replaceAll("xxABxxcD", "--"));
+    assertTrue(matcher.isPrefixOf("aBcd"));
+    assertTrue(matcher.isSuffixOf("xxCD"));
+  }
+
+  @Test
+  void testStrings() {
+    assertTrue(Strings.haveAll("abcDEF001", MultiMatcher.of("ab", "bc", "cD")));
+    assertFalse(Strings.haveAll("abcDEF001", MultiMatcher.of("ab", "cd", "001")));
+    assertTrue(Strings.haveAny("abcDEF001", MultiMatcher.of("aba", "cD", "002")));
+    assertFalse(Strings.haveAny("abcDEF001", MultiMatcher.of("aba", "cdc", "002")));
+
+    assertEquals("xyz", Strings.remove("123xyz456", MultiMatcher.of("123", "456")));
+    assertEquals("_abc_", Strings.remove("123xyz456_abc_123xyz456", MultiMatcher.of("123", "456", "xyz")));
+
+    assertTrue(Strings.startsWith("123xyz456", MultiMatcher.of("789", "456", "123")));
+    assertFalse(Strings.startsWith("123xyz456", MultiMatcher.of("abc", "xyz")));
+    assertTrue(Strings.endsWith("123xyz456", MultiMatcher.of("789", "456", "123")));
+    assertTrue(Strings.endsWith("abc123xyz", MultiMatcher.of(Lists.newArrayList("123", "XYZ"), false)));
+  }
+}
@@ -0,0 +1,44 @@
+package cn.labzen.tool.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PatternCacheTest {
+
+  @Test
+  void testCompile() {
+    PatternCache.clear();
+
+    Pattern pattern = PatternCache.compile("\\d+");
+    assertSame(pattern, PatternCache.compile("\\d+"));
+    assertEquals("numbers", Strings.value("123456", "\\d+", "numbers"));
+
+    PatternCache.Stats stats = PatternCache.stats();
+    assertEquals(2, stats.getHits());
+    assertEquals(1, stats.getMisses());
+    assertEquals(1, stats.getSize());
+    assertEquals(2.0 / 3, stats.hitRate(), 1e-9);
+  }
+
+  @Test
+  void testEviction() {
+    PatternCache.clear();
+
+    Pattern first = PatternCache.compile("p0");
+    for (int i = 1; i < PatternCache.CAPACITY; i++) {
+      PatternCache.compile("p" + i);
+    }
+    // 访问后变为最近使用，不会被淘汰
+    assertSame(first, PatternCache.compile("p0"));
+    PatternCache.compile("p" + PatternCache.CAPACITY);
+
+    assertEquals(PatternCache.CAPACITY, PatternCache.stats().getSize());
+    assertSame(first, PatternCache.compile("p0"));
+    long misses = PatternCache.stats().getMisses();
+    PatternCache.compile("p1");
+    assertEquals(misses + 1, PatternCache.stats().getMisses());
+  }
+}
@@ -0,0 +1,47 @@
+package cn.labzen.tool.util;
+
+import cn.labzen.tool.exception.ArgumentsException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StringInternerTest {
+
+  @Test
+  void testIntern() {
+    StringInterner interner = new StringInterner(1000);
+    char[] row = "杭州,已完成,杭州".toCharArray();
+
+    String city = interner.intern(row, 0, 2);
+    assertEquals("杭州", city);
+    assertSame(city, interner.intern(row, 7, 2));
+    assertSame(city, interner.intern(new String("杭州")));
+    assertSame(city, interner.intern(new StringBuilder("杭州")));
+    assertSame(city, interner.intern(StringSlice.of("到杭州", 1, 3)));
+    assertSame(city, interner.intern(city));
+
+    String status = new String("done");
+    assertSame(status, interner.intern(status));
+    assertSame(status, interner.intern("done".toCharArray(), 0, 4));
+
+    StringInterner.Stats stats = interner.stats();
+    assertEquals(2, stats.getMisses());
+    assertEquals(6, stats.getHits());
+    assertEquals(2, stats.getSize());
+    // 5次避免了重复的字符串（"杭州"4次，"done"1次）
+    assertEquals(4 * (24 + 24) + (24 + 24), stats.getSavedBytes());
+
+    interner.clear();
+    assertEquals(0, interner.stats().getSize());
+    assertThrows(ArgumentsException.class, () -> interner.intern(row, 8, 2));
+    assertThrows(ArgumentsException.class, () -> new StringInterner(0));
+  }
+
+  @Test
+  void testDedup() {
+    String first = Strings.dedup(new String("ACTIVE"));
+    assertSame(first, Strings.dedup(new StringBuilder("ACTIVE")));
+    assertSame(first, Strings.dedup("xACTIVE".toCharArray(), 1, 6));
+    assertTrue(Strings.dedupStats().getHits() >= 2);
+  }
+}
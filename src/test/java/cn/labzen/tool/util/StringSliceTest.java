@@ -0,0 +1,83 @@
+package cn.labzen.tool.util;
+
+import cn.labzen.tool.bean.Pair;
+import cn.labzen.tool.exception.StringException;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StringSliceTest {
+
+  @Test
+  void testSlice() {
+    String source = "key = value; other";
+    StringSlice slice = StringSlice.of(source, 6, 11);
+    assertEquals(5, slice.length());
+    assertEquals('v', slice.charAt(0));
+    assertEquals("value", slice.toString());
+    assertSame(slice.toString(), slice.toString());
+    assertSame(source, StringSlice.of(source).toString());
+    assertEquals("alu", slice.subSequence(1, 4).toString());
+    assertEquals(7, slice.subSequence(1, 4).getStart());
+
+    assertTrue(slice.contentEquals("value"));
+    assertEquals("value".hashCode(), slice.hashCode());
+    assertEquals(StringSlice.of("value"), slice);
+    assertNotEquals(slice, "value");
+
+    Set<StringSlice> set = new HashSet<>();
+    set.add(slice);
+    assertTrue(set.contains(StringSlice.of("a value", 2, 7)));
+
+    assertEquals(2, slice.indexOf('l'));
+    assertEquals(-1, slice.indexOf(';'));
+    assertEquals(-1, slice.indexOf("e;"));
+    assertTrue(slice.startsWith("val"));
+    assertTrue(slice.endsWith("ue"));
+    assertFalse(slice.endsWith("ue;"));
+    assertEquals("value", StringSlice.of(source, 5, 12).subSequence(0, 6).trim().toString());
+
+    // 查找只在切片范围内进行，跨越切片边界或在范围之外的匹配都不算
+    StringSlice middle = StringSlice.of("abcabc|abcab|cabc", 7, 12);
+    assertEquals(0, middle.indexOf("abc"));
+    assertEquals(-1, middle.indexOf("abc", 1));
+    assertEquals(-1, middle.indexOf("abc|"));
+    assertEquals(3, middle.indexOf("ab", 1));
+    assertEquals(3, middle.lastIndexOf("ab"));
+    assertEquals(0, middle.lastIndexOf("abc"));
+    assertEquals(-1, middle.lastIndexOf("|abc"));
+    assertEquals(-1, StringSlice.of("abcabc|abcab|cabc", 8, 12).lastIndexOf("abc"));
+
+    assertEquals("[value]", slice.appendTo(new StringBuilder("[")).append(']').toString());
+    assertEquals("value=value", Strings.format("{}={}", slice, slice));
+
+    assertThrows(StringException.class, () -> StringSlice.of(source, 10, 30));
+    assertThrows(IndexOutOfBoundsException.class, () -> slice.charAt(5));
+    assertThrows(IndexOutOfBoundsException.class, () -> slice.subSequence(2, 6));
+  }
+
+  @Test
+  void testStrings() {
+    StringSlice slice = StringSlice.of("key = value; other");
+    assertEquals("value", Strings.trim(Strings.frontUntil(Strings.lastUntil(slice, "="), ";"), " ").toString());
+    assertEquals("= value; other", Strings.lastUntil(slice, "=", true).toString());
+    assertEquals("key = value;", Strings.frontUntil(slice, ";", true).toString());
+    assertSame(slice, Strings.frontUntil(slice, "#"));
+
+    Pair<StringSlice, StringSlice> parts = Strings.cut(Strings.sub(slice, 0, 11), " = ");
+    assertNotNull(parts);
+    assertEquals("key", parts.getFirst().toString());
+    assertEquals("value", parts.getSecond().toString());
+    assertNull(Strings.cut(StringSlice.of("a=b=c", 1, 5), "="));
+    assertEquals("b", Strings.cut(StringSlice.of("a=b=c", 2, 5), "=").getFirst().toString());
+
+    assertEquals("VALUE", Strings.lastUntil(StringSlice.of("KEY = VALUE"), "key = ", false, false).toString());
+    assertEquals("345", Strings.sub(StringSlice.of("x0123456789x", 1, 11), 3, 3).toString());
+    assertEquals("567", Strings.sub(StringSlice.of("x0123456789x", 1, 11), -3, -3).toString());
+    assertEquals("123", Strings.trim(StringSlice.of("===123==="), "=").toString());
+    assertEquals("Install", Strings.brief(StringSlice.of("Install the plugin"), 7).toString());
+  }
+}
@@ -3,8 +3,16 @@ package cn.labzen.tool.util;
 import cn.labzen.tool.bean.Pair;
 import cn.labzen.tool.exception.StringException;
 import com.google.common.collect.Lists;
+import kotlin.sequences.SequencesKt;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
 import static cn.labzen.tool.util.Strings.*;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -32,6 +40,10 @@ public class StringsTest {
     assertTrue(isBlank(null));
     assertTrue(isBlank(" "));
     assertFalse(isBlank("abc"));
+    assertTrue(isBlank(" \t\r\n\u000B\f\u001C\u001F"));
+    assertTrue(isBlank("  \u3000\u00A0  "));
+    assertFalse(isBlank("        x"));
+    assertFalse(isBlank("    \u4E2D   "));
 
     assertFalse(isNotEmpty(""));
     assertFalse(isNotEmpty(null));
@@ -86,6 +98,8 @@ public class StringsTest {
     assertEquals("123", trim("===123===", "="));
     assertEquals("123===", trim("===123===", "=", 1));
     assertEquals("===123", trim("===123===", "=", -1));
+    assertEquals("a", trim("aaa", "aa"));
+    assertEquals("a", trim("a", "ab", -1));
   }
 
   @Test
@@ -107,6 +121,7 @@ public class StringsTest {
     // ============
 
     assertIterableEquals(Lists.newArrayList("abc", "def"), between("[abc] xyz [def]", '[', ']'));
+    assertIterableEquals(Lists.newArrayList("a[b", ""), between("x[a[b] [] [c", '[', ']'));
 
     // ============
 
@@ -114,6 +129,39 @@ public class StringsTest {
     assertNotNull(parts);
     assertEquals("000", parts.getFirst());
     assertEquals("111", parts.getSecond());
+
+    parts = cut("Content-Type: text/html", "content-TYPE", false);
+    assertNotNull(parts);
+    assertEquals("", parts.getFirst());
+    assertEquals(": text/html", parts.getSecond());
+    assertNull(cut("a-B-b", "b", false));
+    assertNull(cut("a-b", ""));
+  }
+
+  @Test
+  void testBetweenSequence() {
+    List<String> tags = new ArrayList<>();
+    for (CharSequence tag : SequencesKt.asIterable(betweenSequence(new StringBuilder("[abc] xyz [def] [g"), '[', ']'))) {
+      tags.add(tag.toString());
+    }
+    assertIterableEquals(Lists.newArrayList("abc", "def"), tags);
+
+    StringBuilder log = new StringBuilder();
+    for (int i = 0; i < 10000; i++) {
+      log.append("line ").append(i).append(" [tag").append(i % 3).append("] done\n");
+    }
+    List<String> read = SequencesKt.toList(betweenSequence(new StringReader(log.toString()), '[', ']'));
+    assertEquals(10000, read.size());
+    assertEquals("tag0", read.get(0));
+    assertEquals("tag0", read.get(9999));
+    assertIterableEquals(between(log.toString(), '[', ']'), read);
+
+    // 超过最大长度的一段被整段跳过，其中的'['不会开始新的一段；缺少']'的最后一段不会一直保留到末尾
+    String huge = "[ok] [" + "x".repeat(200000) + "] [next] [" + "y".repeat(200000);
+    assertIterableEquals(Lists.newArrayList("ok", "next"),
+      SequencesKt.toList(betweenSequence(new StringReader(huge), '[', ']')));
+    assertIterableEquals(Lists.newArrayList("abc", "", "e"),
+      SequencesKt.toList(betweenSequence(new StringReader("[abc] [ab[cd] [] [e] [fg"), '[', ']', 3)));
   }
 
   @Test
@@ -136,6 +184,44 @@ public class StringsTest {
     assertEquals("a=1,b=[null],a+b={}", format("a={},b={},a+b={}", "1", null));
   }
 
+  @Test
+  void testCompiledFormat() {
+    CompiledFormat format = CompiledFormat.compile("a={},b={},a+b=\\\\{}\\{}");
+    assertEquals(3, format.getPlaceholders());
+    assertEquals("a=1,b=2,a+b=\\3\\{}", format.format("1", "2", "3"));
+    assertEquals("a=1,b=2,a+b=\\3{}", format.format("1", "2", "3", "4"));
+    assertEquals("a=1,b=2,a+b=\\3{}", format.format(Lists.newArrayList("1", "2", "3", "4")));
+    assertEquals("a=1,b=2,a+b=\\\\{}\\{}", format.format("1", "2"));
+    assertEquals("a={},b={},a+b=\\\\{}\\{}", format.format());
+    assertEquals("{}\\", CompiledFormat.compile("\\{}\\").format("1"));
+  }
+
+  @Test
+  void testFormatTo() throws IOException {
+    StringBuilder sb = new StringBuilder("> ");
+    assertSame(sb, formatTo(sb, "a={},b={},c={}", 1, 2L, null));
+    assertEquals("> a=1,b=2,c=[null]", sb.toString());
+
+    sb.setLength(0);
+    formatTo(sb, "took {} ms", 42);
+    formatTo(sb, ", ratio {}", 0.5D);
+    formatTo(sb, ", ok {}", true);
+    formatTo(sb, ", grade {}", 'A');
+    formatTo(sb, ", {}{}{}{}{}", "a", "b", "c", "d", "e");
+    assertEquals("took 42 ms, ratio 0.5, ok true, grade A, abcde", sb.toString());
+
+    StringWriter writer = new StringWriter();
+    formatTo(writer, "id={},name={},{}", Long.MIN_VALUE, "labzen");
+    formatTo(writer, "|{}|", -7);
+    formatTo(writer, "|{}\\{}|", 1.25D);
+    assertEquals("id=-9223372036854775808,name=labzen,{}|-7||1.25\\{}|", writer.toString());
+
+    CharBuffer buffer = CharBuffer.allocate(64);
+    formatTo(buffer, "a={},b={},a+b=\\\\{}", 1, 2, 3);
+    buffer.flip();
+    assertEquals("a=1,b=2,a+b=\\3", buffer.toString());
+  }
+
   @Test
   void testTimes() {
     assertEquals(0, times("", ""));
@@ -145,11 +231,19 @@ public class StringsTest {
     assertEquals(2, times("xyz&abc&123", "&"));
     assertEquals(2, times("Abc&abc&ABC&abC", "ab"));
     assertEquals(4, times("Abc&abc&ABC&abC", "ab", false));
+    assertEquals(0, times("abc", new String("")));
+    assertEquals(3, times("xAx-xax-XaX", "a", false));
+    assertEquals(2, times("Hello World, hello WORLD", "hello world", false));
+    assertEquals(2, times("ÄÖÜ-äöü", "äöü", false));
   }
 
   @Test
   void testSimplify() {
     assertEquals("sample english sentence.", simplify("  sample   english   sentence.   "));
+    assertEquals("a b c", simplify("\ta\r\n b\f\u000Bc\n"));
+    String clean = "already simple";
+    assertSame(clean, simplify(clean));
+    assertEquals("", simplify(" \t "));
   }
 
   @Test
@@ -194,6 +288,13 @@ public class StringsTest {
     assertEquals("there-is-some-word", kebabCase("thereIsSomeWord", true));
     assertEquals("there-is-a-word", kebabCase("thereIsAWord", true));
     assertEquals("THERE-IS-A-WORD", kebabCase("ThereIsAWord", false));
+
+    assertEquals("userAccountId", camelCase("user_account_id", true));
+    assertSame(camelCase("user_account_id", true), camelCase("user_account_id", true));
+    assertSame(snakeCase("userAccountId", true, true), snakeCase("userAccountId", true, true));
+    assertEquals("h_t_t_p_header", snakeCase("HTTPHeader", true));
+    assertEquals("GrüßeAusBerlin", studlyCase("grüße aus berlin"));
+    assertEquals("GRÜSSE-AUS-BERLIN", kebabCase("grüßeAusBerlin", false));
   }
 
   @Test
@@ -307,6 +408,7 @@ public class StringsTest {
     assertEquals("/root/dean/core", lastUntil("/root/dean/core", "="));
     assertEquals("/core", lastUntil("/root/dean/core", "/core", true));
     assertEquals("", lastUntil("/root/dean/core", "/core"));
+    assertEquals("Core", lastUntil("/ROOT/Dean/Core", "/dean/", false, false));
   }
 
   @Test
@@ -316,6 +418,8 @@ public class StringsTest {
     assertEquals("C:/windows/system32", frontUntil("C:/windows/system32", "="));
     assertEquals("C:", frontUntil("C:/windows/system32", "C:", true));
     assertEquals("", frontUntil("C:/windows/system32", "C:"));
+    assertEquals("C:/Windows", frontUntil("C:/Windows/System32", "/system", false, false));
+    assertEquals("c:", frontUntil("c:/windows", "C:", true, false));
   }
 
   @Test